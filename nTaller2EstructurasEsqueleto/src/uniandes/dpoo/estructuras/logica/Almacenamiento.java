@@ -0,0 +1,34 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Las formas en que SandboxListas puede guardar sus listas.
+ */
+public enum Almacenamiento
+{
+    /**
+     * Los elementos se guardan en un arreglo contiguo. El acceso por posición es de tiempo constante y los recorridos son los más rápidos, pero insertar o eliminar
+     * cerca del inicio corre todos los elementos siguientes.
+     */
+    ARREGLO,
+
+    /**
+     * Los elementos se guardan en nodos doblemente enlazados. Insertar o eliminar durante un recorrido es de tiempo constante, pero el acceso por posición recorre la
+     * lista y cada elemento ocupa un nodo.
+     */
+    ENLAZADA,
+
+    /**
+     * Los elementos se guardan en bloques de tamaño fijo. Insertar o eliminar en una posición solo corre los elementos de un bloque, y los recorridos van sobre
+     * arreglos contiguos.
+     */
+    POR_BLOQUES,
+
+    /**
+     * Los elementos se guardan en un vector persistente (ver VectorEnteros): cada modificación crea una nueva versión que comparte casi toda su estructura con la
+     * anterior, así que guardar versiones de la lista es de tiempo constante. El acceso por posición y agregar al final cuestan O(log₃₂ n), e insertar o eliminar
+     * lejos del final reconstruye la lista desde esa posición.
+     *
+     * Solo aplica a la lista de enteros; la lista de cadenas se guarda en un arreglo. El modo adaptativo no pasa listas a este almacenamiento ni las saca de él.
+     */
+    PERSISTENTE
+}
@@ -0,0 +1,446 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Lee y escribe el contenido de las listas de un SandboxListas en un archivo binario (ver SandboxListas.guardar y SandboxListas.cargar).
+ *
+ * El archivo tiene este formato:
+ * <ol>
+ * <li>Los 4 bytes de FIRMA y un byte con la VERSION del formato.</li>
+ * <li>La cantidad de enteros, y luego la diferencia de cada entero con el anterior (el primero con 0). Las diferencias se calculan con la aritmética de int, así que
+ * pueden dar la vuelta sin perder información.</li>
+ * <li>La cantidad de cadenas, y luego cada cadena: su longitud en bytes más 1 (0 para una cadena null), seguida de sus bytes en UTF-8.</li>
+ * <li>El CRC32 de todos los bytes anteriores, en 4 bytes.</li>
+ * </ol>
+ * Las cantidades, longitudes y diferencias se escriben como varint: 7 bits por byte, con el bit más alto indicando si sigue otro byte. Las diferencias se pasan antes
+ * a zigzag (0, -1, 1, -2, ... quedan como 0, 1, 2, 3, ...), así que una lista con valores cercanos entre sí ocupa uno o dos bytes por entero.
+ *
+ * Los archivos se leen y escriben con un FileChannel por bloques de TAMANO_BUFFER bytes.
+ */
+class ArchivoListas
+{
+    /**
+     * Los primeros bytes de un archivo de listas: "SBLS".
+     */
+    static final int FIRMA = 0x53424C53;
+
+    /**
+     * La versión del formato.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * La cantidad de bytes que se leen o escriben en cada operación sobre el archivo.
+     */
+    static final int TAMANO_BUFFER = 1 << 18;
+
+    /**
+     * La cantidad máxima de bytes de un varint de un int.
+     */
+    private static final int MAXIMO_VARINT = 5;
+
+    /**
+     * El contenido leído de un archivo.
+     */
+    static class Contenido
+    {
+        final int[] enteros;
+
+        final String[] cadenas;
+
+        Contenido( int[] enteros, String[] cadenas )
+        {
+            this.enteros = enteros;
+            this.cadenas = cadenas;
+        }
+    }
+
+    private ArchivoListas( )
+    {
+    }
+
+    /**
+     * Escribe las listas en un archivo.
+     *
+     * El contenido se escribe primero en un archivo temporal en la misma carpeta, que después reemplaza al archivo, así que si la escritura falla el archivo anterior
+     * queda intacto.
+     * @param archivo El archivo
+     * @param enteros La lista de enteros
+     * @param cadenas La lista de cadenas
+     * @throws IOException Si no se pudo escribir el archivo
+     */
+    static void guardar( Path archivo, ListaEnteros enteros, List<String> cadenas ) throws IOException
+    {
+        Path temporal = archivo.resolveSibling( archivo.getFileName( ) + ".tmp" );
+        try( FileChannel canal = FileChannel.open( temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) )
+        {
+            Escritor escritor = new Escritor( canal );
+            escritor.escribirInt( FIRMA );
+            escritor.escribirByte( VERSION );
+
+            escritor.escribirVarint( enteros.size( ) );
+            CursorEnteros cursor = new CursorEnteros( );
+            cursor.abrir( enteros );
+            int anterior = 0;
+            while( cursor.haySiguiente( ) )
+            {
+                int valor = cursor.siguiente( );
+                escritor.escribirVarint( zigzag( valor - anterior ) );
+                anterior = valor;
+            }
+
+            escritor.escribirVarint( cadenas.size( ) );
+            for( String cadena : cadenas )
+            {
+                if( cadena == null )
+                {
+                    escritor.escribirVarint( 0 );
+                }
+                else
+                {
+                    byte[] bytes = cadena.getBytes( StandardCharsets.UTF_8 );
+                    escritor.escribirVarint( bytes.length + 1 );
+                    escritor.escribirBytes( bytes );
+                }
+            }
+            escritor.terminar( );
+            canal.force( false );
+        }
+        catch( IOException | RuntimeException e )
+        {
+            Files.deleteIfExists( temporal );
+            throw e;
+        }
+        try
+        {
+            Files.move( temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch( AtomicMoveNotSupportedException e )
+        {
+            Files.move( temporal, archivo, StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
+    /**
+     * Lee las listas de un archivo escrito con guardar
+     * @param archivo El archivo
+     * @return Los enteros y las cadenas del archivo
+     * @throws IOException Si no se pudo leer el archivo, o si no tiene el formato esperado o su CRC no coincide
+     */
+    static Contenido cargar( Path archivo ) throws IOException
+    {
+        try( FileChannel canal = FileChannel.open( archivo, StandardOpenOption.READ ) )
+        {
+            Lector lector = new Lector( canal );
+            if( lector.leerInt( ) != FIRMA )
+            {
+                throw new IOException( "El archivo no tiene listas de un sandbox: " + archivo );
+            }
+            byte version = lector.leerByte( );
+            if( version != VERSION )
+            {
+                throw new IOException( "Versión de archivo no soportada: " + version );
+            }
+
+            // Cada entero y cada cadena ocupan por lo menos un byte, así que una cantidad mayor que el archivo indica que está dañado
+            int[] enteros = new int[lector.leerCantidad( )];
+            int anterior = 0;
+            for( int i = 0; i < enteros.length; i++ )
+            {
+                anterior += deshacerZigzag( lector.leerVarint( ) );
+                enteros[ i ] = anterior;
+            }
+
+            String[] cadenas = new String[lector.leerCantidad( )];
+            for( int i = 0; i < cadenas.length; i++ )
+            {
+                int longitud = lector.leerCantidad( );
+                cadenas[ i ] = longitud == 0 ? null : lector.leerCadena( longitud - 1 );
+            }
+            lector.terminar( );
+            return new Contenido( enteros, cadenas );
+        }
+    }
+
+    private static int zigzag( int valor )
+    {
+        return ( valor << 1 ) ^ ( valor >> 31 );
+    }
+
+    private static int deshacerZigzag( int valor )
+    {
+        return ( valor >>> 1 ) ^ -( valor & 1 );
+    }
+
+    /**
+     * Escribe en un canal a través de un buffer, calculando el CRC de lo que escribe.
+     */
+    private static class Escritor
+    {
+        private final FileChannel canal;
+
+        private final ByteBuffer buffer;
+
+        private final CRC32 crc;
+
+        Escritor( FileChannel canal )
+        {
+            this.canal = canal;
+            buffer = ByteBuffer.allocate( TAMANO_BUFFER );
+            crc = new CRC32( );
+        }
+
+        void escribirByte( byte valor ) throws IOException
+        {
+            asegurarEspacio( 1 );
+            buffer.put( valor );
+        }
+
+        void escribirInt( int valor ) throws IOException
+        {
+            asegurarEspacio( 4 );
+            buffer.putInt( valor );
+        }
+
+        /**
+         * Escribe un int sin signo como varint
+         * @param valor El valor. Los negativos se tratan como números de 32 bits sin signo.
+         * @throws IOException Si no se pudo escribir en el canal
+         */
+        void escribirVarint( int valor ) throws IOException
+        {
+            asegurarEspacio( MAXIMO_VARINT );
+            while( ( valor & ~0x7F ) != 0 )
+            {
+                buffer.put( ( byte )( ( valor & 0x7F ) | 0x80 ) );
+                valor >>>= 7;
+            }
+            buffer.put( ( byte )valor );
+        }
+
+        /**
+         * Escribe unos bytes, por partes si no caben en el buffer
+         * @param bytes Los bytes
+         * @throws IOException Si no se pudo escribir en el canal
+         */
+        void escribirBytes( byte[] bytes ) throws IOException
+        {
+            int escritos = 0;
+            while( escritos < bytes.length )
+            {
+                if( !buffer.hasRemaining( ) )
+                {
+                    vaciar( );
+                }
+                int cantidad = Math.min( buffer.remaining( ), bytes.length - escritos );
+                buffer.put( bytes, escritos, cantidad );
+                escritos += cantidad;
+            }
+        }
+
+        /**
+         * Escribe el CRC de todo lo escrito y vacía el buffer
+         * @throws IOException Si no se pudo escribir en el canal
+         */
+        void terminar( ) throws IOException
+        {
+            vaciar( );
+            buffer.putInt( ( int )crc.getValue( ) );
+            buffer.flip( );
+            escribirTodo( );
+        }
+
+        private void asegurarEspacio( int cantidad ) throws IOException
+        {
+            if( buffer.remaining( ) < cantidad )
+            {
+                vaciar( );
+            }
+        }
+
+        private void vaciar( ) throws IOException
+        {
+            buffer.flip( );
+            crc.update( buffer.array( ), 0, buffer.limit( ) );
+            escribirTodo( );
+            buffer.clear( );
+        }
+
+        private void escribirTodo( ) throws IOException
+        {
+            while( buffer.hasRemaining( ) )
+            {
+                canal.write( buffer );
+            }
+        }
+    }
+
+    /**
+     * Lee de un canal a través de un buffer, calculando el CRC de lo que lee.
+     */
+    private static class Lector
+    {
+        private final FileChannel canal;
+
+        private final ByteBuffer buffer;
+
+        private final CRC32 crc;
+
+        /**
+         * La cantidad de bytes del archivo que todavía no se han pasado al buffer.
+         */
+        private long pendientes;
+
+        Lector( FileChannel canal ) throws IOException
+        {
+            this.canal = canal;
+            buffer = ByteBuffer.allocate( TAMANO_BUFFER );
+            buffer.flip( );
+            crc = new CRC32( );
+            pendientes = canal.size( );
+        }
+
+        byte leerByte( ) throws IOException
+        {
+            asegurarDisponibles( 1 );
+            return buffer.get( );
+        }
+
+        int leerInt( ) throws IOException
+        {
+            asegurarDisponibles( 4 );
+            return buffer.getInt( );
+        }
+
+        /**
+         * Lee un varint de un int sin signo
+         * @return El valor, que puede ser negativo si el número de 32 bits sin signo no cabe en un int
+         * @throws IOException Si no se pudo leer del canal, o si el varint está dañado
+         */
+        int leerVarint( ) throws IOException
+        {
+            if( buffer.remaining( ) < MAXIMO_VARINT )
+            {
+                asegurarDisponibles( ( int )Math.min( MAXIMO_VARINT, buffer.remaining( ) + pendientes ) );
+            }
+            int valor = 0;
+            for( int corrimiento = 0; corrimiento < 7 * MAXIMO_VARINT; corrimiento += 7 )
+            {
+                if( !buffer.hasRemaining( ) )
+                {
+                    throw new IOException( "El archivo terminó antes de lo esperado" );
+                }
+                byte b = buffer.get( );
+                valor |= ( b & 0x7F ) << corrimiento;
+                if( b >= 0 )
+                {
+                    return valor;
+                }
+            }
+            throw new IOException( "El archivo está dañado: varint demasiado largo" );
+        }
+
+        /**
+         * Lee un varint que es una cantidad de elementos o de bytes, que debe caber en lo que falta del archivo
+         * @return La cantidad
+         * @throws IOException Si no se pudo leer del canal, o si la cantidad es negativa o mayor que lo que falta del archivo
+         */
+        int leerCantidad( ) throws IOException
+        {
+            int cantidad = leerVarint( );
+            if( cantidad < 0 || cantidad > buffer.remaining( ) + pendientes )
+            {
+                throw new IOException( "El archivo está dañado: cantidad inválida " + ( cantidad & 0xFFFFFFFFL ) );
+            }
+            return cantidad;
+        }
+
+        /**
+         * Lee una cadena en UTF-8. Si cabe en el buffer se decodifica directamente desde él.
+         * @param longitud La cantidad de bytes de la cadena
+         * @return La cadena
+         * @throws IOException Si no se pudo leer del canal o el archivo terminó antes
+         */
+        String leerCadena( int longitud ) throws IOException
+        {
+            if( longitud <= TAMANO_BUFFER )
+            {
+                asegurarDisponibles( longitud );
+                String cadena = new String( buffer.array( ), buffer.position( ), longitud, StandardCharsets.UTF_8 );
+                buffer.position( buffer.position( ) + longitud );
+                return cadena;
+            }
+            byte[] bytes = new byte[longitud];
+            int leidos = 0;
+            while( leidos < longitud )
+            {
+                if( !buffer.hasRemaining( ) )
+                {
+                    asegurarDisponibles( 1 );
+                }
+                int cantidad = Math.min( buffer.remaining( ), longitud - leidos );
+                buffer.get( bytes, leidos, cantidad );
+                leidos += cantidad;
+            }
+            return new String( bytes, StandardCharsets.UTF_8 );
+        }
+
+        /**
+         * Lee el CRC del final del archivo y verifica que coincida con el de lo leído
+         * @throws IOException Si no se pudo leer del canal, el CRC no coincide o hay bytes después del CRC
+         */
+        void terminar( ) throws IOException
+        {
+            // El CRC cubre todo lo anterior a él, así que se suma lo leído del buffer antes de leerlo
+            crc.update( buffer.array( ), 0, buffer.position( ) );
+            buffer.compact( ).flip( );
+            asegurarDisponibles( 4 );
+            int esperado = buffer.getInt( );
+            if( buffer.hasRemaining( ) || pendientes > 0 )
+            {
+                throw new IOException( "El archivo está dañado: hay datos después del CRC" );
+            }
+            if( esperado != ( int )crc.getValue( ) )
+            {
+                throw new IOException( "El archivo está dañado: el CRC no coincide" );
+            }
+        }
+
+        /**
+         * Se asegura de que el buffer tenga disponibles por lo menos una cantidad de bytes, leyendo más del canal si hace falta. Los bytes que ya se leyeron del buffer
+         * se suman al CRC antes de descartarlos.
+         * @param cantidad La cantidad de bytes, que no debe pasar de TAMANO_BUFFER
+         * @throws IOException Si no se pudo leer del canal o el archivo terminó antes
+         */
+        private void asegurarDisponibles( int cantidad ) throws IOException
+        {
+            if( buffer.remaining( ) >= cantidad )
+            {
+                return;
+            }
+            crc.update( buffer.array( ), 0, buffer.position( ) );
+            buffer.compact( );
+            while( buffer.position( ) < cantidad )
+            {
+                int leidos = canal.read( buffer );
+                if( leidos < 0 )
+                {
+                    throw new IOException( "El archivo terminó antes de lo esperado" );
+                }
+                pendientes -= leidos;
+            }
+            buffer.flip( );
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de enteros comprimido al estilo de los Roaring bitmaps.
+ *
+ * Los enteros se agrupan por sus 16 bits altos. Cada grupo guarda los 16 bits bajos de sus valores en un contenedor que puede ser de tres tipos, según qué ocupe menos:
+ * <ul>
+ * <li>un arreglo organizado, cuando el grupo tiene pocos valores;</li>
+ * <li>un mapa de bits de 2^16 posiciones, cuando tiene muchos;</li>
+ * <li>una lista de corridas de valores consecutivos, cuando los valores forman rangos (solo después de llamar a optimizar).</li>
+ * </ul>
+ * Consultar si un valor pertenece al conjunto cuesta una búsqueda binaria sobre los grupos más una consulta en el contenedor.
+ */
+class BitmapEnteros
+{
+    /**
+     * La cantidad máxima de valores que se guardan en un contenedor de tipo arreglo. Por encima de este límite, el mapa de bits ocupa menos.
+     */
+    private static final int MAXIMO_ARREGLO = 4096;
+
+    /**
+     * Los 16 bits altos de cada grupo, organizados de menor a mayor. Las posiciones desde cantidadGrupos en adelante no se usan.
+     */
+    private char[] llaves;
+
+    /**
+     * El contenedor de cada grupo, en el mismo orden de llaves.
+     */
+    private Contenedor[] contenedores;
+
+    /**
+     * La cantidad de grupos que tienen por lo menos un valor.
+     */
+    private int cantidadGrupos;
+
+    /**
+     * Crea un conjunto vacío
+     */
+    BitmapEnteros( )
+    {
+        llaves = new char[4];
+        contenedores = new Contenedor[4];
+        cantidadGrupos = 0;
+    }
+
+    /**
+     * Crea un conjunto con los valores de un arreglo (los repetidos se cuentan una vez) y lo optimiza
+     * @param arreglo Los valores del conjunto
+     */
+    BitmapEnteros( int[] arreglo )
+    {
+        this( );
+        for( int i = 0; i < arreglo.length; i++ )
+        {
+            agregar( arreglo[ i ] );
+        }
+        optimizar( );
+    }
+
+    /**
+     * Indica si un valor pertenece al conjunto
+     * @param valor El valor buscado
+     * @return True si el valor está en el conjunto
+     */
+    boolean contiene( int valor )
+    {
+        int grupo = buscarGrupo( alto( valor ) );
+        return grupo >= 0 && contenedores[ grupo ].contiene( bajo( valor ) );
+    }
+
+    /**
+     * Agrega un valor al conjunto. Si ya estaba, no hace nada.
+     * @param valor El valor que se va a agregar
+     */
+    void agregar( int valor )
+    {
+        char llave = alto( valor );
+        int grupo = buscarGrupo( llave );
+        if( grupo >= 0 )
+        {
+            contenedores[ grupo ] = contenedores[ grupo ].agregar( bajo( valor ) );
+            return;
+        }
+
+        grupo = -grupo - 1;
+        if( cantidadGrupos == llaves.length )
+        {
+            llaves = Arrays.copyOf( llaves, 2 * llaves.length );
+            contenedores = Arrays.copyOf( contenedores, 2 * contenedores.length );
+        }
+        System.arraycopy( llaves, grupo, llaves, grupo + 1, cantidadGrupos - grupo );
+        System.arraycopy( contenedores, grupo, contenedores, grupo + 1, cantidadGrupos - grupo );
+        llaves[ grupo ] = llave;
+        contenedores[ grupo ] = new ContenedorArreglo( ).agregar( bajo( valor ) );
+        cantidadGrupos++;
+    }
+
+    /**
+     * Elimina un valor del conjunto. Si no estaba, no hace nada.
+     * @param valor El valor que se va a eliminar
+     */
+    void eliminar( int valor )
+    {
+        int grupo = buscarGrupo( alto( valor ) );
+        if( grupo < 0 )
+        {
+            return;
+        }
+        Contenedor contenedor = contenedores[ grupo ].eliminar( bajo( valor ) );
+        if( contenedor.cardinalidad( ) > 0 )
+        {
+            contenedores[ grupo ] = contenedor;
+            return;
+        }
+        System.arraycopy( llaves, grupo + 1, llaves, grupo, cantidadGrupos - grupo - 1 );
+        System.arraycopy( contenedores, grupo + 1, contenedores, grupo, cantidadGrupos - grupo - 1 );
+        cantidadGrupos--;
+        contenedores[ cantidadGrupos ] = null;
+    }
+
+    /**
+     * Retorna la cantidad de valores diferentes en el conjunto
+     * @return La cantidad de valores
+     */
+    int cardinalidad( )
+    {
+        int total = 0;
+        for( int i = 0; i < cantidadGrupos; i++ )
+        {
+            total += contenedores[ i ].cardinalidad( );
+        }
+        return total;
+    }
+
+    /**
+     * Cambia cada contenedor por el tipo de contenedor que ocupe menos memoria para sus valores, incluyendo contenedores de corridas.
+     */
+    void optimizar( )
+    {
+        for( int i = 0; i < cantidadGrupos; i++ )
+        {
+            contenedores[ i ] = contenedores[ i ].optimizar( );
+        }
+    }
+
+    /**
+     * Busca un grupo por su llave
+     * @param llave Los 16 bits altos del grupo
+     * @return La posición del grupo, o (-(posición donde debería insertarse) - 1) si no existe
+     */
+    private int buscarGrupo( char llave )
+    {
+        int inicio = 0;
+        int fin = cantidadGrupos - 1;
+        while( inicio <= fin )
+        {
+            int medio = ( inicio + fin ) >>> 1;
+            if( llaves[ medio ] < llave )
+            {
+                inicio = medio + 1;
+            }
+            else if( llaves[ medio ] > llave )
+            {
+                fin = medio - 1;
+            }
+            else
+            {
+                return medio;
+            }
+        }
+        return -( inicio + 1 );
+    }
+
+    private static char alto( int valor )
+    {
+        return ( char )( valor >>> 16 );
+    }
+
+    private static char bajo( int valor )
+    {
+        return ( char )valor;
+    }
+
+    /**
+     * Un contenedor con los 16 bits bajos de los valores de un grupo.
+     *
+     * Las operaciones que modifican el contenedor retornan el contenedor que debe quedar en el grupo, que puede ser de otro tipo si cambió cuál es el más conveniente.
+     */
+    private abstract static class Contenedor
+    {
+        abstract boolean contiene( char valor );
+
+        abstract Contenedor agregar( char valor );
+
+        abstract Contenedor eliminar( char valor );
+
+        abstract int cardinalidad( );
+
+        /**
+         * Cuenta cuántas corridas de valores consecutivos tiene el contenedor
+         * @return La cantidad de corridas
+         */
+        abstract int contarCorridas( );
+
+        /**
+         * Escribe los valores del contenedor, de menor a mayor, en un arreglo
+         * @return Un arreglo con los valores organizados
+         */
+        abstract char[] valores( );
+
+        /**
+         * Retorna el tipo de contenedor que ocupe menos memoria para los valores actuales
+         * @return Este contenedor o uno nuevo con los mismos valores
+         */
+        Contenedor optimizar( )
+        {
+            int cardinalidad = cardinalidad( );
+            int bytesCorridas = 2 + 4 * contarCorridas( );
+            int bytesArreglo = cardinalidad <= MAXIMO_ARREGLO ? 2 * cardinalidad : Integer.MAX_VALUE;
+            int bytesBits = 8192;
+            if( bytesCorridas < bytesArreglo && bytesCorridas < bytesBits )
+            {
+                return this instanceof ContenedorCorridas ? this : new ContenedorCorridas( valores( ) );
+            }
+            if( bytesArreglo <= bytesBits )
+            {
+                return this instanceof ContenedorArreglo ? this : new ContenedorArreglo( valores( ) );
+            }
+            return this instanceof ContenedorBits ? this : new ContenedorBits( valores( ) );
+        }
+    }
+
+    /**
+     * Contenedor con los valores en un arreglo organizado de menor a mayor.
+     */
+    private static class ContenedorArreglo extends Contenedor
+    {
+        private char[] valores;
+
+        private int cantidad;
+
+        ContenedorArreglo( )
+        {
+            valores = new char[4];
+            cantidad = 0;
+        }
+
+        ContenedorArreglo( char[] organizados )
+        {
+            valores = organizados;
+            cantidad = organizados.length;
+        }
+
+        @Override
+        boolean contiene( char valor )
+        {
+            return Arrays.binarySearch( valores, 0, cantidad, valor ) >= 0;
+        }
+
+        @Override
+        Contenedor agregar( char valor )
+        {
+            int posicion = Arrays.binarySearch( valores, 0, cantidad, valor );
+            if( posicion >= 0 )
+            {
+                return this;
+            }
+            if( cantidad == MAXIMO_ARREGLO )
+            {
+                return new ContenedorBits( valores( ) ).agregar( valor );
+            }
+            posicion = -posicion - 1;
+            if( cantidad == valores.length )
+            {
+                valores = Arrays.copyOf( valores, Math.min( Math.max( 4, 2 * valores.length ), MAXIMO_ARREGLO ) );
+            }
+            System.arraycopy( valores, posicion, valores, posicion + 1, cantidad - posicion );
+            valores[ posicion ] = valor;
+            cantidad++;
+            return this;
+        }
+
+        @Override
+        Contenedor eliminar( char valor )
+        {
+            int posicion = Arrays.binarySearch( valores, 0, cantidad, valor );
+            if( posicion >= 0 )
+            {
+                System.arraycopy( valores, posicion + 1, valores, posicion, cantidad - posicion - 1 );
+                cantidad--;
+            }
+            return this;
+        }
+
+        @Override
+        int cardinalidad( )
+        {
+            return cantidad;
+        }
+
+        @Override
+        int contarCorridas( )
+        {
+            int corridas = 0;
+            for( int i = 0; i < cantidad; i++ )
+            {
+                if( i == 0 || valores[ i ] != valores[ i - 1 ] + 1 )
+                {
+                    corridas++;
+                }
+            }
+            return corridas;
+        }
+
+        @Override
+        char[] valores( )
+        {
+            return Arrays.copyOf( valores, cantidad );
+        }
+    }
+
+    /**
+     * Contenedor con un bit por cada uno de los 2^16 valores posibles.
+     */
+    private static class ContenedorBits extends Contenedor
+    {
+        private final long[] bits;
+
+        private int cantidad;
+
+        ContenedorBits( char[] organizados )
+        {
+            bits = new long[1024];
+            for( int i = 0; i < organizados.length; i++ )
+            {
+                bits[ organizados[ i ] >>> 6 ] |= 1L << organizados[ i ];
+            }
+            cantidad = organizados.length;
+        }
+
+        @Override
+        boolean contiene( char valor )
+        {
+            return ( bits[ valor >>> 6 ] & ( 1L << valor ) ) != 0;
+        }
+
+        @Override
+        Contenedor agregar( char valor )
+        {
+            long anterior = bits[ valor >>> 6 ];
+            bits[ valor >>> 6 ] = anterior | ( 1L << valor );
+            if( anterior != bits[ valor >>> 6 ] )
+            {
+                cantidad++;
+            }
+            return this;
+        }
+
+        @Override
+        Contenedor eliminar( char valor )
+        {
+            long anterior = bits[ valor >>> 6 ];
+            bits[ valor >>> 6 ] = anterior & ~( 1L << valor );
+            if( anterior != bits[ valor >>> 6 ] )
+            {
+                cantidad--;
+                if( cantidad <= MAXIMO_ARREGLO )
+                {
+                    return new ContenedorArreglo( valores( ) );
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int cardinalidad( )
+        {
+            return cantidad;
+        }
+
+        @Override
+        int contarCorridas( )
+        {
+            // Una corrida empieza en cada bit encendido cuyo bit anterior está apagado
+            int corridas = 0;
+            long acarreo = 0;
+            for( int i = 0; i < bits.length; i++ )
+            {
+                long anteriores = ( bits[ i ] << 1 ) | acarreo;
+                corridas += Long.bitCount( bits[ i ] & ~anteriores );
+                acarreo = bits[ i ] >>> 63;
+            }
+            return corridas;
+        }
+
+        @Override
+        char[] valores( )
+        {
+            char[] valores = new char[cantidad];
+            int indice = 0;
+            for( int i = 0; i < bits.length; i++ )
+            {
+                long palabra = bits[ i ];
+                while( palabra != 0 )
+                {
+                    valores[ indice ] = ( char )( ( i << 6 ) + Long.numberOfTrailingZeros( palabra ) );
+                    indice++;
+                    palabra &= palabra - 1;
+                }
+            }
+            return valores;
+        }
+    }
+
+    /**
+     * Contenedor con los valores como corridas de valores consecutivos: el inicio de cada corrida y cuántos valores más la siguen.
+     *
+     * Solo se crea al optimizar. Para modificarlo, primero se convierte en un contenedor de otro tipo.
+     */
+    private static class ContenedorCorridas extends Contenedor
+    {
+        private final char[] inicios;
+
+        private final char[] longitudes;
+
+        private final int cantidad;
+
+        ContenedorCorridas( char[] organizados )
+        {
+            int corridas = 0;
+            for( int i = 0; i < organizados.length; i++ )
+            {
+                if( i == 0 || organizados[ i ] != organizados[ i - 1 ] + 1 )
+                {
+                    corridas++;
+                }
+            }
+            inicios = new char[corridas];
+            longitudes = new char[corridas];
+            int corrida = -1;
+            for( int i = 0; i < organizados.length; i++ )
+            {
+                if( i == 0 || organizados[ i ] != organizados[ i - 1 ] + 1 )
+                {
+                    corrida++;
+                    inicios[ corrida ] = organizados[ i ];
+                }
+                else
+                {
+                    longitudes[ corrida ]++;
+                }
+            }
+            cantidad = organizados.length;
+        }
+
+        @Override
+        boolean contiene( char valor )
+        {
+            int posicion = Arrays.binarySearch( inicios, valor );
+            if( posicion >= 0 )
+            {
+                return true;
+            }
+            int corrida = -posicion - 2;
+            return corrida >= 0 && valor - inicios[ corrida ] <= longitudes[ corrida ];
+        }
+
+        @Override
+        Contenedor agregar( char valor )
+        {
+            if( contiene( valor ) )
+            {
+                return this;
+            }
+            return convertir( cantidad + 1 ).agregar( valor );
+        }
+
+        @Override
+        Contenedor eliminar( char valor )
+        {
+            if( !contiene( valor ) )
+            {
+                return this;
+            }
+            return convertir( cantidad ).eliminar( valor );
+        }
+
+        @Override
+        int cardinalidad( )
+        {
+            return cantidad;
+        }
+
+        @Override
+        int contarCorridas( )
+        {
+            return inicios.length;
+        }
+
+        @Override
+        char[] valores( )
+        {
+            char[] valores = new char[cantidad];
+            int indice = 0;
+            for( int i = 0; i < inicios.length; i++ )
+            {
+                for( int j = 0; j <= longitudes[ i ]; j++ )
+                {
+                    valores[ indice ] = ( char )( inicios[ i ] + j );
+                    indice++;
+                }
+            }
+            return valores;
+        }
+
+        /**
+         * Convierte el contenedor en uno que se pueda modificar
+         * @param cardinalidadEsperada La cantidad de valores que tendrá el contenedor después de la modificación
+         * @return Un contenedor de tipo arreglo o de tipo mapa de bits con los mismos valores
+         */
+        private Contenedor convertir( int cardinalidadEsperada )
+        {
+            if( cardinalidadEsperada <= MAXIMO_ARREGLO )
+            {
+                return new ContenedorArreglo( valores( ) );
+            }
+            return new ContenedorBits( valores( ) );
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Conjunto de enteros basado en una tabla de hash con direccionamiento abierto sobre un arreglo de int, para no tener que convertir cada valor a Integer.
+ *
+ * Las posiciones vacías de la tabla se marcan con 0, así que la presencia del 0 en el conjunto se guarda aparte.
+ */
+class ConjuntoEnteros
+{
+    /**
+     * La tabla de hash. Su tamaño siempre es una potencia de 2.
+     */
+    private int[] tabla;
+
+    /**
+     * Indica si el 0 pertenece al conjunto.
+     */
+    private boolean tieneCero;
+
+    /**
+     * La cantidad de valores en el conjunto.
+     */
+    private int cantidad;
+
+    /**
+     * Crea un conjunto vacío con espacio para la cantidad esperada de valores sin tener que crecer
+     * @param capacidadEsperada La cantidad de valores que se espera agregar
+     */
+    ConjuntoEnteros( int capacidadEsperada )
+    {
+        int tamano = 8;
+        while( tamano < 2L * capacidadEsperada )
+        {
+            tamano <<= 1;
+        }
+        tabla = new int[tamano];
+    }
+
+    /**
+     * Crea un conjunto con los valores de un arreglo
+     * @param valores Los valores del conjunto
+     * @return Un conjunto con los valores diferentes del arreglo
+     */
+    static ConjuntoEnteros desde( int[] valores )
+    {
+        ConjuntoEnteros conjunto = new ConjuntoEnteros( valores.length );
+        for( int i = 0; i < valores.length; i++ )
+        {
+            conjunto.agregar( valores[ i ] );
+        }
+        return conjunto;
+    }
+
+    /**
+     * Agrega un valor al conjunto
+     * @param valor El valor que se va a agregar
+     * @return True si el valor no estaba en el conjunto
+     */
+    boolean agregar( int valor )
+    {
+        if( valor == 0 )
+        {
+            if( tieneCero )
+            {
+                return false;
+            }
+            tieneCero = true;
+            cantidad++;
+            return true;
+        }
+        int mascara = tabla.length - 1;
+        int posicion = dispersar( valor ) & mascara;
+        while( tabla[ posicion ] != 0 )
+        {
+            if( tabla[ posicion ] == valor )
+            {
+                return false;
+            }
+            posicion = ( posicion + 1 ) & mascara;
+        }
+        tabla[ posicion ] = valor;
+        cantidad++;
+        if( 2 * cantidad > tabla.length )
+        {
+            crecer( );
+        }
+        return true;
+    }
+
+    /**
+     * Indica si un valor pertenece al conjunto
+     * @param valor El valor buscado
+     * @return True si el valor está en el conjunto
+     */
+    boolean contiene( int valor )
+    {
+        if( valor == 0 )
+        {
+            return tieneCero;
+        }
+        int mascara = tabla.length - 1;
+        int posicion = dispersar( valor ) & mascara;
+        while( tabla[ posicion ] != 0 )
+        {
+            if( tabla[ posicion ] == valor )
+            {
+                return true;
+            }
+            posicion = ( posicion + 1 ) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * Retorna la cantidad de valores en el conjunto
+     * @return La cantidad de valores
+     */
+    int tamano( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Duplica el tamaño de la tabla y vuelve a ubicar todos los valores
+     */
+    private void crecer( )
+    {
+        int[] anterior = tabla;
+        tabla = new int[2 * anterior.length];
+        int mascara = tabla.length - 1;
+        for( int i = 0; i < anterior.length; i++ )
+        {
+            int valor = anterior[ i ];
+            if( valor != 0 )
+            {
+                int posicion = dispersar( valor ) & mascara;
+                while( tabla[ posicion ] != 0 )
+                {
+                    posicion = ( posicion + 1 ) & mascara;
+                }
+                tabla[ posicion ] = valor;
+            }
+        }
+    }
+
+    /**
+     * Mezcla los bits del valor para que valores consecutivos no queden en posiciones consecutivas de la tabla
+     * @param valor El valor
+     * @return El valor mezclado
+     */
+    static int dispersar( int valor )
+    {
+        int h = valor * 0x9E3779B9;
+        return h ^ ( h >>> 16 );
+    }
+}
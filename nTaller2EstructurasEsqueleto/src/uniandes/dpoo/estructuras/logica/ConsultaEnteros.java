@@ -0,0 +1,608 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Consulta perezosa sobre la lista de enteros de un SandboxListas.
+ *
+ * Las operaciones intermedias (transformar, filtrar, distintos, organizar, limitar) no recorren la lista: solo retornan una nueva consulta con una etapa más. La
+ * lista se recorre cuando se pide un resultado (contar, aArreglo, histograma), y en ese momento todas las etapas se encadenan y cada valor pasa por todas ellas en un
+ * solo recorrido, como int, sin crear objetos Integer ni listas intermedias. Solo organizar necesita guardar los valores que le llegan antes de pasarlos a la
+ * siguiente etapa. Si hay un límite, el recorrido se detiene apenas se alcanza.
+ *
+ * Las consultas no cambian después de creadas, así que una misma consulta se puede usar varias veces; cada resultado refleja la lista en el momento de pedirlo.
+ *
+ * Con paralela(), las etapas de transformar y filtrar que están antes de la primera etapa con estado (distintos, organizar, limitar) se aplican en paralelo sobre
+ * partes de la lista, y las demás sobre el resultado, en orden. El resultado es el mismo que sin paralela(), pero las funciones de transformar y filtrar se llaman
+ * desde varios hilos, así que no deben tener efectos secundarios.
+ */
+public final class ConsultaEnteros
+{
+    /**
+     * La cantidad mínima de valores de cada parte en una consulta paralela.
+     */
+    static final int TAMANO_MINIMO_PARTE = 1 << 13;
+
+    /**
+     * El sandbox con la lista de enteros que se consulta.
+     */
+    private final SandboxListas sandbox;
+
+    /**
+     * La consulta a la que esta le agrega una etapa, o null si esta es la consulta sin etapas.
+     */
+    private final ConsultaEnteros anterior;
+
+    /**
+     * La última etapa de la consulta, o null si no tiene etapas.
+     */
+    private final Etapa etapa;
+
+    private final boolean paralela;
+
+    /**
+     * Crea una consulta sin etapas sobre la lista de enteros de un sandbox
+     * @param sandbox El sandbox
+     */
+    ConsultaEnteros( SandboxListas sandbox )
+    {
+        this( sandbox, null, null, false );
+    }
+
+    private ConsultaEnteros( SandboxListas sandbox, ConsultaEnteros anterior, Etapa etapa, boolean paralela )
+    {
+        this.sandbox = sandbox;
+        this.anterior = anterior;
+        this.etapa = etapa;
+        this.paralela = paralela;
+    }
+
+    /**
+     * Agrega una etapa que reemplaza cada valor por el resultado de una función
+     * @param funcion La función
+     * @return La nueva consulta
+     */
+    public ConsultaEnteros transformar( IntUnaryOperator funcion )
+    {
+        return agregar( new Transformar( funcion ) );
+    }
+
+    /**
+     * Agrega una etapa que deja pasar solo los valores que cumplen una condición
+     * @param condicion La condición
+     * @return La nueva consulta
+     */
+    public ConsultaEnteros filtrar( IntPredicate condicion )
+    {
+        return agregar( new Filtrar( condicion ) );
+    }
+
+    /**
+     * Agrega una etapa que deja pasar solo la primera aparición de cada valor
+     * @return La nueva consulta
+     */
+    public ConsultaEnteros distintos( )
+    {
+        return agregar( new Distintos( ) );
+    }
+
+    /**
+     * Agrega una etapa que organiza los valores de menor a mayor
+     * @return La nueva consulta
+     */
+    public ConsultaEnteros organizar( )
+    {
+        return agregar( new Organizar( false ) );
+    }
+
+    /**
+     * Agrega una etapa que organiza los valores de mayor a menor
+     * @return La nueva consulta
+     */
+    public ConsultaEnteros organizarDescendente( )
+    {
+        return agregar( new Organizar( true ) );
+    }
+
+    /**
+     * Agrega una etapa que deja pasar solo los primeros valores
+     * @param cantidad La cantidad máxima de valores que pasan
+     * @return La nueva consulta
+     * @throws IllegalArgumentException Si la cantidad es negativa
+     */
+    public ConsultaEnteros limitar( long cantidad )
+    {
+        if( cantidad < 0 )
+        {
+            throw new IllegalArgumentException( "El límite no puede ser negativo: " + cantidad );
+        }
+        return agregar( new Limitar( cantidad ) );
+    }
+
+    /**
+     * Retorna una consulta igual a esta que se ejecuta en paralelo (ver la descripción de la clase)
+     * @return La nueva consulta
+     */
+    public ConsultaEnteros paralela( )
+    {
+        return new ConsultaEnteros( sandbox, anterior, etapa, true );
+    }
+
+    /**
+     * Recorre la lista y cuenta los valores que pasan por todas las etapas
+     * @return La cantidad de valores
+     */
+    public long contar( )
+    {
+        Contador contador = new Contador( );
+        ejecutar( contador );
+        return contador.cantidad;
+    }
+
+    /**
+     * Recorre la lista y retorna los valores que pasan por todas las etapas
+     * @return Un arreglo nuevo con los valores, en el orden en que salen de la última etapa
+     */
+    public int[] aArreglo( )
+    {
+        Colector colector = new Colector( );
+        ejecutar( colector );
+        return colector.resultado( );
+    }
+
+    /**
+     * Recorre la lista y cuenta cuántas veces sale cada valor de la última etapa
+     * @return El histograma de los valores
+     */
+    public HistogramaEnteros histograma( )
+    {
+        return HistogramaEnteros.desde( aArreglo( ) );
+    }
+
+    private ConsultaEnteros agregar( Etapa nueva )
+    {
+        return new ConsultaEnteros( sandbox, this, nueva, paralela );
+    }
+
+    /**
+     * Ejecuta la consulta, pasando los valores que salen de la última etapa a un sumidero final
+     * @param terminal El sumidero final
+     */
+    private void ejecutar( Sumidero terminal )
+    {
+        List<Etapa> etapas = new ArrayList<Etapa>( );
+        for( ConsultaEnteros consulta = this; consulta.etapa != null; consulta = consulta.anterior )
+        {
+            etapas.add( 0, consulta.etapa );
+        }
+        if( paralela && sandbox.getCantidadEnteros( ) >= 2 * TAMANO_MINIMO_PARTE )
+        {
+            ejecutarEnParalelo( etapas, terminal );
+            return;
+        }
+        Sumidero cadena = encadenar( etapas, 0, etapas.size( ), terminal );
+        if( tieneLimite( etapas, 0 ) )
+        {
+            // Con un límite el recorrido se puede detener antes del final, así que se hace con un cursor
+            CursorEnteros cursor = sandbox.abrirCursorEnteros( null );
+            while( cursor.haySiguiente( ) && !cadena.cancelado( ) )
+            {
+                cadena.aceptar( cursor.siguiente( ) );
+            }
+        }
+        else
+        {
+            sandbox.forEachEntero( cadena::aceptar );
+        }
+        cadena.fin( );
+    }
+
+    /**
+     * Ejecuta en paralelo las etapas sin estado del principio, sobre partes de una copia de la lista, y el resto de las etapas sobre el resultado
+     * @param etapas Las etapas de la consulta
+     * @param terminal El sumidero final
+     */
+    private void ejecutarEnParalelo( List<Etapa> etapas, Sumidero terminal )
+    {
+        int sinEstado = 0;
+        while( sinEstado < etapas.size( ) && etapas.get( sinEstado ).sinEstado( ) )
+        {
+            sinEstado++;
+        }
+        int[] valores = new int[sandbox.getCantidadEnteros( )];
+        sandbox.copiarEnteros( valores, 0 );
+
+        int partes = ( int )Math.min( valores.length / TAMANO_MINIMO_PARTE, 4L * ForkJoinPool.getCommonPoolParallelism( ) );
+        Sumidero[] resultados = new Sumidero[partes];
+        boolean soloContar = sinEstado == etapas.size( ) && terminal instanceof Contador;
+        for( int i = 0; i < partes; i++ )
+        {
+            resultados[ i ] = soloContar ? new Contador( ) : new Colector( );
+        }
+        new Parte( etapas, sinEstado, valores, resultados, 0, partes ).invoke( );
+
+        if( soloContar )
+        {
+            for( Sumidero resultado : resultados )
+            {
+                ( ( Contador )terminal ).cantidad += ( ( Contador )resultado ).cantidad;
+            }
+            return;
+        }
+        Sumidero cadena = encadenar( etapas, sinEstado, etapas.size( ), terminal );
+        boolean puedeCortar = tieneLimite( etapas, sinEstado );
+        for( Sumidero resultado : resultados )
+        {
+            Colector parcial = ( Colector )resultado;
+            for( int i = 0; i < parcial.cantidad && !( puedeCortar && cadena.cancelado( ) ); i++ )
+            {
+                cadena.aceptar( parcial.valores[ i ] );
+            }
+        }
+        cadena.fin( );
+    }
+
+    /**
+     * Encadena una secuencia de etapas delante de un sumidero
+     * @param etapas Las etapas
+     * @param desde La primera etapa de la secuencia
+     * @param hasta La etapa siguiente a la última de la secuencia
+     * @param terminal El sumidero que recibe lo que sale de la última etapa
+     * @return El sumidero que recibe los valores de la primera etapa
+     */
+    private static Sumidero encadenar( List<Etapa> etapas, int desde, int hasta, Sumidero terminal )
+    {
+        Sumidero cadena = terminal;
+        for( int i = hasta - 1; i >= desde; i-- )
+        {
+            cadena = etapas.get( i ).enlazar( cadena );
+        }
+        return cadena;
+    }
+
+    private static boolean tieneLimite( List<Etapa> etapas, int desde )
+    {
+        for( int i = desde; i < etapas.size( ); i++ )
+        {
+            if( etapas.get( i ) instanceof Limitar )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tarea que aplica las etapas sin estado sobre un grupo de partes de los valores, dividiendo el grupo en dos mientras tenga más de una parte.
+     */
+    private static class Parte extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Etapa> etapas;
+
+        private final int sinEstado;
+
+        private final int[] valores;
+
+        private final transient Sumidero[] resultados;
+
+        private final int desde;
+
+        private final int hasta;
+
+        Parte( List<Etapa> etapas, int sinEstado, int[] valores, Sumidero[] resultados, int desde, int hasta )
+        {
+            this.etapas = etapas;
+            this.sinEstado = sinEstado;
+            this.valores = valores;
+            this.resultados = resultados;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute( )
+        {
+            if( hasta - desde > 1 )
+            {
+                int medio = ( desde + hasta ) >>> 1;
+                invokeAll( new Parte( etapas, sinEstado, valores, resultados, desde, medio ), new Parte( etapas, sinEstado, valores, resultados, medio, hasta ) );
+                return;
+            }
+            Sumidero cadena = encadenar( etapas, 0, sinEstado, resultados[ desde ] );
+            long inicio = ( long )valores.length * desde / resultados.length;
+            long fin = ( long )valores.length * ( desde + 1 ) / resultados.length;
+            for( int i = ( int )inicio; i < fin; i++ )
+            {
+                cadena.aceptar( valores[ i ] );
+            }
+        }
+    }
+
+    /**
+     * Una etapa de la consulta. Cada vez que se ejecuta la consulta, la etapa crea un sumidero nuevo, así que las etapas con estado pueden usarse en varias
+     * ejecuciones.
+     */
+    private abstract static class Etapa
+    {
+        /**
+         * Crea el sumidero de la etapa
+         * @param siguiente El sumidero al que le pasa los valores que salen de la etapa
+         * @return El sumidero
+         */
+        abstract Sumidero enlazar( Sumidero siguiente );
+
+        /**
+         * Indica si la etapa trata cada valor sin depender de los demás, así que puede aplicarse por partes
+         * @return True si la etapa no tiene estado
+         */
+        boolean sinEstado( )
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Recibe los valores de una etapa, uno por uno.
+     */
+    private abstract static class Sumidero
+    {
+        /**
+         * El sumidero de la etapa siguiente, o null si este es el final.
+         */
+        final Sumidero siguiente;
+
+        Sumidero( Sumidero siguiente )
+        {
+            this.siguiente = siguiente;
+        }
+
+        abstract void aceptar( int valor );
+
+        /**
+         * Avisa que ya no llegan más valores
+         */
+        void fin( )
+        {
+            if( siguiente != null )
+            {
+                siguiente.fin( );
+            }
+        }
+
+        /**
+         * Indica si este sumidero, o alguno de los siguientes, ya no va a usar más valores
+         * @return True si el recorrido se puede detener
+         */
+        boolean cancelado( )
+        {
+            return siguiente != null && siguiente.cancelado( );
+        }
+    }
+
+    private static class Transformar extends Etapa
+    {
+        private final IntUnaryOperator funcion;
+
+        Transformar( IntUnaryOperator funcion )
+        {
+            this.funcion = funcion;
+        }
+
+        @Override
+        Sumidero enlazar( Sumidero siguiente )
+        {
+            return new Sumidero( siguiente )
+            {
+                @Override
+                void aceptar( int valor )
+                {
+                    siguiente.aceptar( funcion.applyAsInt( valor ) );
+                }
+            };
+        }
+
+        @Override
+        boolean sinEstado( )
+        {
+            return true;
+        }
+    }
+
+    private static class Filtrar extends Etapa
+    {
+        private final IntPredicate condicion;
+
+        Filtrar( IntPredicate condicion )
+        {
+            this.condicion = condicion;
+        }
+
+        @Override
+        Sumidero enlazar( Sumidero siguiente )
+        {
+            return new Sumidero( siguiente )
+            {
+                @Override
+                void aceptar( int valor )
+                {
+                    if( condicion.test( valor ) )
+                    {
+                        siguiente.aceptar( valor );
+                    }
+                }
+            };
+        }
+
+        @Override
+        boolean sinEstado( )
+        {
+            return true;
+        }
+    }
+
+    private static class Distintos extends Etapa
+    {
+        @Override
+        Sumidero enlazar( Sumidero siguiente )
+        {
+            ConjuntoEnteros vistos = new ConjuntoEnteros( 0 );
+            return new Sumidero( siguiente )
+            {
+                @Override
+                void aceptar( int valor )
+                {
+                    if( vistos.agregar( valor ) )
+                    {
+                        siguiente.aceptar( valor );
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Guarda todos los valores que le llegan y, cuando ya no llegan más, los organiza y los pasa a la etapa siguiente.
+     */
+    private static class Organizar extends Etapa
+    {
+        private final boolean descendente;
+
+        Organizar( boolean descendente )
+        {
+            this.descendente = descendente;
+        }
+
+        @Override
+        Sumidero enlazar( Sumidero siguiente )
+        {
+            Colector guardados = new Colector( );
+            return new Sumidero( siguiente )
+            {
+                @Override
+                void aceptar( int valor )
+                {
+                    guardados.aceptar( valor );
+                }
+
+                @Override
+                void fin( )
+                {
+                    int[] valores = guardados.valores;
+                    int cantidad = guardados.cantidad;
+                    if( descendente )
+                    {
+                        OrdenEnteros.ordenarDescendente( valores, 0, cantidad );
+                    }
+                    else
+                    {
+                        OrdenEnteros.ordenar( valores, 0, cantidad );
+                    }
+                    for( int i = 0; i < cantidad && !siguiente.cancelado( ); i++ )
+                    {
+                        siguiente.aceptar( valores[ i ] );
+                    }
+                    siguiente.fin( );
+                }
+
+                @Override
+                boolean cancelado( )
+                {
+                    // Todavía no le ha pasado nada a la etapa siguiente, así que necesita todos los valores
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static class Limitar extends Etapa
+    {
+        private final long cantidad;
+
+        Limitar( long cantidad )
+        {
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        Sumidero enlazar( Sumidero siguiente )
+        {
+            return new Sumidero( siguiente )
+            {
+                private long restantes = cantidad;
+
+                @Override
+                void aceptar( int valor )
+                {
+                    if( restantes > 0 )
+                    {
+                        restantes--;
+                        siguiente.aceptar( valor );
+                    }
+                }
+
+                @Override
+                boolean cancelado( )
+                {
+                    return restantes == 0 || siguiente.cancelado( );
+                }
+            };
+        }
+    }
+
+    /**
+     * Sumidero final que cuenta los valores.
+     */
+    private static class Contador extends Sumidero
+    {
+        long cantidad;
+
+        Contador( )
+        {
+            super( null );
+        }
+
+        @Override
+        void aceptar( int valor )
+        {
+            cantidad++;
+        }
+    }
+
+    /**
+     * Sumidero final que guarda los valores en un arreglo que crece.
+     */
+    private static class Colector extends Sumidero
+    {
+        int[] valores = new int[16];
+
+        int cantidad;
+
+        Colector( )
+        {
+            super( null );
+        }
+
+        @Override
+        void aceptar( int valor )
+        {
+            if( cantidad == valores.length )
+            {
+                valores = Arrays.copyOf( valores, 2 * valores.length );
+            }
+            valores[ cantidad++ ] = valor;
+        }
+
+        int[] resultado( )
+        {
+            return Arrays.copyOf( valores, cantidad );
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Cuenta las operaciones que SandboxListas hace sobre una de sus listas: inserciones y eliminaciones por posición (separadas según la región de la lista donde
+ * ocurren), lecturas por posición, recorridos completos y cambios de almacenamiento.
+ *
+ * Una posición está al inicio si está en la primera cuarta parte de la lista y al final si está en la última cuarta parte (agregar al final cuenta como una inserción
+ * al final). Las demás están en el medio.
+ *
+ * Las instancias que retorna SandboxListas son copias, así que no cambian cuando después se hacen más operaciones.
+ */
+public class ContadoresOperaciones
+{
+    private long insercionesInicio;
+
+    private long insercionesMedio;
+
+    private long insercionesFinal;
+
+    private long eliminacionesInicio;
+
+    private long eliminacionesMedio;
+
+    private long eliminacionesFinal;
+
+    private long lecturasPosicion;
+
+    private long recorridos;
+
+    private long migraciones;
+
+    /**
+     * Crea los contadores en cero
+     */
+    ContadoresOperaciones( )
+    {
+    }
+
+    /**
+     * Crea una copia de otros contadores
+     * @param otros Los contadores que se copian
+     */
+    ContadoresOperaciones( ContadoresOperaciones otros )
+    {
+        insercionesInicio = otros.insercionesInicio;
+        insercionesMedio = otros.insercionesMedio;
+        insercionesFinal = otros.insercionesFinal;
+        eliminacionesInicio = otros.eliminacionesInicio;
+        eliminacionesMedio = otros.eliminacionesMedio;
+        eliminacionesFinal = otros.eliminacionesFinal;
+        lecturasPosicion = otros.lecturasPosicion;
+        recorridos = otros.recorridos;
+        migraciones = otros.migraciones;
+    }
+
+    /**
+     * Retorna la cantidad de inserciones en la primera cuarta parte de la lista
+     * @return La cantidad de inserciones al inicio
+     */
+    public long getInsercionesInicio( )
+    {
+        return insercionesInicio;
+    }
+
+    /**
+     * Retorna la cantidad de inserciones lejos de los extremos de la lista
+     * @return La cantidad de inserciones en el medio
+     */
+    public long getInsercionesMedio( )
+    {
+        return insercionesMedio;
+    }
+
+    /**
+     * Retorna la cantidad de inserciones en la última cuarta parte de la lista, incluyendo los valores agregados al final
+     * @return La cantidad de inserciones al final
+     */
+    public long getInsercionesFinal( )
+    {
+        return insercionesFinal;
+    }
+
+    /**
+     * Retorna la cantidad de eliminaciones por posición en la primera cuarta parte de la lista
+     * @return La cantidad de eliminaciones al inicio
+     */
+    public long getEliminacionesInicio( )
+    {
+        return eliminacionesInicio;
+    }
+
+    /**
+     * Retorna la cantidad de eliminaciones por posición lejos de los extremos de la lista
+     * @return La cantidad de eliminaciones en el medio
+     */
+    public long getEliminacionesMedio( )
+    {
+        return eliminacionesMedio;
+    }
+
+    /**
+     * Retorna la cantidad de eliminaciones por posición en la última cuarta parte de la lista
+     * @return La cantidad de eliminaciones al final
+     */
+    public long getEliminacionesFinal( )
+    {
+        return eliminacionesFinal;
+    }
+
+    /**
+     * Retorna la cantidad de lecturas de un elemento por su posición
+     * @return La cantidad de lecturas por posición
+     */
+    public long getLecturasPosicion( )
+    {
+        return lecturasPosicion;
+    }
+
+    /**
+     * Retorna la cantidad de operaciones que recorren toda la lista (búsquedas, eliminaciones por valor, conteos, ordenamientos)
+     * @return La cantidad de recorridos
+     */
+    public long getRecorridos( )
+    {
+        return recorridos;
+    }
+
+    /**
+     * Retorna la cantidad de veces que la lista se pasó a otro almacenamiento en el modo adaptativo
+     * @return La cantidad de migraciones
+     */
+    public long getMigraciones( )
+    {
+        return migraciones;
+    }
+
+    /**
+     * Cuenta una inserción
+     * @param posicion La posición donde quedó el nuevo elemento
+     * @param tamano El tamaño de la lista antes de insertar
+     */
+    void contarInsercion( int posicion, int tamano )
+    {
+        switch( region( posicion, tamano ) )
+        {
+            case 0:
+                insercionesInicio++;
+                break;
+            case 1:
+                insercionesMedio++;
+                break;
+            default:
+                insercionesFinal++;
+                break;
+        }
+    }
+
+    /**
+     * Cuenta una eliminación por posición
+     * @param posicion La posición del elemento eliminado
+     * @param tamano El tamaño de la lista antes de eliminar
+     */
+    void contarEliminacion( int posicion, int tamano )
+    {
+        switch( region( posicion, tamano ) )
+        {
+            case 0:
+                eliminacionesInicio++;
+                break;
+            case 1:
+                eliminacionesMedio++;
+                break;
+            default:
+                eliminacionesFinal++;
+                break;
+        }
+    }
+
+    void contarLectura( )
+    {
+        lecturasPosicion++;
+    }
+
+    void contarRecorrido( )
+    {
+        recorridos++;
+    }
+
+    void contarMigracion( )
+    {
+        migraciones++;
+    }
+
+    /**
+     * Calcula la región de una posición
+     * @param posicion La posición
+     * @param tamano El tamaño de la lista
+     * @return 0 si está al inicio, 1 si está en el medio y 2 si está al final
+     */
+    private static int region( int posicion, int tamano )
+    {
+        if( posicion >= tamano - tamano / 4 )
+        {
+            return 2;
+        }
+        return posicion < tamano / 4 ? 0 : 1;
+    }
+}
@@ -0,0 +1,269 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.HashMap;
+
+/**
+ * Representación comprimida por corridas (run-length encoding) de un arreglo de enteros.
+ *
+ * Cada corrida es un valor junto con la cantidad de veces seguidas que aparece. En lugar de las longitudes se guarda la suma acumulada (la posición donde termina cada
+ * corrida), de forma que el acceso por posición se resuelve con una búsqueda binaria sobre las corridas.
+ *
+ * Dos corridas consecutivas nunca tienen el mismo valor.
+ */
+class CorridasEnteros
+{
+    /**
+     * El valor de cada corrida.
+     */
+    private int[] valores;
+
+    /**
+     * La posición (exclusiva) donde termina cada corrida en el arreglo expandido. La longitud de la corrida i es finales[i] - finales[i - 1].
+     */
+    private int[] finales;
+
+    /**
+     * La cantidad de corridas. Las posiciones de valores y finales desde cantidadCorridas en adelante no se usan.
+     */
+    private int cantidadCorridas;
+
+    /**
+     * Construye la representación por corridas de un arreglo de enteros.
+     * @param arreglo El arreglo que se va a comprimir
+     */
+    CorridasEnteros( int[] arreglo )
+    {
+        int corridas = 0;
+        for( int i = 0; i < arreglo.length; i++ )
+        {
+            if( i == 0 || arreglo[ i ] != arreglo[ i - 1 ] )
+            {
+                corridas++;
+            }
+        }
+
+        valores = new int[corridas];
+        finales = new int[corridas];
+        cantidadCorridas = 0;
+        for( int i = 0; i < arreglo.length; i++ )
+        {
+            if( i == 0 || arreglo[ i ] != arreglo[ i - 1 ] )
+            {
+                valores[ cantidadCorridas ] = arreglo[ i ];
+                cantidadCorridas++;
+            }
+            finales[ cantidadCorridas - 1 ] = i + 1;
+        }
+    }
+
+    /**
+     * Retorna la cantidad de enteros en el arreglo expandido
+     * @return La suma de las longitudes de todas las corridas
+     */
+    int tamano( )
+    {
+        return cantidadCorridas == 0 ? 0 : finales[ cantidadCorridas - 1 ];
+    }
+
+    /**
+     * Retorna la cantidad de corridas
+     * @return La cantidad de corridas
+     */
+    int getCantidadCorridas( )
+    {
+        return cantidadCorridas;
+    }
+
+    /**
+     * Retorna el entero que está en una posición del arreglo expandido
+     * @param posicion La posición buscada
+     * @return El valor de la corrida que contiene la posición
+     * @throws IndexOutOfBoundsException Si la posición no existe en el arreglo
+     */
+    int get( int posicion )
+    {
+        if( posicion < 0 || posicion >= tamano( ) )
+        {
+            throw new IndexOutOfBoundsException( "Posición inválida: " + posicion );
+        }
+        int inicio = 0;
+        int fin = cantidadCorridas - 1;
+        while( inicio < fin )
+        {
+            int medio = ( inicio + fin ) >>> 1;
+            if( finales[ medio ] <= posicion )
+            {
+                inicio = medio + 1;
+            }
+            else
+            {
+                fin = medio;
+            }
+        }
+        return valores[ inicio ];
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor, sumando las longitudes de las corridas con ese valor
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    int contar( int valor )
+    {
+        int contador = 0;
+        for( int i = 0; i < cantidadCorridas; i++ )
+        {
+            if( valores[ i ] == valor )
+            {
+                contador += longitud( i );
+            }
+        }
+        return contador;
+    }
+
+    /**
+     * Busca las posiciones del arreglo expandido en las que aparece un valor
+     * @param valor El valor buscado
+     * @return Un arreglo con las posiciones, de menor a mayor
+     */
+    int[] buscar( int valor )
+    {
+        int[] posiciones = new int[contar( valor )];
+        int indice = 0;
+        for( int i = 0; i < cantidadCorridas; i++ )
+        {
+            if( valores[ i ] == valor )
+            {
+                for( int p = inicio( i ); p < finales[ i ]; p++ )
+                {
+                    posiciones[ indice ] = p;
+                    indice++;
+                }
+            }
+        }
+        return posiciones;
+    }
+
+    /**
+     * Calcula el histograma de los valores, con una actualización por corrida
+     * @return Un mapa donde las llaves son los valores y los valores son la cantidad de veces que aparece cada uno
+     */
+    HashMap<Integer, Integer> histograma( )
+    {
+        HashMap<Integer, Integer> histograma = new HashMap<>( );
+        for( int i = 0; i < cantidadCorridas; i++ )
+        {
+            histograma.merge( valores[ i ], longitud( i ), Integer::sum );
+        }
+        return histograma;
+    }
+
+    /**
+     * Elimina todas las corridas con un valor. Las corridas vecinas que quedan juntas con el mismo valor se unen.
+     * @param valor El valor que se va a eliminar
+     * @return True si se eliminó alguna corrida
+     */
+    boolean eliminar( int valor )
+    {
+        int eliminados = 0;
+        int nuevas = 0;
+        int finAnterior = 0;
+        for( int i = 0; i < cantidadCorridas; i++ )
+        {
+            // finales[ i - 1 ] ya pudo haber sido reescrito, así que la longitud se calcula con el fin original guardado aparte
+            int fin = finales[ i ];
+            if( valores[ i ] == valor )
+            {
+                eliminados += fin - finAnterior;
+            }
+            else
+            {
+                nuevas = agregarCorrida( nuevas, valores[ i ], fin - eliminados );
+            }
+            finAnterior = fin;
+        }
+        boolean cambio = eliminados > 0;
+        cantidadCorridas = nuevas;
+        return cambio;
+    }
+
+    /**
+     * Cambia el signo de las corridas con valores negativos. Las corridas vecinas que quedan con el mismo valor se unen.
+     * @return True si alguna corrida cambió
+     */
+    boolean volverPositivos( )
+    {
+        boolean cambio = false;
+        int nuevas = 0;
+        for( int i = 0; i < cantidadCorridas; i++ )
+        {
+            int valor = valores[ i ];
+            if( valor < 0 )
+            {
+                valor = -valor;
+                cambio = true;
+            }
+            nuevas = agregarCorrida( nuevas, valor, finales[ i ] );
+        }
+        cantidadCorridas = nuevas;
+        return cambio;
+    }
+
+    /**
+     * Construye el arreglo expandido
+     * @return Un nuevo arreglo con todos los enteros
+     */
+    int[] expandir( )
+    {
+        int[] arreglo = new int[tamano( )];
+        for( int i = 0; i < cantidadCorridas; i++ )
+        {
+            for( int p = inicio( i ); p < finales[ i ]; p++ )
+            {
+                arreglo[ p ] = valores[ i ];
+            }
+        }
+        return arreglo;
+    }
+
+    /**
+     * Escribe una corrida en la posición 'nuevas' mientras se compactan las corridas. Si la corrida anterior tiene el mismo valor, solo se extiende la anterior.
+     *
+     * Como nunca se escribe más adelante de la corrida que se está leyendo, la compactación se puede hacer sobre los mismos arreglos.
+     * @param nuevas La cantidad de corridas ya escritas
+     * @param valor El valor de la corrida
+     * @param fin La posición donde termina la corrida
+     * @return La cantidad de corridas escritas después de agregar esta
+     */
+    private int agregarCorrida( int nuevas, int valor, int fin )
+    {
+        if( nuevas > 0 && valores[ nuevas - 1 ] == valor )
+        {
+            finales[ nuevas - 1 ] = fin;
+            return nuevas;
+        }
+        valores[ nuevas ] = valor;
+        finales[ nuevas ] = fin;
+        return nuevas + 1;
+    }
+
+    /**
+     * Retorna la posición donde empieza una corrida
+     * @param corrida El índice de la corrida
+     * @return La posición del primer entero de la corrida en el arreglo expandido
+     */
+    private int inicio( int corrida )
+    {
+        return corrida == 0 ? 0 : finales[ corrida - 1 ];
+    }
+
+    /**
+     * Retorna la longitud de una corrida
+     * @param corrida El índice de la corrida
+     * @return La cantidad de enteros en la corrida
+     */
+    private int longitud( int corrida )
+    {
+        return finales[ corrida ] - inicio( corrida );
+    }
+}
@@ -0,0 +1,161 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor para recorrer una lista de enteros como int, sin crear objetos Integer.
+ *
+ * Un mismo cursor se puede reutilizar para muchos recorridos (ver SandboxListas.abrirCursorEnteros), así que un ciclo que recorre la lista muchas veces no crea
+ * objetos en cada recorrido. El cursor avanza por tramos: en un arreglo el tramo es el arreglo completo y en una lista por bloques cada bloque, así que siguiente()
+ * solo lee una posición de un arreglo; en una lista enlazada los valores se copian por tramos a un buffer del cursor, que se crea una sola vez.
+ *
+ * Si la lista se modifica durante el recorrido, el cursor lanza ConcurrentModificationException.
+ */
+public final class CursorEnteros
+{
+    /**
+     * La cantidad de valores del buffer de los tramos que se copian.
+     */
+    static final int TAMANO_BUFFER = 256;
+
+    /**
+     * La lista que se está recorriendo, o null si el cursor no se ha abierto.
+     */
+    private ListaEnteros lista;
+
+    /**
+     * La cantidad de modificaciones de la lista cuando se abrió el cursor.
+     */
+    private int modificaciones;
+
+    /**
+     * El arreglo con los valores del tramo actual.
+     */
+    private int[] tramo;
+
+    /**
+     * La posición en tramo del próximo valor.
+     */
+    private int indice;
+
+    /**
+     * La cantidad de valores del tramo actual.
+     */
+    private int fin;
+
+    /**
+     * Dónde empieza el siguiente tramo. Lo usa la lista, y su significado depende de la estructura (una posición, un bloque, ...). Vale 0 al abrir el cursor.
+     */
+    int siguienteTramo;
+
+    /**
+     * El nodo donde empieza el siguiente tramo, para las listas enlazadas.
+     */
+    Object nodo;
+
+    /**
+     * El buffer al que se copian los tramos, o null si todavía no se ha necesitado.
+     */
+    private int[] buffer;
+
+    /**
+     * Crea un cursor que no recorre ninguna lista
+     */
+    public CursorEnteros( )
+    {
+        fin = 0;
+    }
+
+    /**
+     * Indica si quedan valores por recorrer
+     * @return True si siguiente() retornará un valor
+     * @throws ConcurrentModificationException Si la lista se modificó desde que se abrió el cursor
+     */
+    public boolean haySiguiente( )
+    {
+        if( indice < fin )
+        {
+            return true;
+        }
+        if( lista == null )
+        {
+            return false;
+        }
+        revisarModificaciones( );
+        indice = 0;
+        fin = 0;
+        if( !lista.cargarTramo( this ) )
+        {
+            lista = null;
+            tramo = null;
+            nodo = null;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retorna el siguiente valor de la lista
+     * @return El valor
+     * @throws NoSuchElementException Si ya se recorrieron todos los valores
+     * @throws ConcurrentModificationException Si la lista se modificó desde que se abrió el cursor
+     */
+    public int siguiente( )
+    {
+        if( indice == fin && !haySiguiente( ) )
+        {
+            throw new NoSuchElementException( );
+        }
+        revisarModificaciones( );
+        return tramo[ indice++ ];
+    }
+
+    /**
+     * Prepara el cursor para recorrer una lista desde el principio, olvidando el recorrido anterior
+     * @param lista La lista
+     */
+    void abrir( ListaEnteros lista )
+    {
+        this.lista = lista;
+        modificaciones = lista.modificaciones( );
+        tramo = null;
+        indice = 0;
+        fin = 0;
+        siguienteTramo = 0;
+        nodo = null;
+    }
+
+    /**
+     * Cambia el tramo actual. Lo usa la lista desde cargarTramo.
+     * @param valores El arreglo con los valores
+     * @param cantidad La cantidad de valores del arreglo, desde el principio, que forman el tramo
+     */
+    void usarTramo( int[] valores, int cantidad )
+    {
+        tramo = valores;
+        indice = 0;
+        fin = cantidad;
+    }
+
+    /**
+     * Retorna el buffer al que se copian los tramos, creándolo la primera vez
+     * @return Un arreglo de TAMANO_BUFFER posiciones
+     */
+    int[] buffer( )
+    {
+        if( buffer == null )
+        {
+            buffer = new int[TAMANO_BUFFER];
+        }
+        return buffer;
+    }
+
+    private void revisarModificaciones( )
+    {
+        if( lista != null && lista.modificaciones( ) != modificaciones )
+        {
+            throw new ConcurrentModificationException( );
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Estadísticas de una lista de enteros: cantidad de valores, suma, mínimo, máximo y cantidad de negativos.
+ *
+ * SandboxListas las mantiene actualizadas cada vez que modifica su lista de enteros, así que consultarlas no recorre la lista. La única excepción son el mínimo y el
+ * máximo después de eliminar un valor igual a alguno de ellos: en ese caso se marcan como desactualizados y se recalculan la próxima vez que se consultan.
+ *
+ * Las instancias que retorna SandboxListas.getEstadisticasEnteros son copias, así que no cambian cuando después se modifica la lista.
+ */
+public class EstadisticasEnteros
+{
+    /**
+     * La cantidad de valores.
+     */
+    private int cantidad;
+
+    /**
+     * La suma de los valores. Se usa un long para que no se desborde aunque la suma no quepa en un int.
+     */
+    private long suma;
+
+    /**
+     * El menor valor, si extremosValidos es true y hay valores.
+     */
+    private int minimo;
+
+    /**
+     * El mayor valor, si extremosValidos es true y hay valores.
+     */
+    private int maximo;
+
+    /**
+     * La cantidad de valores negativos.
+     */
+    private int negativos;
+
+    /**
+     * Indica si minimo y maximo corresponden a los valores actuales.
+     */
+    private boolean extremosValidos;
+
+    /**
+     * Crea las estadísticas de una lista vacía
+     */
+    EstadisticasEnteros( )
+    {
+        reiniciar( );
+    }
+
+    /**
+     * Crea una copia de otras estadísticas
+     * @param otras Las estadísticas que se copian
+     */
+    EstadisticasEnteros( EstadisticasEnteros otras )
+    {
+        cantidad = otras.cantidad;
+        suma = otras.suma;
+        minimo = otras.minimo;
+        maximo = otras.maximo;
+        negativos = otras.negativos;
+        extremosValidos = otras.extremosValidos;
+    }
+
+    /**
+     * Retorna la cantidad de valores
+     * @return La cantidad de valores
+     */
+    public int getCantidad( )
+    {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la suma de los valores
+     * @return La suma, o 0 si no hay valores
+     */
+    public long getSuma( )
+    {
+        return suma;
+    }
+
+    /**
+     * Retorna el promedio de los valores
+     * @return El promedio, o NaN si no hay valores
+     */
+    public double getPromedio( )
+    {
+        return cantidad == 0 ? Double.NaN : ( double )suma / cantidad;
+    }
+
+    /**
+     * Retorna el menor de los valores
+     * @return El menor valor
+     * @throws NoSuchElementException Si no hay valores
+     */
+    public int getMinimo( )
+    {
+        revisarNoVacia( );
+        return minimo;
+    }
+
+    /**
+     * Retorna el mayor de los valores
+     * @return El mayor valor
+     * @throws NoSuchElementException Si no hay valores
+     */
+    public int getMaximo( )
+    {
+        revisarNoVacia( );
+        return maximo;
+    }
+
+    /**
+     * Retorna la cantidad de valores negativos
+     * @return La cantidad de negativos
+     */
+    public int getCantidadNegativos( )
+    {
+        return negativos;
+    }
+
+    /**
+     * Indica si hay algún valor negativo
+     * @return True si hay por lo menos un negativo
+     */
+    public boolean hayNegativos( )
+    {
+        return negativos > 0;
+    }
+
+    /**
+     * Cuenta un valor que se agregó a la lista
+     * @param valor El valor agregado
+     */
+    void agregar( int valor )
+    {
+        if( cantidad == 0 )
+        {
+            minimo = valor;
+            maximo = valor;
+            extremosValidos = true;
+        }
+        else if( extremosValidos )
+        {
+            minimo = Math.min( minimo, valor );
+            maximo = Math.max( maximo, valor );
+        }
+        cantidad++;
+        suma += valor;
+        if( valor < 0 )
+        {
+            negativos++;
+        }
+    }
+
+    /**
+     * Descuenta apariciones de un valor que se eliminaron de la lista
+     * @param valor El valor eliminado
+     * @param veces La cantidad de apariciones eliminadas
+     */
+    void eliminar( int valor, int veces )
+    {
+        if( veces <= 0 )
+        {
+            return;
+        }
+        cantidad -= veces;
+        suma -= ( long )valor * veces;
+        if( valor < 0 )
+        {
+            negativos -= veces;
+        }
+        if( cantidad == 0 )
+        {
+            extremosValidos = true;
+        }
+        else if( valor == minimo || valor == maximo )
+        {
+            extremosValidos = false;
+        }
+    }
+
+    /**
+     * Deja las estadísticas como las de una lista vacía
+     */
+    void reiniciar( )
+    {
+        cantidad = 0;
+        suma = 0;
+        negativos = 0;
+        extremosValidos = true;
+    }
+
+    /**
+     * Vuelve a calcular todas las estadísticas recorriendo una lista
+     * @param lista La lista
+     */
+    void recalcular( ListaEnteros lista )
+    {
+        reiniciar( );
+        lista.forEachInt( this::agregar );
+    }
+
+    /**
+     * Vuelve a calcular el mínimo y el máximo recorriendo una lista, si no están actualizados
+     * @param lista La lista, que debe tener los mismos valores que se han contado
+     */
+    void actualizarExtremos( ListaEnteros lista )
+    {
+        if( extremosValidos )
+        {
+            return;
+        }
+        int[] extremos = new int[]{ Integer.MAX_VALUE, Integer.MIN_VALUE };
+        lista.forEachInt( valor -> {
+            extremos[ 0 ] = Math.min( extremos[ 0 ], valor );
+            extremos[ 1 ] = Math.max( extremos[ 1 ], valor );
+        } );
+        minimo = extremos[ 0 ];
+        maximo = extremos[ 1 ];
+        extremosValidos = true;
+    }
+
+    private void revisarNoVacia( )
+    {
+        if( cantidad == 0 )
+        {
+            throw new NoSuchElementException( "No hay valores" );
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+
+/**
+ * La cantidad de veces que aparece cada valor en una serie de enteros (ver ConsultaEnteros.histograma).
+ *
+ * Los valores diferentes se guardan organizados de menor a mayor en un arreglo, y sus frecuencias en otro arreglo paralelo, así que consultar la frecuencia de un
+ * valor es una búsqueda binaria y no se crean objetos Integer.
+ */
+public final class HistogramaEnteros
+{
+    /**
+     * Los valores diferentes, de menor a mayor.
+     */
+    private final int[] valores;
+
+    /**
+     * frecuencias[i] es la cantidad de veces que aparece valores[i].
+     */
+    private final int[] frecuencias;
+
+    private HistogramaEnteros( int[] valores, int[] frecuencias )
+    {
+        this.valores = valores;
+        this.frecuencias = frecuencias;
+    }
+
+    /**
+     * Crea el histograma de una serie de valores.
+     * 
+     * Si los valores están en un rango pequeño comparado con su cantidad, se cuentan directamente en un arreglo indexado por el valor; si no, se organizan y se cuentan
+     * las apariciones seguidas de cada uno.
+     * @param valores Los valores. El arreglo puede quedar modificado.
+     * @return El histograma
+     */
+    static HistogramaEnteros desde( int[] valores )
+    {
+        if( valores.length == 0 )
+        {
+            return new HistogramaEnteros( new int[0], new int[0] );
+        }
+        int minimo = valores[ 0 ];
+        int maximo = valores[ 0 ];
+        for( int valor : valores )
+        {
+            minimo = Math.min( minimo, valor );
+            maximo = Math.max( maximo, valor );
+        }
+        long rango = ( long )maximo - minimo + 1;
+        if( rango > 2L * valores.length + 1024 )
+        {
+            OrdenEnteros.ordenar( valores, 0, valores.length );
+            return desdeOrdenados( valores );
+        }
+        int[] conteos = new int[( int )rango];
+        for( int valor : valores )
+        {
+            conteos[ valor - minimo ]++;
+        }
+        int diferentes = 0;
+        for( int conteo : conteos )
+        {
+            if( conteo > 0 )
+            {
+                diferentes++;
+            }
+        }
+        int[] diferentesValores = new int[diferentes];
+        int[] frecuencias = new int[diferentes];
+        int j = 0;
+        for( int i = 0; i < conteos.length; i++ )
+        {
+            if( conteos[ i ] > 0 )
+            {
+                diferentesValores[ j ] = minimo + i;
+                frecuencias[ j ] = conteos[ i ];
+                j++;
+            }
+        }
+        return new HistogramaEnteros( diferentesValores, frecuencias );
+    }
+
+    /**
+     * Crea el histograma de una serie de valores organizados
+     * @param ordenados Los valores, organizados de menor a mayor
+     * @return El histograma
+     */
+    private static HistogramaEnteros desdeOrdenados( int[] ordenados )
+    {
+        int[] valores = new int[ordenados.length];
+        int[] frecuencias = new int[ordenados.length];
+        int diferentes = 0;
+        for( int i = 0; i < ordenados.length; i++ )
+        {
+            if( diferentes == 0 || valores[ diferentes - 1 ] != ordenados[ i ] )
+            {
+                valores[ diferentes ] = ordenados[ i ];
+                diferentes++;
+            }
+            frecuencias[ diferentes - 1 ]++;
+        }
+        return new HistogramaEnteros( Arrays.copyOf( valores, diferentes ), Arrays.copyOf( frecuencias, diferentes ) );
+    }
+
+    /**
+     * Retorna la cantidad de valores diferentes
+     * @return La cantidad de valores diferentes
+     */
+    public int getCantidadValores( )
+    {
+        return valores.length;
+    }
+
+    /**
+     * Retorna uno de los valores diferentes
+     * @param i La posición del valor, de 0 a getCantidadValores() - 1, en orden de menor a mayor
+     * @return El valor
+     */
+    public int getValor( int i )
+    {
+        return valores[ i ];
+    }
+
+    /**
+     * Retorna la frecuencia de uno de los valores diferentes
+     * @param i La posición del valor, de 0 a getCantidadValores() - 1, en orden de menor a mayor
+     * @return La cantidad de veces que aparece el valor
+     */
+    public int getFrecuencia( int i )
+    {
+        return frecuencias[ i ];
+    }
+
+    /**
+     * Retorna la cantidad de veces que aparece un valor
+     * @param valor El valor
+     * @return La cantidad de veces que aparece, o 0 si no aparece
+     */
+    public int getFrecuenciaDe( int valor )
+    {
+        int i = Arrays.binarySearch( valores, valor );
+        return i >= 0 ? frecuencias[ i ] : 0;
+    }
+}
@@ -0,0 +1,238 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice que cuenta cuántas veces aparece cada cadena de una colección, tanto exactamente como sin diferenciar mayúsculas y minúsculas.
+ *
+ * Para contar sin diferenciar mayúsculas y minúsculas, cada cadena se convierte una sola vez en su forma plegada (ver plegar) y se cuenta en un segundo mapa. La
+ * forma plegada de cada cadena diferente se guarda junto a su cantidad, así que no se vuelve a calcular al eliminar la cadena ni al organizar la lista sin
+ * diferenciar mayúsculas y minúsculas (ver ordenarSinMayusculas).
+ */
+class IndiceCadenas
+{
+    /**
+     * La cantidad de apariciones de una cadena y su forma plegada.
+     */
+    private static class Entrada
+    {
+        final String plegada;
+
+        int cantidad;
+
+        Entrada( String plegada )
+        {
+            this.plegada = plegada;
+        }
+    }
+
+    /**
+     * Una cadena con su forma plegada, para organizar comparando solo las formas plegadas.
+     */
+    private static class CadenaConClave
+    {
+        final String cadena;
+
+        final String clave;
+
+        CadenaConClave( String cadena, String clave )
+        {
+            this.cadena = cadena;
+            this.clave = clave;
+        }
+    }
+
+
+    /**
+     * La cantidad de veces que aparece cada cadena, comparando exactamente, con su forma plegada.
+     */
+    private Map<String, Entrada> exactas;
+
+    /**
+     * La cantidad de veces que aparece cada forma plegada.
+     */
+    private Map<String, Integer> plegadas;
+
+    /**
+     * Crea un índice vacío
+     */
+    IndiceCadenas( )
+    {
+        exactas = new HashMap<String, Entrada>( );
+        plegadas = new HashMap<String, Integer>( );
+    }
+
+    /**
+     * Crea un índice con las cadenas de una colección
+     * @param cadenas Las cadenas que se van a contar
+     */
+    IndiceCadenas( Iterable<String> cadenas )
+    {
+        this( );
+        for( String cadena : cadenas )
+        {
+            agregar( cadena );
+        }
+    }
+
+    /**
+     * Cuenta una aparición más de una cadena
+     * @param cadena La cadena
+     */
+    void agregar( String cadena )
+    {
+        Entrada entrada = exactas.get( cadena );
+        if( entrada == null )
+        {
+            entrada = new Entrada( plegar( cadena ) );
+            exactas.put( cadena, entrada );
+        }
+        entrada.cantidad++;
+        plegadas.merge( entrada.plegada, 1, Integer::sum );
+    }
+
+    /**
+     * Descuenta apariciones de una cadena
+     * @param cadena La cadena
+     * @param veces La cantidad de apariciones que se eliminaron
+     */
+    void eliminar( String cadena, int veces )
+    {
+        Entrada entrada = exactas.get( cadena );
+        if( veces <= 0 || entrada == null )
+        {
+            return;
+        }
+        if( entrada.cantidad <= veces )
+        {
+            exactas.remove( cadena );
+        }
+        else
+        {
+            entrada.cantidad -= veces;
+        }
+        descontar( plegadas, entrada.plegada, veces );
+    }
+
+    /**
+     * Retorna cuántas veces aparece una cadena exactamente
+     * @param cadena La cadena buscada
+     * @return La cantidad de apariciones
+     */
+    int contarExactas( String cadena )
+    {
+        Entrada entrada = exactas.get( cadena );
+        return entrada == null ? 0 : entrada.cantidad;
+    }
+
+    /**
+     * Retorna cuántas veces aparece una cadena sin diferenciar mayúsculas y minúsculas
+     * @param cadena La cadena buscada
+     * @return La cantidad de apariciones
+     */
+    int contarIgnorandoMayusculas( String cadena )
+    {
+        Integer cantidad = plegadas.get( plegar( cadena ) );
+        return cantidad == null ? 0 : cantidad;
+    }
+
+    /**
+     * Retorna la forma plegada de una cadena, sin calcularla si la cadena está en el índice
+     * @param cadena La cadena
+     * @return La forma plegada de la cadena
+     */
+    String clave( String cadena )
+    {
+        Entrada entrada = exactas.get( cadena );
+        return entrada == null ? plegar( cadena ) : entrada.plegada;
+    }
+
+    /**
+     * Organiza un arreglo de cadenas sin diferenciar mayúsculas y minúsculas, en el mismo orden que String.CASE_INSENSITIVE_ORDER (las cadenas null van primero).
+     *
+     * La forma plegada de cada cadena se obtiene una sola vez, del índice si hay uno o con plegar si no, y el ordenamiento solo compara formas plegadas con
+     * compareTo, en lugar de volver a plegar las dos cadenas en cada comparación. Como la forma plegada es la que usa CASE_INSENSITIVE_ORDER carácter por carácter,
+     * el orden es el mismo. El ordenamiento es estable.
+     * @param cadenas Las cadenas. El arreglo queda organizado.
+     * @param indice El índice de donde se toman las formas plegadas, o null para calcularlas
+     */
+    static void ordenarSinMayusculas( String[] cadenas, IndiceCadenas indice )
+    {
+        CadenaConClave[] conClaves = new CadenaConClave[cadenas.length];
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            String clave = indice != null ? indice.clave( cadenas[ i ] ) : plegar( cadenas[ i ] );
+            conClaves[ i ] = new CadenaConClave( cadenas[ i ], clave );
+        }
+        Arrays.sort( conClaves, IndiceCadenas::compararClaves );
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            cadenas[ i ] = conClaves[ i ].cadena;
+        }
+    }
+
+    /**
+     * Compara dos cadenas por su forma plegada, con las cadenas null primero
+     * @param a La primera cadena
+     * @param b La segunda cadena
+     * @return Un número negativo, cero o positivo si la primera va antes, en el mismo lugar o después de la segunda
+     */
+    private static int compararClaves( CadenaConClave a, CadenaConClave b )
+    {
+        if( a.clave == null || b.clave == null )
+        {
+            return a.clave == null ? ( b.clave == null ? 0 : -1 ) : 1;
+        }
+        return a.clave.compareTo( b.clave );
+    }
+
+    /**
+     * Convierte una cadena a una forma en la que dos cadenas son iguales si y solo si equalsIgnoreCase las considera iguales.
+     *
+     * Cada carácter se pasa a mayúscula y luego a minúscula, que es la misma comparación que hace equalsIgnoreCase carácter por carácter. No se usa toLowerCase sobre
+     * toda la cadena porque depende del Locale y puede cambiar la longitud.
+     * @param cadena La cadena
+     * @return La forma plegada de la cadena, o null si la cadena es null
+     */
+    static String plegar( String cadena )
+    {
+        if( cadena == null )
+        {
+            return null;
+        }
+        char[] caracteres = null;
+        for( int i = 0; i < cadena.length( ); i++ )
+        {
+            char c = cadena.charAt( i );
+            char plegado = Character.toLowerCase( Character.toUpperCase( c ) );
+            if( plegado != c && caracteres == null )
+            {
+                caracteres = cadena.toCharArray( );
+            }
+            if( caracteres != null )
+            {
+                caracteres[ i ] = plegado;
+            }
+        }
+        return caracteres == null ? cadena : new String( caracteres );
+    }
+
+    private static void descontar( Map<String, Integer> mapa, String llave, int veces )
+    {
+        Integer cantidad = mapa.get( llave );
+        if( cantidad == null )
+        {
+            return;
+        }
+        if( cantidad <= veces )
+        {
+            mapa.remove( llave );
+        }
+        else
+        {
+            mapa.put( llave, cantidad - veces );
+        }
+    }
+}
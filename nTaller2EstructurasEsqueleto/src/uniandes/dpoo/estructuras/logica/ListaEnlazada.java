@@ -0,0 +1,479 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lista de objetos guardados en nodos doblemente enlazados.
+ *
+ * Funciona como LinkedList, pero organiza la lista directamente sobre los nodos (ver sort) en lugar de copiar los elementos a un arreglo y volver a escribirlos.
+ * @param <E> El tipo de los elementos
+ */
+public class ListaEnlazada<E> extends AbstractSequentialList<E>
+{
+    /**
+     * Un nodo de la lista.
+     */
+    private static class Nodo<E>
+    {
+        E valor;
+
+        Nodo<E> anterior;
+
+        Nodo<E> siguiente;
+
+        Nodo( E valor )
+        {
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * El primer nodo de la lista, o null si está vacía.
+     */
+    private Nodo<E> primero;
+
+    /**
+     * El último nodo de la lista, o null si está vacía.
+     */
+    private Nodo<E> ultimo;
+
+    /**
+     * La cantidad de elementos en la lista.
+     */
+    private int tamano;
+
+    /**
+     * Crea una lista vacía
+     */
+    public ListaEnlazada( )
+    {
+        tamano = 0;
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamano;
+    }
+
+    @Override
+    public boolean add( E valor )
+    {
+        enlazarAntes( valor, null );
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        primero = null;
+        ultimo = null;
+        tamano = 0;
+        modCount++;
+    }
+
+    @Override
+    public ListIterator<E> listIterator( int indice )
+    {
+        if( indice < 0 || indice > tamano )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + tamano );
+        }
+        return new Iterador( indice );
+    }
+
+    /**
+     * Organiza la lista con un merge sort natural sobre los nodos.
+     *
+     * La lista se recorre una vez separándola en corridas que ya están en orden, y las corridas se mezclan cambiando solo los enlaces entre nodos. Como en TimSort,
+     * las corridas se guardan en una pila y se mezclan primero las de longitud parecida, así que una lista casi organizada (por ejemplo, una parte organizada con
+     * unos pocos elementos agregados al final) se organiza con unos pocos recorridos, y una lista que ya está organizada con uno solo. El ordenamiento es estable.
+     *
+     * Si el comparador lanza una excepción, la lista queda en el orden que tenía antes de organizarla.
+     * @param comparador El comparador, o null para usar el orden natural de los elementos
+     */
+    @Override
+    public void sort( Comparator<? super E> comparador )
+    {
+        Comparator<? super E> orden = comparador != null ? comparador : ListaEnlazada::compararNatural;
+        if( tamano > 1 )
+        {
+            Corrida<E> resultado;
+            try
+            {
+                resultado = ordenarCorridas( orden );
+            }
+            catch( Throwable e )
+            {
+                // Mientras se ordena solo cambian los enlaces siguiente; los enlaces anterior conservan el orden original y con ellos se rehace la lista
+                ultimo.siguiente = null;
+                for( Nodo<E> actual = ultimo; actual.anterior != null; actual = actual.anterior )
+                {
+                    actual.anterior.siguiente = actual;
+                }
+                throw e;
+            }
+            primero = resultado.inicio;
+            ultimo = resultado.fin;
+            Nodo<E> anterior = null;
+            for( Nodo<E> actual = primero; actual != null; actual = actual.siguiente )
+            {
+                actual.anterior = anterior;
+                anterior = actual;
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * Separa la lista en corridas y las mezcla cambiando solo los enlaces siguiente de los nodos
+     * @param orden El comparador
+     * @return La corrida con todos los nodos, ya organizados
+     */
+    private Corrida<E> ordenarCorridas( Comparator<? super E> orden )
+    {
+        List<Corrida<E>> pila = new ArrayList<Corrida<E>>( );
+        Nodo<E> resto = primero;
+        while( resto != null )
+        {
+            Corrida<E> corrida = new Corrida<E>( resto );
+            while( corrida.fin.siguiente != null && orden.compare( corrida.fin.valor, corrida.fin.siguiente.valor ) <= 0 )
+            {
+                corrida.fin = corrida.fin.siguiente;
+                corrida.longitud++;
+            }
+            resto = corrida.fin.siguiente;
+            corrida.fin.siguiente = null;
+            pila.add( corrida );
+            colapsar( pila, orden, false );
+        }
+        colapsar( pila, orden, true );
+        return pila.get( 0 );
+    }
+
+    /**
+     * Una corrida de nodos en orden, terminada en null.
+     */
+    private static class Corrida<E>
+    {
+        Nodo<E> inicio;
+
+        Nodo<E> fin;
+
+        int longitud;
+
+        Corrida( Nodo<E> inicio )
+        {
+            this.inicio = inicio;
+            this.fin = inicio;
+            this.longitud = 1;
+        }
+    }
+
+    /**
+     * Mezcla corridas del tope de la pila. Mientras se recorre la lista solo se mezclan las que rompen las reglas de TimSort (cada corrida debe ser más larga que la
+     * suma de las dos que tiene encima), para que las longitudes de la pila crezcan hacia abajo; al final se mezclan todas.
+     * @param pila La pila de corridas
+     * @param orden El comparador
+     * @param todas True para mezclar hasta que quede una sola corrida
+     */
+    private static <E> void colapsar( List<Corrida<E>> pila, Comparator<? super E> orden, boolean todas )
+    {
+        while( pila.size( ) > 1 )
+        {
+            int i = pila.size( ) - 2;
+            if( todas )
+            {
+                if( i > 0 && pila.get( i - 1 ).longitud < pila.get( i + 1 ).longitud )
+                {
+                    i--;
+                }
+            }
+            else if( ( i > 0 && pila.get( i - 1 ).longitud <= pila.get( i ).longitud + pila.get( i + 1 ).longitud )
+                    || ( i > 1 && pila.get( i - 2 ).longitud <= pila.get( i - 1 ).longitud + pila.get( i ).longitud ) )
+            {
+                if( pila.get( i - 1 ).longitud < pila.get( i + 1 ).longitud )
+                {
+                    i--;
+                }
+            }
+            else if( pila.get( i ).longitud > pila.get( i + 1 ).longitud )
+            {
+                break;
+            }
+            mezclar( pila.get( i ), pila.remove( i + 1 ), orden );
+        }
+    }
+
+    /**
+     * Mezcla dos corridas consecutivas, dejando el resultado en la primera. Ante elementos iguales va primero el de la primera corrida, así que la mezcla es estable.
+     * @param a La primera corrida
+     * @param b La corrida que sigue a la primera
+     * @param orden El comparador
+     */
+    private static <E> void mezclar( Corrida<E> a, Corrida<E> b, Comparator<? super E> orden )
+    {
+        // Si la última de a no es mayor que la primera de b, basta con unirlas
+        if( orden.compare( a.fin.valor, b.inicio.valor ) <= 0 )
+        {
+            a.fin.siguiente = b.inicio;
+            a.fin = b.fin;
+            a.longitud += b.longitud;
+            return;
+        }
+        Nodo<E> centinela = new Nodo<E>( null );
+        Nodo<E> cola = centinela;
+        Nodo<E> x = a.inicio;
+        Nodo<E> y = b.inicio;
+        while( x != null && y != null )
+        {
+            if( orden.compare( x.valor, y.valor ) <= 0 )
+            {
+                cola.siguiente = x;
+                x = x.siguiente;
+            }
+            else
+            {
+                cola.siguiente = y;
+                y = y.siguiente;
+            }
+            cola = cola.siguiente;
+        }
+        if( x != null )
+        {
+            cola.siguiente = x;
+        }
+        else
+        {
+            cola.siguiente = y;
+            a.fin = b.fin;
+        }
+        a.inicio = centinela.siguiente;
+        a.longitud += b.longitud;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> int compararNatural( E a, E b )
+    {
+        return ( ( Comparable<? super E> )a ).compareTo( b );
+    }
+
+    /**
+     * Busca el nodo de una posición, recorriendo desde el extremo más cercano
+     * @param indice La posición, que debe existir
+     * @return El nodo
+     */
+    private Nodo<E> nodo( int indice )
+    {
+        if( indice < ( tamano >> 1 ) )
+        {
+            Nodo<E> actual = primero;
+            for( int i = 0; i < indice; i++ )
+            {
+                actual = actual.siguiente;
+            }
+            return actual;
+        }
+        Nodo<E> actual = ultimo;
+        for( int i = tamano - 1; i > indice; i-- )
+        {
+            actual = actual.anterior;
+        }
+        return actual;
+    }
+
+    /**
+     * Crea un nodo con un valor y lo enlaza antes de otro nodo
+     * @param valor El valor del nuevo nodo
+     * @param sucesor El nodo antes del cual se enlaza, o null para enlazarlo al final
+     */
+    private void enlazarAntes( E valor, Nodo<E> sucesor )
+    {
+        Nodo<E> nuevo = new Nodo<E>( valor );
+        Nodo<E> predecesor = sucesor == null ? ultimo : sucesor.anterior;
+        nuevo.anterior = predecesor;
+        nuevo.siguiente = sucesor;
+        if( predecesor == null )
+        {
+            primero = nuevo;
+        }
+        else
+        {
+            predecesor.siguiente = nuevo;
+        }
+        if( sucesor == null )
+        {
+            ultimo = nuevo;
+        }
+        else
+        {
+            sucesor.anterior = nuevo;
+        }
+        tamano++;
+        modCount++;
+    }
+
+    /**
+     * Quita un nodo de la lista
+     * @param nodo El nodo que se va a quitar
+     */
+    private void desenlazar( Nodo<E> nodo )
+    {
+        if( nodo.anterior == null )
+        {
+            primero = nodo.siguiente;
+        }
+        else
+        {
+            nodo.anterior.siguiente = nodo.siguiente;
+        }
+        if( nodo.siguiente == null )
+        {
+            ultimo = nodo.anterior;
+        }
+        else
+        {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        tamano--;
+        modCount++;
+    }
+
+    /**
+     * Iterador que avanza por los nodos sin volver a buscar cada posición.
+     */
+    private class Iterador implements ListIterator<E>
+    {
+        /**
+         * El nodo que retornará next(), o null si el iterador está al final.
+         */
+        private Nodo<E> siguiente;
+
+        /**
+         * La posición de siguiente.
+         */
+        private int indiceSiguiente;
+
+        /**
+         * El último nodo retornado por next() o previous(), o null si no hay ninguno o se eliminó.
+         */
+        private Nodo<E> ultimoRetornado;
+
+        private int modificacionesEsperadas;
+
+        Iterador( int indice )
+        {
+            siguiente = indice == tamano ? null : nodo( indice );
+            indiceSiguiente = indice;
+            modificacionesEsperadas = modCount;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return indiceSiguiente < tamano;
+        }
+
+        @Override
+        public E next( )
+        {
+            revisarModificaciones( );
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            ultimoRetornado = siguiente;
+            siguiente = siguiente.siguiente;
+            indiceSiguiente++;
+            return ultimoRetornado.valor;
+        }
+
+        @Override
+        public boolean hasPrevious( )
+        {
+            return indiceSiguiente > 0;
+        }
+
+        @Override
+        public E previous( )
+        {
+            revisarModificaciones( );
+            if( !hasPrevious( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            siguiente = siguiente == null ? ultimo : siguiente.anterior;
+            ultimoRetornado = siguiente;
+            indiceSiguiente--;
+            return ultimoRetornado.valor;
+        }
+
+        @Override
+        public int nextIndex( )
+        {
+            return indiceSiguiente;
+        }
+
+        @Override
+        public int previousIndex( )
+        {
+            return indiceSiguiente - 1;
+        }
+
+        @Override
+        public void remove( )
+        {
+            revisarModificaciones( );
+            if( ultimoRetornado == null )
+            {
+                throw new IllegalStateException( );
+            }
+            if( ultimoRetornado == siguiente )
+            {
+                siguiente = siguiente.siguiente;
+            }
+            else
+            {
+                indiceSiguiente--;
+            }
+            desenlazar( ultimoRetornado );
+            ultimoRetornado = null;
+            modificacionesEsperadas = modCount;
+        }
+
+        @Override
+        public void set( E valor )
+        {
+            revisarModificaciones( );
+            if( ultimoRetornado == null )
+            {
+                throw new IllegalStateException( );
+            }
+            ultimoRetornado.valor = valor;
+        }
+
+        @Override
+        public void add( E valor )
+        {
+            revisarModificaciones( );
+            enlazarAntes( valor, siguiente );
+            indiceSiguiente++;
+            ultimoRetornado = null;
+            modificacionesEsperadas = modCount;
+        }
+
+        private void revisarModificaciones( )
+        {
+            if( modCount != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lista de enteros que guarda los valores como int.
+ *
+ * Implementa List&lt;Integer&gt; para poder usarse donde se espera una lista, pero también ofrece operaciones con int (getInt, setInt, addInt, ...) que no crean objetos
+ * Integer. Las subclases definen cómo se guardan los valores: en un arreglo (ListaEnterosArreglo), en nodos enlazados (ListaEnterosEnlazada), en bloques
+ * (ListaEnterosPorBloques) o en un vector persistente (ListaEnterosPersistente).
+ *
+ * Las operaciones que recorren toda la lista (forEachInt, replaceAllInt, removeAllInt, ...) las implementa cada subclase de la forma más eficiente para su estructura;
+ * es preferible usarlas en lugar de recorrer la lista con getInt, que en algunas estructuras no es de tiempo constante.
+ */
+public abstract class ListaEnteros extends AbstractList<Integer>
+{
+    /**
+     * Retorna el entero en una posición de la lista
+     * @param indice La posición
+     * @return El entero en la posición
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    public abstract int getInt( int indice );
+
+    /**
+     * Cambia el entero en una posición de la lista
+     * @param indice La posición
+     * @param valor El nuevo valor
+     * @return El valor que había antes en la posición
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    public abstract int setInt( int indice, int valor );
+
+    /**
+     * Inserta un entero en una posición de la lista, corriendo una posición los elementos que estaban desde ahí
+     * @param indice La posición donde debe quedar el valor, entre 0 y size()
+     * @param valor El valor que se va a insertar
+     * @throws IndexOutOfBoundsException Si la posición no está entre 0 y size()
+     */
+    public abstract void addInt( int indice, int valor );
+
+    /**
+     * Elimina el entero en una posición de la lista
+     * @param indice La posición
+     * @return El valor eliminado
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    public abstract int removeInt( int indice );
+
+    /**
+     * Elimina en una sola pasada todos los elementos que cumplen una condición. La condición se evalúa exactamente una vez por elemento, en orden.
+     * @param condicion La condición que cumplen los elementos que se van a eliminar
+     * @return La cantidad de elementos eliminados
+     */
+    public abstract int removeIfInt( IntPredicate condicion );
+
+    /**
+     * Elimina todas las apariciones de un valor en una sola pasada
+     * @param valor El valor que se va a eliminar
+     * @return La cantidad de elementos eliminados
+     */
+    public int removeAllInt( int valor )
+    {
+        return removeIfInt( v -> v == valor );
+    }
+
+    /**
+     * Ejecuta una acción sobre cada entero de la lista, en orden
+     * @param accion La acción que recibe cada entero
+     */
+    public abstract void forEachInt( IntConsumer accion );
+
+    /**
+     * Reemplaza cada entero de la lista por el resultado de aplicarle una función
+     * @param funcion La función que calcula el nuevo valor a partir del anterior
+     */
+    public abstract void replaceAllInt( IntUnaryOperator funcion );
+
+    /**
+     * Agrega un entero al final de la lista
+     * @param valor El valor que se va a agregar
+     */
+    public void addInt( int valor )
+    {
+        addInt( size( ), valor );
+    }
+
+    /**
+     * Agrega al final de la lista, en orden, los valores de una parte de un arreglo
+     * @param valores El arreglo
+     * @param desde La primera posición del arreglo que se agrega
+     * @param hasta La posición siguiente a la última que se agrega
+     */
+    public void addAllInt( int[] valores, int desde, int hasta )
+    {
+        ensureCapacity( size( ) + hasta - desde );
+        for( int i = desde; i < hasta; i++ )
+        {
+            addInt( valores[ i ] );
+        }
+    }
+
+    /**
+     * Inserta en una posición de la lista, en orden, los valores de una parte de un arreglo. Los elementos que estaban desde esa posición quedan después de los
+     * nuevos.
+     * @param indice La posición de la lista donde queda el primer valor insertado
+     * @param valores El arreglo
+     * @param desde La primera posición del arreglo que se inserta
+     * @param hasta La posición siguiente a la última que se inserta
+     * @throws IndexOutOfBoundsException Si la posición no está entre 0 y el tamaño de la lista
+     */
+    public void addAllInt( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarIndiceInsercion( indice );
+        ensureCapacity( size( ) + hasta - desde );
+        for( int i = desde; i < hasta; i++ )
+        {
+            addInt( indice + i - desde, valores[ i ] );
+        }
+    }
+
+    /**
+     * Copia en un arreglo los elementos de un rango de la lista
+     * @param desde La primera posición del rango
+     * @param hasta La posición siguiente a la última del rango
+     * @param destino El arreglo donde se copian los elementos
+     * @param posicion La posición del arreglo donde se copia el primer elemento
+     * @throws IndexOutOfBoundsException Si el rango no está dentro de la lista o no cabe en el arreglo
+     */
+    public void getInts( int desde, int hasta, int[] destino, int posicion )
+    {
+        revisarRango( desde, hasta );
+        revisarDestino( destino, posicion, hasta - desde );
+        for( int i = desde; i < hasta; i++ )
+        {
+            destino[ posicion + i - desde ] = getInt( i );
+        }
+    }
+
+    /**
+     * Reemplaza los elementos de la lista desde una posición por los valores de una parte de un arreglo
+     * @param indice La posición de la lista del primer elemento que se reemplaza
+     * @param valores El arreglo
+     * @param desde La primera posición del arreglo que se copia
+     * @param hasta La posición siguiente a la última que se copia
+     * @throws IndexOutOfBoundsException Si los valores no caben en la lista a partir de la posición
+     */
+    public void setInts( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarRango( indice, indice + hasta - desde );
+        for( int i = desde; i < hasta; i++ )
+        {
+            setInt( indice + i - desde, valores[ i ] );
+        }
+    }
+
+    /**
+     * Elimina los elementos de un rango de la lista
+     * @param desde La primera posición del rango
+     * @param hasta La posición siguiente a la última del rango
+     * @throws IndexOutOfBoundsException Si el rango no está dentro de la lista
+     */
+    public void removeRangeInt( int desde, int hasta )
+    {
+        revisarRango( desde, hasta );
+        if( desde < hasta )
+        {
+            removeRange( desde, hasta );
+        }
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor en la lista
+     * @param valor El valor buscado
+     * @return La cantidad de apariciones
+     */
+    public int countInt( int valor )
+    {
+        int[] contador = new int[1];
+        forEachInt( v -> {
+            if( v == valor )
+            {
+                contador[ 0 ]++;
+            }
+        } );
+        return contador[ 0 ];
+    }
+
+    /**
+     * Retorna un arreglo nuevo con los elementos de la lista
+     * @return Un arreglo del mismo tamaño de la lista
+     */
+    public int[] toIntArray( )
+    {
+        int[] arreglo = new int[size( )];
+        toIntArray( arreglo, 0 );
+        return arreglo;
+    }
+
+    /**
+     * Copia los elementos de la lista en un arreglo que ya existe, en orden, a partir de una posición del arreglo
+     * @param destino El arreglo donde se copian los elementos
+     * @param desde La posición del arreglo donde se copia el primer elemento
+     * @throws IndexOutOfBoundsException Si desde es negativo o los elementos no caben en el arreglo a partir de desde
+     */
+    public void toIntArray( int[] destino, int desde )
+    {
+        revisarDestino( destino, desde, size( ) );
+        int[] indice = new int[]{ desde };
+        forEachInt( v -> destino[ indice[ 0 ]++ ] = v );
+    }
+
+    /**
+     * Busca la primera posición en la que esta lista y un arreglo tienen valores diferentes
+     * @param otro El arreglo con el que se compara
+     * @return La primera posición con valores diferentes; si uno es prefijo del otro, el tamaño del más corto; si son iguales, -1
+     */
+    public int mismatch( int[] otro )
+    {
+        return mismatch( otro, otro.length );
+    }
+
+    /**
+     * Busca la primera posición en la que esta lista y otra tienen valores diferentes. Si la otra es un arreglo, ella compara sus datos con esta lista; si no, las dos
+     * se recorren a la vez con cursores. En ningún caso se copian las listas.
+     * @param otra La lista con la que se compara
+     * @return La primera posición con valores diferentes; si una es prefijo de la otra, el tamaño de la más corta; si son iguales, -1
+     */
+    public int mismatch( ListaEnteros otra )
+    {
+        if( otra instanceof ListaEnterosArreglo )
+        {
+            return otra.mismatch( this );
+        }
+        CursorEnteros propio = new CursorEnteros( );
+        CursorEnteros ajeno = new CursorEnteros( );
+        propio.abrir( this );
+        ajeno.abrir( otra );
+        int i = 0;
+        while( propio.haySiguiente( ) && ajeno.haySiguiente( ) )
+        {
+            if( propio.siguiente( ) != ajeno.siguiente( ) )
+            {
+                return i;
+            }
+            i++;
+        }
+        return size( ) == otra.size( ) ? -1 : i;
+    }
+
+    /**
+     * Busca la primera posición en la que esta lista y las primeras posiciones de un arreglo tienen valores diferentes. Recorre la lista con un cursor y se detiene en
+     * la primera diferencia; las subclases lo reemplazan para recorrer directamente su estructura.
+     * @param otro El arreglo con el que se compara
+     * @param tamanoOtro La cantidad de posiciones del arreglo que se comparan
+     * @return La primera posición con valores diferentes; si uno es prefijo del otro, el tamaño del más corto; si son iguales, -1
+     */
+    int mismatch( int[] otro, int tamanoOtro )
+    {
+        int comun = Math.min( size( ), tamanoOtro );
+        CursorEnteros cursor = new CursorEnteros( );
+        cursor.abrir( this );
+        for( int i = 0; i < comun; i++ )
+        {
+            if( cursor.siguiente( ) != otro[ i ] )
+            {
+                return i;
+            }
+        }
+        return size( ) == tamanoOtro ? -1 : comun;
+    }
+
+    /**
+     * Organiza la lista de menor a mayor comparando los int directamente, sin comparadores ni objetos Integer (ver OrdenEnteros)
+     */
+    public void sortInt( )
+    {
+        int[] valores = toIntArray( );
+        OrdenEnteros.ordenar( valores, 0, valores.length );
+        escribir( valores );
+    }
+
+    /**
+     * Organiza la lista de mayor a menor comparando los int directamente: la organiza de menor a mayor y luego la invierte
+     */
+    public void sortIntDescending( )
+    {
+        int[] valores = toIntArray( );
+        OrdenEnteros.ordenarDescendente( valores, 0, valores.length );
+        escribir( valores );
+    }
+
+    /**
+     * Organiza de mayor a menor los elementos de un rango de la lista, sin mover los demás
+     * @param desde La primera posición del rango
+     * @param hasta La posición siguiente a la última del rango
+     * @throws IndexOutOfBoundsException Si el rango no está dentro de la lista
+     */
+    public void sortIntDescending( int desde, int hasta )
+    {
+        revisarRango( desde, hasta );
+        int[] valores = new int[hasta - desde];
+        getInts( desde, hasta, valores, 0 );
+        OrdenEnteros.ordenarDescendente( valores, 0, valores.length );
+        setInts( desde, valores, 0, valores.length );
+        modCount++;
+    }
+
+    /**
+     * Reemplaza los elementos de la lista, en orden, por los de un arreglo del mismo tamaño
+     * @param valores Los nuevos valores
+     */
+    private void escribir( int[] valores )
+    {
+        int[] indice = new int[1];
+        replaceAllInt( v -> valores[ indice[ 0 ]++ ] );
+        modCount++;
+    }
+
+    /**
+     * Reemplaza todo el contenido de la lista por los valores de un arreglo, en el mismo orden.
+     * 
+     * La lista puede quedarse con el arreglo en lugar de copiarlo, así que quien llama no debe volver a modificarlo.
+     * @param valores Los nuevos valores de la lista
+     */
+    void cargar( int[] valores )
+    {
+        clear( );
+        ensureCapacity( valores.length );
+        for( int i = 0; i < valores.length; i++ )
+        {
+            addInt( valores[ i ] );
+        }
+    }
+
+    /**
+     * Carga en un cursor el siguiente tramo de elementos de la lista (ver CursorEnteros). Cada subclase decide qué es un tramo según su estructura; esta
+     * implementación copia los elementos con getInt al buffer del cursor, así que solo conviene si getInt es de tiempo constante.
+     * @param cursor El cursor, abierto sobre esta lista
+     * @return True si se cargó un tramo con al menos un elemento, o false si ya no quedan elementos
+     */
+    boolean cargarTramo( CursorEnteros cursor )
+    {
+        int desde = cursor.siguienteTramo;
+        int cantidad = Math.min( size( ) - desde, CursorEnteros.TAMANO_BUFFER );
+        if( cantidad <= 0 )
+        {
+            return false;
+        }
+        int[] buffer = cursor.buffer( );
+        for( int i = 0; i < cantidad; i++ )
+        {
+            buffer[ i ] = getInt( desde + i );
+        }
+        cursor.usarTramo( buffer, cantidad );
+        cursor.siguienteTramo = desde + cantidad;
+        return true;
+    }
+
+    /**
+     * Retorna la cantidad de modificaciones estructurales de la lista, para que los cursores detecten si la lista cambió
+     * @return El valor de modCount
+     */
+    final int modificaciones( )
+    {
+        return modCount;
+    }
+
+    /**
+     * Se asegura de que quepan por lo menos una cantidad de elementos sin tener que crecer. Las estructuras que no reservan espacio por adelantado no hacen nada.
+     * @param capacidad La cantidad mínima de elementos que deben caber
+     */
+    public void ensureCapacity( int capacidad )
+    {
+    }
+
+    @Override
+    public Integer get( int indice )
+    {
+        return getInt( indice );
+    }
+
+    @Override
+    public Integer set( int indice, Integer valor )
+    {
+        return setInt( indice, valor );
+    }
+
+    @Override
+    public void add( int indice, Integer valor )
+    {
+        addInt( indice, valor );
+    }
+
+    @Override
+    public boolean add( Integer valor )
+    {
+        addInt( valor );
+        return true;
+    }
+
+    @Override
+    public Integer remove( int indice )
+    {
+        return removeInt( indice );
+    }
+
+    /**
+     * Organiza la lista pasando los valores a un arreglo, organizándolo y escribiéndolos de vuelta en una sola pasada.
+     */
+    @Override
+    public void sort( Comparator<? super Integer> comparador )
+    {
+        Integer[] valores = new Integer[size( )];
+        int[] indice = new int[1];
+        forEachInt( v -> valores[ indice[ 0 ]++ ] = v );
+        Arrays.sort( valores, comparador );
+        indice[ 0 ] = 0;
+        replaceAllInt( v -> valores[ indice[ 0 ]++ ] );
+        modCount++;
+    }
+
+    @Override
+    public boolean equals( Object otro )
+    {
+        if( otro instanceof ListaEnteros )
+        {
+            ListaEnteros otra = ( ListaEnteros )otro;
+            return size( ) == otra.size( ) && mismatch( otra ) == -1;
+        }
+        return super.equals( otro );
+    }
+
+    @Override
+    public int hashCode( )
+    {
+        int[] hash = new int[]{ 1 };
+        forEachInt( v -> hash[ 0 ] = 31 * hash[ 0 ] + v );
+        return hash[ 0 ];
+    }
+
+    /**
+     * Compara dos arreglos de int directamente, sin pasar por la interfaz List
+     * @param a El primer arreglo
+     * @param tamanoA La cantidad de posiciones de a que se comparan
+     * @param b El segundo arreglo
+     * @param tamanoB La cantidad de posiciones de b que se comparan
+     * @return La primera posición con valores diferentes; si uno es prefijo del otro, el tamaño del más corto; si son iguales, -1
+     */
+    static int mismatch( int[] a, int tamanoA, int[] b, int tamanoB )
+    {
+        int comun = Math.min( tamanoA, tamanoB );
+        for( int i = 0; i < comun; i++ )
+        {
+            if( a[ i ] != b[ i ] )
+            {
+                return i;
+            }
+        }
+        return tamanoA == tamanoB ? -1 : comun;
+    }
+
+    /**
+     * Verifica que una cantidad de elementos quepa en un arreglo a partir de una posición
+     * @param destino El arreglo
+     * @param desde La posición del arreglo donde se copiaría el primer elemento
+     * @param cantidad La cantidad de elementos
+     * @throws IndexOutOfBoundsException Si desde es negativo o los elementos no caben
+     */
+    protected static void revisarDestino( int[] destino, int desde, int cantidad )
+    {
+        if( desde < 0 || desde > destino.length - cantidad )
+        {
+            throw new IndexOutOfBoundsException( "Desde: " + desde + ", cantidad: " + cantidad + ", arreglo: " + destino.length );
+        }
+    }
+
+    /**
+     * Verifica que un rango esté dentro de la lista
+     * @param desde La primera posición del rango
+     * @param hasta La posición siguiente a la última del rango
+     * @throws IndexOutOfBoundsException Si desde es negativo, hasta es mayor que el tamaño o desde es mayor que hasta
+     */
+    protected void revisarRango( int desde, int hasta )
+    {
+        if( desde < 0 || hasta > size( ) || desde > hasta )
+        {
+            throw new IndexOutOfBoundsException( "Desde: " + desde + ", hasta: " + hasta + ", tamaño: " + size( ) );
+        }
+    }
+
+    /**
+     * Verifica que una posición exista en la lista
+     * @param indice La posición
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    protected void revisarIndice( int indice )
+    {
+        if( indice < 0 || indice >= size( ) )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + size( ) );
+        }
+    }
+
+    /**
+     * Verifica que una posición sea válida para insertar, es decir que esté entre 0 y size()
+     * @param indice La posición
+     * @throws IndexOutOfBoundsException Si la posición no es válida
+     */
+    protected void revisarIndiceInsercion( int indice )
+    {
+        if( indice < 0 || indice > size( ) )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + size( ) );
+        }
+    }
+}
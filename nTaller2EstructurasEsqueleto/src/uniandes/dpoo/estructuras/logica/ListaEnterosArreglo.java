@@ -0,0 +1,318 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lista de enteros guardados en un arreglo de int.
+ *
+ * Cada elemento ocupa 4 bytes, en lugar de una referencia más un objeto Integer como en un ArrayList&lt;Integer&gt;. El acceso por posición es de tiempo constante, e
+ * insertar o eliminar en una posición corre todos los elementos que están después.
+ */
+public class ListaEnterosArreglo extends ListaEnteros implements RandomAccess
+{
+    /**
+     * Los elementos de la lista. Las posiciones desde tamano en adelante no se usan.
+     */
+    private int[] datos;
+
+    /**
+     * La cantidad de elementos en la lista.
+     */
+    private int tamano;
+
+    /**
+     * Crea una lista vacía
+     */
+    public ListaEnterosArreglo( )
+    {
+        this( 10 );
+    }
+
+    /**
+     * Crea una lista vacía con espacio para una cantidad de elementos sin tener que crecer
+     * @param capacidad La cantidad de elementos que caben inicialmente
+     */
+    public ListaEnterosArreglo( int capacidad )
+    {
+        datos = new int[Math.max( 0, capacidad )];
+        tamano = 0;
+    }
+
+    /**
+     * Crea una lista con los mismos elementos de otra colección, en el mismo orden
+     * @param otra La colección cuyos elementos se copian
+     */
+    public ListaEnterosArreglo( Collection<Integer> otra )
+    {
+        if( otra instanceof ListaEnteros )
+        {
+            datos = ( ( ListaEnteros )otra ).toIntArray( );
+            tamano = datos.length;
+        }
+        else
+        {
+            datos = new int[otra.size( )];
+            tamano = 0;
+            for( Integer valor : otra )
+            {
+                datos[ tamano ] = valor;
+                tamano++;
+            }
+        }
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamano;
+    }
+
+    @Override
+    public int getInt( int indice )
+    {
+        revisarIndice( indice );
+        return datos[ indice ];
+    }
+
+    @Override
+    public int setInt( int indice, int valor )
+    {
+        revisarIndice( indice );
+        int anterior = datos[ indice ];
+        datos[ indice ] = valor;
+        return anterior;
+    }
+
+    @Override
+    public void addInt( int valor )
+    {
+        asegurarCapacidad( tamano + 1 );
+        datos[ tamano ] = valor;
+        tamano++;
+        modCount++;
+    }
+
+    @Override
+    public void addInt( int indice, int valor )
+    {
+        revisarIndiceInsercion( indice );
+        asegurarCapacidad( tamano + 1 );
+        System.arraycopy( datos, indice, datos, indice + 1, tamano - indice );
+        datos[ indice ] = valor;
+        tamano++;
+        modCount++;
+    }
+
+    @Override
+    public void addAllInt( int[] valores, int desde, int hasta )
+    {
+        int cantidad = hasta - desde;
+        asegurarCapacidad( tamano + cantidad );
+        System.arraycopy( valores, desde, datos, tamano, cantidad );
+        tamano += cantidad;
+        modCount++;
+    }
+
+    @Override
+    public void addAllInt( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarIndiceInsercion( indice );
+        int cantidad = hasta - desde;
+        asegurarCapacidad( tamano + cantidad );
+        System.arraycopy( datos, indice, datos, indice + cantidad, tamano - indice );
+        System.arraycopy( valores, desde, datos, indice, cantidad );
+        tamano += cantidad;
+        modCount++;
+    }
+
+    @Override
+    public void getInts( int desde, int hasta, int[] destino, int posicion )
+    {
+        revisarRango( desde, hasta );
+        System.arraycopy( datos, desde, destino, posicion, hasta - desde );
+    }
+
+    @Override
+    public void setInts( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarRango( indice, indice + hasta - desde );
+        System.arraycopy( valores, desde, datos, indice, hasta - desde );
+    }
+
+    @Override
+    public int removeInt( int indice )
+    {
+        revisarIndice( indice );
+        int anterior = datos[ indice ];
+        System.arraycopy( datos, indice + 1, datos, indice, tamano - indice - 1 );
+        tamano--;
+        modCount++;
+        return anterior;
+    }
+
+    @Override
+    public int removeIfInt( IntPredicate condicion )
+    {
+        int j = 0;
+        for( int i = 0; i < tamano; i++ )
+        {
+            if( !condicion.test( datos[ i ] ) )
+            {
+                datos[ j ] = datos[ i ];
+                j++;
+            }
+        }
+        int eliminados = tamano - j;
+        if( eliminados > 0 )
+        {
+            tamano = j;
+            modCount++;
+        }
+        return eliminados;
+    }
+
+    @Override
+    public void forEachInt( IntConsumer accion )
+    {
+        for( int i = 0; i < tamano; i++ )
+        {
+            accion.accept( datos[ i ] );
+        }
+    }
+
+    @Override
+    public void replaceAllInt( IntUnaryOperator funcion )
+    {
+        for( int i = 0; i < tamano; i++ )
+        {
+            datos[ i ] = funcion.applyAsInt( datos[ i ] );
+        }
+    }
+
+    @Override
+    public int countInt( int valor )
+    {
+        int contador = 0;
+        for( int i = 0; i < tamano; i++ )
+        {
+            if( datos[ i ] == valor )
+            {
+                contador++;
+            }
+        }
+        return contador;
+    }
+
+    @Override
+    public int[] toIntArray( )
+    {
+        return Arrays.copyOf( datos, tamano );
+    }
+
+    @Override
+    public void toIntArray( int[] destino, int desde )
+    {
+        revisarDestino( destino, desde, size( ) );
+        System.arraycopy( datos, 0, destino, desde, tamano );
+    }
+
+    @Override
+    boolean cargarTramo( CursorEnteros cursor )
+    {
+        // Todo el arreglo es un solo tramo
+        if( cursor.siguienteTramo > 0 || tamano == 0 )
+        {
+            return false;
+        }
+        cursor.usarTramo( datos, tamano );
+        cursor.siguienteTramo = 1;
+        return true;
+    }
+
+    @Override
+    int mismatch( int[] otro, int tamanoOtro )
+    {
+        return mismatch( datos, tamano, otro, tamanoOtro );
+    }
+
+    @Override
+    public int mismatch( ListaEnteros otra )
+    {
+        if( otra instanceof ListaEnterosArreglo )
+        {
+            ListaEnterosArreglo arreglo = ( ListaEnterosArreglo )otra;
+            return mismatch( datos, tamano, arreglo.datos, arreglo.tamano );
+        }
+        // La otra lista recorre su propia estructura comparándola con los datos, sin copiarlos
+        return otra.mismatch( datos, tamano );
+    }
+
+    @Override
+    public void sortInt( )
+    {
+        OrdenEnteros.ordenar( datos, 0, tamano );
+        modCount++;
+    }
+
+    @Override
+    public void sortIntDescending( )
+    {
+        OrdenEnteros.ordenarDescendente( datos, 0, tamano );
+        modCount++;
+    }
+
+    @Override
+    public void sortIntDescending( int desde, int hasta )
+    {
+        revisarRango( desde, hasta );
+        OrdenEnteros.ordenarDescendente( datos, desde, hasta );
+        modCount++;
+    }
+
+    @Override
+    void cargar( int[] valores )
+    {
+        datos = valores;
+        tamano = valores.length;
+        modCount++;
+    }
+
+    @Override
+    public void ensureCapacity( int capacidad )
+    {
+        asegurarCapacidad( capacidad );
+    }
+
+    @Override
+    public void clear( )
+    {
+        tamano = 0;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange( int desde, int hasta )
+    {
+        System.arraycopy( datos, hasta, datos, desde, tamano - hasta );
+        tamano -= hasta - desde;
+        modCount++;
+    }
+
+    /**
+     * Hace crecer el arreglo, al menos a 1.5 veces su tamaño, si no caben la cantidad de elementos pedida
+     * @param capacidad La cantidad mínima de elementos que deben caber
+     */
+    private void asegurarCapacidad( int capacidad )
+    {
+        if( capacidad > datos.length )
+        {
+            int nueva = Math.max( capacidad, datos.length + ( datos.length >> 1 ) + 1 );
+            datos = Arrays.copyOf( datos, nueva );
+        }
+    }
+}
@@ -0,0 +1,500 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lista de enteros guardados en nodos doblemente enlazados, cada uno con un int.
+ *
+ * Insertar o eliminar en los extremos (o desde un iterador) es de tiempo constante; el acceso por posición recorre la lista desde el extremo más cercano.
+ */
+public class ListaEnterosEnlazada extends ListaEnteros
+{
+    /**
+     * Un nodo de la lista.
+     */
+    private static class Nodo
+    {
+        int valor;
+
+        Nodo anterior;
+
+        Nodo siguiente;
+
+        Nodo( int valor )
+        {
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * El primer nodo de la lista, o null si está vacía.
+     */
+    private Nodo primero;
+
+    /**
+     * El último nodo de la lista, o null si está vacía.
+     */
+    private Nodo ultimo;
+
+    /**
+     * La cantidad de elementos en la lista.
+     */
+    private int tamano;
+
+    /**
+     * Crea una lista vacía
+     */
+    public ListaEnterosEnlazada( )
+    {
+        tamano = 0;
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamano;
+    }
+
+    @Override
+    public int getInt( int indice )
+    {
+        revisarIndice( indice );
+        return nodo( indice ).valor;
+    }
+
+    @Override
+    public int setInt( int indice, int valor )
+    {
+        revisarIndice( indice );
+        Nodo nodo = nodo( indice );
+        int anterior = nodo.valor;
+        nodo.valor = valor;
+        return anterior;
+    }
+
+    @Override
+    public void addInt( int valor )
+    {
+        enlazarAntes( valor, null );
+    }
+
+    @Override
+    public void addInt( int indice, int valor )
+    {
+        revisarIndiceInsercion( indice );
+        enlazarAntes( valor, indice == tamano ? null : nodo( indice ) );
+    }
+
+    @Override
+    public int removeInt( int indice )
+    {
+        revisarIndice( indice );
+        Nodo nodo = nodo( indice );
+        desenlazar( nodo );
+        return nodo.valor;
+    }
+
+    @Override
+    public int removeIfInt( IntPredicate condicion )
+    {
+        int eliminados = 0;
+        Nodo actual = primero;
+        while( actual != null )
+        {
+            Nodo siguiente = actual.siguiente;
+            if( condicion.test( actual.valor ) )
+            {
+                desenlazar( actual );
+                eliminados++;
+            }
+            actual = siguiente;
+        }
+        return eliminados;
+    }
+
+    @Override
+    public void forEachInt( IntConsumer accion )
+    {
+        for( Nodo actual = primero; actual != null; actual = actual.siguiente )
+        {
+            accion.accept( actual.valor );
+        }
+    }
+
+    @Override
+    public void addAllInt( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarIndiceInsercion( indice );
+        Nodo sucesor = indice == tamano ? null : nodo( indice );
+        for( int i = desde; i < hasta; i++ )
+        {
+            enlazarAntes( valores[ i ], sucesor );
+        }
+    }
+
+    @Override
+    public void getInts( int desde, int hasta, int[] destino, int posicion )
+    {
+        revisarRango( desde, hasta );
+        revisarDestino( destino, posicion, hasta - desde );
+        if( desde == hasta )
+        {
+            return;
+        }
+        Nodo actual = nodo( desde );
+        for( int i = posicion; i < posicion + hasta - desde; i++ )
+        {
+            destino[ i ] = actual.valor;
+            actual = actual.siguiente;
+        }
+    }
+
+    @Override
+    public void setInts( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarRango( indice, indice + hasta - desde );
+        if( desde == hasta )
+        {
+            return;
+        }
+        Nodo actual = nodo( indice );
+        for( int i = desde; i < hasta; i++ )
+        {
+            actual.valor = valores[ i ];
+            actual = actual.siguiente;
+        }
+    }
+
+    @Override
+    protected void removeRange( int desde, int hasta )
+    {
+        if( desde >= hasta )
+        {
+            return;
+        }
+        // Los nodos del rango se desenlazan juntos, uniendo el anterior al rango con el siguiente
+        Nodo inicio = nodo( desde );
+        Nodo fin = inicio;
+        for( int i = desde + 1; i < hasta; i++ )
+        {
+            fin = fin.siguiente;
+        }
+        if( inicio.anterior == null )
+        {
+            primero = fin.siguiente;
+        }
+        else
+        {
+            inicio.anterior.siguiente = fin.siguiente;
+        }
+        if( fin.siguiente == null )
+        {
+            ultimo = inicio.anterior;
+        }
+        else
+        {
+            fin.siguiente.anterior = inicio.anterior;
+        }
+        tamano -= hasta - desde;
+        modCount++;
+    }
+
+    @Override
+    public void toIntArray( int[] destino, int desde )
+    {
+        revisarDestino( destino, desde, size( ) );
+        int i = desde;
+        for( Nodo actual = primero; actual != null; actual = actual.siguiente )
+        {
+            destino[ i++ ] = actual.valor;
+        }
+    }
+
+    @Override
+    int mismatch( int[] otro, int tamanoOtro )
+    {
+        int comun = Math.min( tamano, tamanoOtro );
+        Nodo actual = primero;
+        for( int i = 0; i < comun; i++ )
+        {
+            if( actual.valor != otro[ i ] )
+            {
+                return i;
+            }
+            actual = actual.siguiente;
+        }
+        return tamano == tamanoOtro ? -1 : comun;
+    }
+
+    @Override
+    boolean cargarTramo( CursorEnteros cursor )
+    {
+        // Los valores se copian al buffer del cursor; cursor.nodo es el nodo donde empieza el siguiente tramo
+        Nodo actual = cursor.siguienteTramo == 0 ? primero : ( Nodo )cursor.nodo;
+        if( actual == null )
+        {
+            return false;
+        }
+        int[] buffer = cursor.buffer( );
+        int cantidad = 0;
+        while( actual != null && cantidad < buffer.length )
+        {
+            buffer[ cantidad++ ] = actual.valor;
+            actual = actual.siguiente;
+        }
+        cursor.usarTramo( buffer, cantidad );
+        cursor.siguienteTramo = 1;
+        cursor.nodo = actual;
+        return true;
+    }
+
+    @Override
+    public void replaceAllInt( IntUnaryOperator funcion )
+    {
+        for( Nodo actual = primero; actual != null; actual = actual.siguiente )
+        {
+            actual.valor = funcion.applyAsInt( actual.valor );
+        }
+    }
+
+    @Override
+    public void clear( )
+    {
+        primero = null;
+        ultimo = null;
+        tamano = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Integer> iterator( )
+    {
+        return listIterator( 0 );
+    }
+
+    @Override
+    public ListIterator<Integer> listIterator( int indice )
+    {
+        revisarIndiceInsercion( indice );
+        return new Iterador( indice );
+    }
+
+    /**
+     * Busca el nodo de una posición, recorriendo desde el extremo más cercano
+     * @param indice La posición, que debe existir
+     * @return El nodo
+     */
+    private Nodo nodo( int indice )
+    {
+        if( indice < ( tamano >> 1 ) )
+        {
+            Nodo actual = primero;
+            for( int i = 0; i < indice; i++ )
+            {
+                actual = actual.siguiente;
+            }
+            return actual;
+        }
+        Nodo actual = ultimo;
+        for( int i = tamano - 1; i > indice; i-- )
+        {
+            actual = actual.anterior;
+        }
+        return actual;
+    }
+
+    /**
+     * Crea un nodo con un valor y lo enlaza antes de otro nodo
+     * @param valor El valor del nuevo nodo
+     * @param sucesor El nodo antes del cual se enlaza, o null para enlazarlo al final
+     */
+    private void enlazarAntes( int valor, Nodo sucesor )
+    {
+        Nodo nuevo = new Nodo( valor );
+        Nodo predecesor = sucesor == null ? ultimo : sucesor.anterior;
+        nuevo.anterior = predecesor;
+        nuevo.siguiente = sucesor;
+        if( predecesor == null )
+        {
+            primero = nuevo;
+        }
+        else
+        {
+            predecesor.siguiente = nuevo;
+        }
+        if( sucesor == null )
+        {
+            ultimo = nuevo;
+        }
+        else
+        {
+            sucesor.anterior = nuevo;
+        }
+        tamano++;
+        modCount++;
+    }
+
+    /**
+     * Quita un nodo de la lista
+     * @param nodo El nodo que se va a quitar
+     */
+    private void desenlazar( Nodo nodo )
+    {
+        if( nodo.anterior == null )
+        {
+            primero = nodo.siguiente;
+        }
+        else
+        {
+            nodo.anterior.siguiente = nodo.siguiente;
+        }
+        if( nodo.siguiente == null )
+        {
+            ultimo = nodo.anterior;
+        }
+        else
+        {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        tamano--;
+        modCount++;
+    }
+
+    /**
+     * Iterador que avanza por los nodos sin volver a buscar cada posición.
+     */
+    private class Iterador implements ListIterator<Integer>
+    {
+        /**
+         * El nodo que retornará next(), o null si el iterador está al final.
+         */
+        private Nodo siguiente;
+
+        /**
+         * La posición de siguiente.
+         */
+        private int indiceSiguiente;
+
+        /**
+         * El último nodo retornado por next() o previous(), o null si no hay ninguno o se eliminó.
+         */
+        private Nodo ultimoRetornado;
+
+        private int modificacionesEsperadas;
+
+        Iterador( int indice )
+        {
+            siguiente = indice == tamano ? null : nodo( indice );
+            indiceSiguiente = indice;
+            modificacionesEsperadas = modCount;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return indiceSiguiente < tamano;
+        }
+
+        @Override
+        public Integer next( )
+        {
+            revisarModificaciones( );
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            ultimoRetornado = siguiente;
+            siguiente = siguiente.siguiente;
+            indiceSiguiente++;
+            return ultimoRetornado.valor;
+        }
+
+        @Override
+        public boolean hasPrevious( )
+        {
+            return indiceSiguiente > 0;
+        }
+
+        @Override
+        public Integer previous( )
+        {
+            revisarModificaciones( );
+            if( !hasPrevious( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            siguiente = siguiente == null ? ultimo : siguiente.anterior;
+            ultimoRetornado = siguiente;
+            indiceSiguiente--;
+            return ultimoRetornado.valor;
+        }
+
+        @Override
+        public int nextIndex( )
+        {
+            return indiceSiguiente;
+        }
+
+        @Override
+        public int previousIndex( )
+        {
+            return indiceSiguiente - 1;
+        }
+
+        @Override
+        public void remove( )
+        {
+            revisarModificaciones( );
+            if( ultimoRetornado == null )
+            {
+                throw new IllegalStateException( );
+            }
+            if( ultimoRetornado == siguiente )
+            {
+                siguiente = siguiente.siguiente;
+            }
+            else
+            {
+                indiceSiguiente--;
+            }
+            desenlazar( ultimoRetornado );
+            ultimoRetornado = null;
+            modificacionesEsperadas = modCount;
+        }
+
+        @Override
+        public void set( Integer valor )
+        {
+            revisarModificaciones( );
+            if( ultimoRetornado == null )
+            {
+                throw new IllegalStateException( );
+            }
+            ultimoRetornado.valor = valor;
+        }
+
+        @Override
+        public void add( Integer valor )
+        {
+            revisarModificaciones( );
+            enlazarAntes( valor, siguiente );
+            indiceSiguiente++;
+            ultimoRetornado = null;
+            modificacionesEsperadas = modCount;
+        }
+
+        private void revisarModificaciones( )
+        {
+            if( modCount != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lista de enteros guardados en un vector persistente (ver VectorEnteros).
+ *
+ * Cada modificación reemplaza el vector de la lista por una nueva versión que comparte casi toda su estructura con la anterior, así que obtener una versión de la
+ * lista (instantanea) es de tiempo constante y guardar muchas versiones cuesta poco más que guardar una. Consultar, cambiar y agregar o quitar al final cuestan
+ * O(log₃₂ n); insertar o eliminar en otra posición reconstruye la lista desde esa posición.
+ */
+public class ListaEnterosPersistente extends ListaEnteros
+{
+    /**
+     * La versión actual de la lista.
+     */
+    private VectorEnteros vector;
+
+    /**
+     * Crea una lista vacía
+     */
+    public ListaEnterosPersistente( )
+    {
+        this( VectorEnteros.vacio( ) );
+    }
+
+    /**
+     * Crea una lista con los valores de una versión
+     * @param vector La versión
+     */
+    public ListaEnterosPersistente( VectorEnteros vector )
+    {
+        this.vector = vector;
+    }
+
+    /**
+     * Retorna la versión actual de la lista, que no cambia aunque después se modifique la lista
+     * @return El vector con los valores actuales
+     */
+    public VectorEnteros instantanea( )
+    {
+        return vector;
+    }
+
+    /**
+     * Reemplaza el contenido de la lista por el de una versión, sin copiarla
+     * @param version La versión
+     */
+    public void restaurar( VectorEnteros version )
+    {
+        vector = version;
+        modCount++;
+    }
+
+    @Override
+    public int size( )
+    {
+        return vector.getTamano( );
+    }
+
+    @Override
+    public int getInt( int indice )
+    {
+        return vector.getValor( indice );
+    }
+
+    @Override
+    public int setInt( int indice, int valor )
+    {
+        int anterior = vector.getValor( indice );
+        vector = vector.conValor( indice, valor );
+        return anterior;
+    }
+
+    @Override
+    public void addInt( int valor )
+    {
+        vector = vector.agregar( valor );
+        modCount++;
+    }
+
+    @Override
+    public void addInt( int indice, int valor )
+    {
+        revisarIndiceInsercion( indice );
+        vector = indice == size( ) ? vector.agregar( valor ) : vector.insertar( indice, valor );
+        modCount++;
+    }
+
+    @Override
+    public void addAllInt( int[] valores, int desde, int hasta )
+    {
+        vector = vector.insertar( size( ), valores, desde, hasta );
+        modCount++;
+    }
+
+    @Override
+    public void addAllInt( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarIndiceInsercion( indice );
+        vector = vector.insertar( indice, valores, desde, hasta );
+        modCount++;
+    }
+
+    @Override
+    public void getInts( int desde, int hasta, int[] destino, int posicion )
+    {
+        revisarRango( desde, hasta );
+        revisarDestino( destino, posicion, hasta - desde );
+        vector.copiar( desde, hasta, destino, posicion );
+    }
+
+    @Override
+    public void setInts( int indice, int[] valores, int desde, int hasta )
+    {
+        int fin = indice + hasta - desde;
+        revisarRango( indice, fin );
+        if( indice == fin )
+        {
+            return;
+        }
+        // Se reconstruye desde la hoja de indice, compartiendo las hojas anteriores
+        int inicio = vector.inicioCompartido( indice );
+        int[] sufijo = new int[size( ) - inicio];
+        vector.copiar( inicio, size( ), sufijo, 0 );
+        System.arraycopy( valores, desde, sufijo, indice - inicio, hasta - desde );
+        vector = vector.conSufijo( inicio, sufijo, 0, sufijo.length );
+    }
+
+    @Override
+    public int removeInt( int indice )
+    {
+        int anterior = vector.getValor( indice );
+        vector = indice == size( ) - 1 ? vector.quitarUltimo( ) : vector.eliminar( indice, indice + 1 );
+        modCount++;
+        return anterior;
+    }
+
+    @Override
+    protected void removeRange( int desde, int hasta )
+    {
+        vector = vector.eliminar( desde, hasta );
+        modCount++;
+    }
+
+    @Override
+    public int removeIfInt( IntPredicate condicion )
+    {
+        int[] valores = vector.toIntArray( );
+        int primero = -1;
+        int j = 0;
+        for( int i = 0; i < valores.length; i++ )
+        {
+            if( !condicion.test( valores[ i ] ) )
+            {
+                valores[ j ] = valores[ i ];
+                j++;
+            }
+            else if( primero < 0 )
+            {
+                primero = i;
+            }
+        }
+        int eliminados = valores.length - j;
+        if( eliminados > 0 )
+        {
+            // Antes del primer eliminado los valores no cambiaron, así que esas hojas se comparten
+            int inicio = vector.inicioCompartido( primero );
+            vector = vector.conSufijo( inicio, valores, inicio, j );
+            modCount++;
+        }
+        return eliminados;
+    }
+
+    @Override
+    public void forEachInt( IntConsumer accion )
+    {
+        vector.forEach( accion );
+    }
+
+    @Override
+    public void replaceAllInt( IntUnaryOperator funcion )
+    {
+        int[] valores = vector.toIntArray( );
+        for( int i = 0; i < valores.length; i++ )
+        {
+            valores[ i ] = funcion.applyAsInt( valores[ i ] );
+        }
+        vector = VectorEnteros.de( valores );
+    }
+
+    @Override
+    public void toIntArray( int[] destino, int desde )
+    {
+        revisarDestino( destino, desde, size( ) );
+        vector.copiar( 0, size( ), destino, desde );
+    }
+
+    @Override
+    public int mismatch( ListaEnteros otra )
+    {
+        if( otra instanceof ListaEnterosPersistente )
+        {
+            // Las hojas que comparten las dos versiones no se comparan
+            return vector.mismatch( ( ( ListaEnterosPersistente )otra ).vector );
+        }
+        return super.mismatch( otra );
+    }
+
+    @Override
+    int mismatch( int[] otro, int tamanoOtro )
+    {
+        return vector.mismatch( otro, tamanoOtro );
+    }
+
+    @Override
+    boolean cargarTramo( CursorEnteros cursor )
+    {
+        // Cada hoja del vector es un tramo
+        int desde = cursor.siguienteTramo;
+        int cantidad = Math.min( size( ) - desde, VectorEnteros.ANCHO );
+        if( cantidad <= 0 )
+        {
+            return false;
+        }
+        cursor.usarTramo( vector.hoja( desde ), cantidad );
+        cursor.siguienteTramo = desde + cantidad;
+        return true;
+    }
+
+    @Override
+    void cargar( int[] valores )
+    {
+        vector = VectorEnteros.de( valores );
+        modCount++;
+    }
+
+    @Override
+    public void clear( )
+    {
+        vector = VectorEnteros.vacio( );
+        modCount++;
+    }
+}
@@ -0,0 +1,652 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lista de enteros guardados en bloques: arreglos de int de tamaño fijo, cada uno con una parte de la lista.
+ *
+ * Además de los bloques se guarda un índice pequeño con la posición en la lista donde empieza cada bloque. Con él, ubicar una posición es una búsqueda binaria sobre
+ * los bloques, e insertar o eliminar solo corre los elementos de un bloque y actualiza el índice de los bloques siguientes. Con bloques de tamaño B y n elementos,
+ * las operaciones por posición cuestan O(log(n/B)) para consultar y O(B + n/B) para modificar, que con el tamaño por defecto es del orden de √n hasta listas de
+ * alrededor de un millón de elementos. Los recorridos completos van bloque por bloque sobre arreglos contiguos.
+ *
+ * Cuando un bloque se llena se divide en dos; cuando queda con muy pocos elementos se une con un vecino, y cuando queda vacío se elimina.
+ */
+public class ListaEnterosPorBloques extends ListaEnteros
+{
+    /**
+     * La cantidad de elementos que caben en cada bloque si no se indica otra.
+     */
+    public static final int CAPACIDAD_BLOQUE = 1024;
+
+    /**
+     * La cantidad de elementos que caben en cada bloque.
+     */
+    private final int capacidadBloque;
+
+    /**
+     * Los bloques de la lista, en orden. Solo se usan las primeras cantidadBloques posiciones, y ninguno de esos bloques está vacío.
+     */
+    private int[][] bloques;
+
+    /**
+     * La posición en la lista del primer elemento de cada bloque. inicios[cantidadBloques] es el tamaño de la lista, así que el bloque b tiene
+     * inicios[b + 1] - inicios[b] elementos.
+     */
+    private int[] inicios;
+
+    /**
+     * La cantidad de bloques en uso.
+     */
+    private int cantidadBloques;
+
+    /**
+     * Crea una lista vacía con bloques de CAPACIDAD_BLOQUE elementos
+     */
+    public ListaEnterosPorBloques( )
+    {
+        this( CAPACIDAD_BLOQUE );
+    }
+
+    /**
+     * Crea una lista vacía
+     * @param capacidadBloque La cantidad de elementos que caben en cada bloque
+     * @throws IllegalArgumentException Si la capacidad es menor a 2
+     */
+    public ListaEnterosPorBloques( int capacidadBloque )
+    {
+        if( capacidadBloque < 2 )
+        {
+            throw new IllegalArgumentException( "La capacidad de los bloques debe ser al menos 2: " + capacidadBloque );
+        }
+        this.capacidadBloque = capacidadBloque;
+        bloques = new int[4][];
+        inicios = new int[5];
+    }
+
+    @Override
+    public int size( )
+    {
+        return inicios[ cantidadBloques ];
+    }
+
+    @Override
+    public int getInt( int indice )
+    {
+        revisarIndice( indice );
+        int b = bloqueDe( indice );
+        return bloques[ b ][ indice - inicios[ b ] ];
+    }
+
+    @Override
+    public int setInt( int indice, int valor )
+    {
+        revisarIndice( indice );
+        int b = bloqueDe( indice );
+        int[] bloque = bloques[ b ];
+        int anterior = bloque[ indice - inicios[ b ] ];
+        bloque[ indice - inicios[ b ] ] = valor;
+        return anterior;
+    }
+
+    @Override
+    public void addInt( int indice, int valor )
+    {
+        revisarIndiceInsercion( indice );
+        int b;
+        if( indice == size( ) )
+        {
+            if( cantidadBloques == 0 || tamanoBloque( cantidadBloques - 1 ) == capacidadBloque )
+            {
+                insertarBloque( cantidadBloques );
+            }
+            b = cantidadBloques - 1;
+        }
+        else
+        {
+            b = bloqueDe( indice );
+            if( tamanoBloque( b ) == capacidadBloque )
+            {
+                dividir( b );
+                if( indice > inicios[ b + 1 ] )
+                {
+                    b++;
+                }
+            }
+        }
+        int[] bloque = bloques[ b ];
+        int posicion = indice - inicios[ b ];
+        System.arraycopy( bloque, posicion, bloque, posicion + 1, tamanoBloque( b ) - posicion );
+        bloque[ posicion ] = valor;
+        ajustarInicios( b + 1, 1 );
+        modCount++;
+    }
+
+    @Override
+    public int removeInt( int indice )
+    {
+        revisarIndice( indice );
+        int b = bloqueDe( indice );
+        return eliminarEn( b, indice - inicios[ b ] );
+    }
+
+    @Override
+    public int removeIfInt( IntPredicate condicion )
+    {
+        int tamanoAnterior = size( );
+        int bloquesQuedan = 0;
+        int inicio = 0;
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            int[] bloque = bloques[ b ];
+            int enBloque = tamanoBloque( b );
+            int j = 0;
+            for( int i = 0; i < enBloque; i++ )
+            {
+                if( !condicion.test( bloque[ i ] ) )
+                {
+                    bloque[ j ] = bloque[ i ];
+                    j++;
+                }
+            }
+            if( j > 0 )
+            {
+                bloques[ bloquesQuedan ] = bloque;
+                inicios[ bloquesQuedan ] = inicio;
+                inicio += j;
+                bloquesQuedan++;
+            }
+        }
+        for( int b = bloquesQuedan; b < cantidadBloques; b++ )
+        {
+            bloques[ b ] = null;
+        }
+        cantidadBloques = bloquesQuedan;
+        inicios[ cantidadBloques ] = inicio;
+        int eliminados = tamanoAnterior - inicio;
+        if( eliminados > 0 )
+        {
+            modCount++;
+        }
+        return eliminados;
+    }
+
+    @Override
+    public void forEachInt( IntConsumer accion )
+    {
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            int[] bloque = bloques[ b ];
+            int enBloque = tamanoBloque( b );
+            for( int i = 0; i < enBloque; i++ )
+            {
+                accion.accept( bloque[ i ] );
+            }
+        }
+    }
+
+    @Override
+    public void replaceAllInt( IntUnaryOperator funcion )
+    {
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            int[] bloque = bloques[ b ];
+            int enBloque = tamanoBloque( b );
+            for( int i = 0; i < enBloque; i++ )
+            {
+                bloque[ i ] = funcion.applyAsInt( bloque[ i ] );
+            }
+        }
+    }
+
+    @Override
+    public void addAllInt( int indice, int[] valores, int desde, int hasta )
+    {
+        revisarIndiceInsercion( indice );
+        int cantidad = hasta - desde;
+        if( cantidad == 0 )
+        {
+            return;
+        }
+        if( cantidadBloques == 0 )
+        {
+            insertarBloques( 0, 1 );
+        }
+        int b = indice == size( ) ? cantidadBloques - 1 : bloqueDe( indice );
+        int[] bloque = bloques[ b ];
+        int posicion = indice - inicios[ b ];
+
+        // Los valores nuevos seguidos de los que había en el bloque desde la posición llenan el bloque, y lo que sobra va en bloques nuevos llenos
+        int[] secuencia = new int[cantidad + tamanoBloque( b ) - posicion];
+        System.arraycopy( valores, desde, secuencia, 0, cantidad );
+        System.arraycopy( bloque, posicion, secuencia, cantidad, tamanoBloque( b ) - posicion );
+        int enBloque = Math.min( capacidadBloque - posicion, secuencia.length );
+        System.arraycopy( secuencia, 0, bloque, posicion, enBloque );
+        int resto = secuencia.length - enBloque;
+        int nuevos = ( resto + capacidadBloque - 1 ) / capacidadBloque;
+        int inicio = inicios[ b ] + posicion + enBloque;
+        insertarBloques( b + 1, nuevos );
+        for( int j = 0; j < nuevos; j++ )
+        {
+            int enNuevo = Math.min( capacidadBloque, resto - j * capacidadBloque );
+            System.arraycopy( secuencia, enBloque + j * capacidadBloque, bloques[ b + 1 + j ], 0, enNuevo );
+            inicios[ b + 1 + j ] = inicio;
+            inicio += enNuevo;
+        }
+        ajustarInicios( b + 1 + nuevos, cantidad );
+        modCount++;
+    }
+
+    @Override
+    public void getInts( int desde, int hasta, int[] destino, int posicion )
+    {
+        revisarRango( desde, hasta );
+        revisarDestino( destino, posicion, hasta - desde );
+        int i = desde;
+        for( int b = i < hasta ? bloqueDe( i ) : 0; i < hasta; b++ )
+        {
+            int enBloque = Math.min( inicios[ b + 1 ], hasta ) - i;
+            System.arraycopy( bloques[ b ], i - inicios[ b ], destino, posicion + i - desde, enBloque );
+            i += enBloque;
+        }
+    }
+
+    @Override
+    public void setInts( int indice, int[] valores, int desde, int hasta )
+    {
+        int fin = indice + hasta - desde;
+        revisarRango( indice, fin );
+        int i = indice;
+        for( int b = i < fin ? bloqueDe( i ) : 0; i < fin; b++ )
+        {
+            int enBloque = Math.min( inicios[ b + 1 ], fin ) - i;
+            System.arraycopy( valores, desde + i - indice, bloques[ b ], i - inicios[ b ], enBloque );
+            i += enBloque;
+        }
+    }
+
+    @Override
+    protected void removeRange( int desde, int hasta )
+    {
+        if( desde >= hasta )
+        {
+            return;
+        }
+        int bDesde = bloqueDe( desde );
+        int bHasta = bloqueDe( hasta - 1 );
+        int eliminados = hasta - desde;
+        if( bDesde == bHasta )
+        {
+            int[] bloque = bloques[ bDesde ];
+            int fin = hasta - inicios[ bDesde ];
+            System.arraycopy( bloque, fin, bloque, desde - inicios[ bDesde ], tamanoBloque( bDesde ) - fin );
+            ajustarInicios( bDesde + 1, -eliminados );
+            if( tamanoBloque( bDesde ) == 0 )
+            {
+                quitarBloque( bDesde );
+            }
+            else if( tamanoBloque( bDesde ) < capacidadBloque / 4 )
+            {
+                unirConVecino( bDesde );
+            }
+            modCount++;
+            return;
+        }
+
+        // El primer bloque se queda con lo que hay antes del rango y el último con lo que hay después; los bloques del medio se descartan
+        int tamanoAnterior = size( );
+        int quedanHasta = inicios[ bHasta + 1 ] - hasta;
+        System.arraycopy( bloques[ bHasta ], hasta - inicios[ bHasta ], bloques[ bHasta ], 0, quedanHasta );
+        int siguiente = desde > inicios[ bDesde ] ? bDesde + 1 : bDesde;
+        int primero = siguiente;
+        if( quedanHasta > 0 )
+        {
+            bloques[ siguiente ] = bloques[ bHasta ];
+            inicios[ siguiente ] = desde;
+            siguiente++;
+        }
+        for( int b = bHasta + 1; b < cantidadBloques; b++ )
+        {
+            bloques[ siguiente ] = bloques[ b ];
+            inicios[ siguiente ] = inicios[ b ] - eliminados;
+            siguiente++;
+        }
+        for( int b = siguiente; b < cantidadBloques; b++ )
+        {
+            bloques[ b ] = null;
+        }
+        cantidadBloques = siguiente;
+        inicios[ cantidadBloques ] = tamanoAnterior - eliminados;
+
+        // Solo los dos bloques junto al rango pueden haber quedado con muy pocos elementos
+        if( quedanHasta > 0 && tamanoBloque( primero ) < capacidadBloque / 4 )
+        {
+            unirConVecino( primero );
+        }
+        if( primero > bDesde && bDesde < cantidadBloques && tamanoBloque( bDesde ) < capacidadBloque / 4 )
+        {
+            unirConVecino( bDesde );
+        }
+        modCount++;
+    }
+
+    @Override
+    public void toIntArray( int[] destino, int desde )
+    {
+        revisarDestino( destino, desde, size( ) );
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            System.arraycopy( bloques[ b ], 0, destino, desde + inicios[ b ], tamanoBloque( b ) );
+        }
+    }
+
+    @Override
+    int mismatch( int[] otro, int tamanoOtro )
+    {
+        int comun = Math.min( size( ), tamanoOtro );
+        for( int b = 0; b < cantidadBloques && inicios[ b ] < comun; b++ )
+        {
+            int[] bloque = bloques[ b ];
+            int inicio = inicios[ b ];
+            int fin = Math.min( inicios[ b + 1 ], comun ) - inicio;
+            for( int j = 0; j < fin; j++ )
+            {
+                if( bloque[ j ] != otro[ inicio + j ] )
+                {
+                    return inicio + j;
+                }
+            }
+        }
+        return size( ) == tamanoOtro ? -1 : comun;
+    }
+
+    @Override
+    boolean cargarTramo( CursorEnteros cursor )
+    {
+        // Cada bloque es un tramo; siguienteTramo es el bloque siguiente
+        int b = cursor.siguienteTramo;
+        while( b < cantidadBloques && tamanoBloque( b ) == 0 )
+        {
+            b++;
+        }
+        if( b >= cantidadBloques )
+        {
+            return false;
+        }
+        cursor.usarTramo( bloques[ b ], tamanoBloque( b ) );
+        cursor.siguienteTramo = b + 1;
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        bloques = new int[4][];
+        inicios = new int[5];
+        cantidadBloques = 0;
+        modCount++;
+    }
+
+    /**
+     * Llena los bloques completos uno tras otro copiando partes del arreglo, sin dividir bloques
+     */
+    @Override
+    void cargar( int[] valores )
+    {
+        int cantidad = ( valores.length + capacidadBloque - 1 ) / capacidadBloque;
+        bloques = new int[Math.max( 4, cantidad )][];
+        inicios = new int[bloques.length + 1];
+        for( int b = 0; b < cantidad; b++ )
+        {
+            int desde = b * capacidadBloque;
+            bloques[ b ] = new int[capacidadBloque];
+            System.arraycopy( valores, desde, bloques[ b ], 0, Math.min( capacidadBloque, valores.length - desde ) );
+            inicios[ b ] = desde;
+        }
+        cantidadBloques = cantidad;
+        inicios[ cantidadBloques ] = valores.length;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Integer> iterator( )
+    {
+        return new Iterador( );
+    }
+
+    /**
+     * Retorna la cantidad de elementos de un bloque
+     * @param b La posición del bloque
+     * @return La cantidad de elementos
+     */
+    private int tamanoBloque( int b )
+    {
+        return inicios[ b + 1 ] - inicios[ b ];
+    }
+
+    /**
+     * Busca, con una búsqueda binaria sobre el índice de inicios, el bloque que tiene una posición de la lista
+     * @param indice La posición en la lista, que debe existir
+     * @return La posición del bloque
+     */
+    private int bloqueDe( int indice )
+    {
+        int bajo = 0;
+        int alto = cantidadBloques - 1;
+        while( bajo < alto )
+        {
+            int medio = ( bajo + alto + 1 ) >>> 1;
+            if( inicios[ medio ] <= indice )
+            {
+                bajo = medio;
+            }
+            else
+            {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Corre el inicio de los bloques desde uno dado, incluyendo el tamaño de la lista al final del índice
+     * @param desde La posición del primer bloque cuyo inicio cambia
+     * @param diferencia La cantidad que se suma a cada inicio
+     */
+    private void ajustarInicios( int desde, int diferencia )
+    {
+        for( int b = desde; b <= cantidadBloques; b++ )
+        {
+            inicios[ b ] += diferencia;
+        }
+    }
+
+    /**
+     * Elimina un elemento de un bloque. Si el bloque queda vacío se elimina, y si queda con muy pocos elementos se une con un vecino.
+     * @param b El número del bloque
+     * @param posicion La posición dentro del bloque
+     * @return El valor eliminado
+     */
+    private int eliminarEn( int b, int posicion )
+    {
+        int[] bloque = bloques[ b ];
+        int anterior = bloque[ posicion ];
+        System.arraycopy( bloque, posicion + 1, bloque, posicion, tamanoBloque( b ) - posicion - 1 );
+        ajustarInicios( b + 1, -1 );
+        if( tamanoBloque( b ) == 0 )
+        {
+            quitarBloque( b );
+        }
+        else if( tamanoBloque( b ) < capacidadBloque / 4 )
+        {
+            unirConVecino( b );
+        }
+        modCount++;
+        return anterior;
+    }
+
+    /**
+     * Une un bloque con el siguiente o con el anterior si los dos juntos ocupan a lo sumo la mitad de un bloque. Así la cantidad de bloques se mantiene proporcional a
+     * la cantidad de elementos aunque se eliminen muchos.
+     * @param b La posición del bloque
+     */
+    private void unirConVecino( int b )
+    {
+        int limite = capacidadBloque / 2;
+        if( b + 1 < cantidadBloques && tamanoBloque( b ) + tamanoBloque( b + 1 ) <= limite )
+        {
+            absorberSiguiente( b );
+        }
+        else if( b > 0 && tamanoBloque( b - 1 ) + tamanoBloque( b ) <= limite )
+        {
+            absorberSiguiente( b - 1 );
+        }
+    }
+
+    /**
+     * Pasa todos los elementos del bloque b + 1 al final del bloque b y elimina el bloque b + 1
+     * @param b La posición del bloque que se queda con los elementos
+     */
+    private void absorberSiguiente( int b )
+    {
+        System.arraycopy( bloques[ b + 1 ], 0, bloques[ b ], tamanoBloque( b ), tamanoBloque( b + 1 ) );
+        inicios[ b + 1 ] = inicios[ b + 2 ];
+        quitarBloque( b + 1 );
+    }
+
+    /**
+     * Agrega un bloque vacío en una posición de la lista de bloques
+     * @param b La posición que debe tener el nuevo bloque
+     */
+    private void insertarBloque( int b )
+    {
+        insertarBloques( b, 1 );
+    }
+
+    /**
+     * Agrega bloques vacíos en una posición de la lista de bloques, corriendo una sola vez los bloques siguientes. Los nuevos bloques quedan con el inicio del bloque
+     * que estaba en la posición, así que quien los llena debe corregir sus inicios.
+     * @param b La posición que debe tener el primero de los nuevos bloques
+     * @param cantidad La cantidad de bloques
+     */
+    private void insertarBloques( int b, int cantidad )
+    {
+        if( cantidadBloques + cantidad > bloques.length )
+        {
+            bloques = Arrays.copyOf( bloques, Math.max( 2 * bloques.length, cantidadBloques + cantidad ) );
+            inicios = Arrays.copyOf( inicios, bloques.length + 1 );
+        }
+        System.arraycopy( bloques, b, bloques, b + cantidad, cantidadBloques - b );
+        System.arraycopy( inicios, b, inicios, b + cantidad, cantidadBloques - b + 1 );
+        for( int i = b; i < b + cantidad; i++ )
+        {
+            bloques[ i ] = new int[capacidadBloque];
+            inicios[ i ] = inicios[ b + cantidad ];
+        }
+        cantidadBloques += cantidad;
+    }
+
+    /**
+     * Quita un bloque vacío de la lista de bloques
+     * @param b La posición del bloque
+     */
+    private void quitarBloque( int b )
+    {
+        System.arraycopy( bloques, b + 1, bloques, b, cantidadBloques - b - 1 );
+        System.arraycopy( inicios, b + 1, inicios, b, cantidadBloques - b );
+        cantidadBloques--;
+        bloques[ cantidadBloques ] = null;
+    }
+
+    /**
+     * Divide un bloque lleno en dos, pasando la segunda mitad de sus elementos a un bloque nuevo que queda a continuación
+     * @param b La posición del bloque
+     */
+    private void dividir( int b )
+    {
+        insertarBloque( b + 1 );
+        int mitad = tamanoBloque( b ) / 2;
+        int mover = tamanoBloque( b ) - mitad;
+        System.arraycopy( bloques[ b ], mitad, bloques[ b + 1 ], 0, mover );
+        inicios[ b + 1 ] -= mover;
+    }
+
+    /**
+     * Iterador que avanza bloque por bloque sin volver a buscar cada posición.
+     */
+    private class Iterador implements Iterator<Integer>
+    {
+        private int bloque;
+
+        /**
+         * La posición dentro del bloque del elemento que retornará next().
+         */
+        private int posicion;
+
+        private int indiceSiguiente;
+
+        private boolean puedeEliminar;
+
+        private int modificacionesEsperadas = modCount;
+
+        @Override
+        public boolean hasNext( )
+        {
+            return indiceSiguiente < size( );
+        }
+
+        @Override
+        public Integer next( )
+        {
+            revisarModificaciones( );
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            if( posicion == tamanoBloque( bloque ) )
+            {
+                bloque++;
+                posicion = 0;
+            }
+            int valor = bloques[ bloque ][ posicion ];
+            posicion++;
+            indiceSiguiente++;
+            puedeEliminar = true;
+            return valor;
+        }
+
+        @Override
+        public void remove( )
+        {
+            revisarModificaciones( );
+            if( !puedeEliminar )
+            {
+                throw new IllegalStateException( );
+            }
+            eliminarEn( bloque, posicion - 1 );
+            indiceSiguiente--;
+            // Eliminar puede quitar o unir bloques, así que se vuelve a ubicar la posición
+            if( indiceSiguiente < size( ) )
+            {
+                bloque = bloqueDe( indiceSiguiente );
+                posicion = indiceSiguiente - inicios[ bloque ];
+            }
+            puedeEliminar = false;
+            modificacionesEsperadas = modCount;
+        }
+
+        private void revisarModificaciones( )
+        {
+            if( modCount != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Lista de objetos guardados en bloques: arreglos de tamaño fijo, cada uno con una parte de la lista.
+ *
+ * Funciona igual que ListaEnterosPorBloques, pero para cualquier tipo de elemento: insertar o eliminar en una posición solo corre los elementos de un bloque, y los
+ * recorridos van bloque por bloque sobre arreglos contiguos en lugar de seguir un nodo por elemento.
+ * @param <E> El tipo de los elementos
+ */
+public class ListaPorBloques<E> extends AbstractList<E>
+{
+    /**
+     * La cantidad de elementos que caben en cada bloque si no se indica otra.
+     */
+    public static final int CAPACIDAD_BLOQUE = 512;
+
+    /**
+     * La cantidad de elementos que caben en cada bloque.
+     */
+    private final int capacidadBloque;
+
+    /**
+     * Los bloques de la lista, en orden. Solo se usan las primeras cantidadBloques posiciones, y ninguno de esos bloques está vacío.
+     */
+    private Object[][] bloques;
+
+    /**
+     * La cantidad de elementos que hay en cada bloque.
+     */
+    private int[] tamanos;
+
+    /**
+     * La cantidad de bloques en uso.
+     */
+    private int cantidadBloques;
+
+    /**
+     * La cantidad de elementos en la lista.
+     */
+    private int tamano;
+
+    /**
+     * Crea una lista vacía con bloques de CAPACIDAD_BLOQUE elementos
+     */
+    public ListaPorBloques( )
+    {
+        this( CAPACIDAD_BLOQUE );
+    }
+
+    /**
+     * Crea una lista vacía
+     * @param capacidadBloque La cantidad de elementos que caben en cada bloque
+     * @throws IllegalArgumentException Si la capacidad es menor a 2
+     */
+    public ListaPorBloques( int capacidadBloque )
+    {
+        if( capacidadBloque < 2 )
+        {
+            throw new IllegalArgumentException( "La capacidad de los bloques debe ser al menos 2: " + capacidadBloque );
+        }
+        this.capacidadBloque = capacidadBloque;
+        bloques = new Object[4][];
+        tamanos = new int[4];
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamano;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get( int indice )
+    {
+        revisarIndice( indice );
+        long ubicacion = ubicar( indice );
+        return ( E )bloques[ ( int ) ( ubicacion >>> 32 ) ][ ( int )ubicacion ];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set( int indice, E valor )
+    {
+        revisarIndice( indice );
+        long ubicacion = ubicar( indice );
+        Object[] bloque = bloques[ ( int ) ( ubicacion >>> 32 ) ];
+        E anterior = ( E )bloque[ ( int )ubicacion ];
+        bloque[ ( int )ubicacion ] = valor;
+        return anterior;
+    }
+
+    @Override
+    public void add( int indice, E valor )
+    {
+        if( indice < 0 || indice > tamano )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + tamano );
+        }
+        int b;
+        int posicion;
+        if( indice == tamano )
+        {
+            if( cantidadBloques == 0 || tamanos[ cantidadBloques - 1 ] == capacidadBloque )
+            {
+                insertarBloque( cantidadBloques );
+            }
+            b = cantidadBloques - 1;
+            posicion = tamanos[ b ];
+        }
+        else
+        {
+            long ubicacion = ubicar( indice );
+            b = ( int ) ( ubicacion >>> 32 );
+            posicion = ( int )ubicacion;
+            if( tamanos[ b ] == capacidadBloque )
+            {
+                dividir( b );
+                if( posicion > tamanos[ b ] )
+                {
+                    posicion -= tamanos[ b ];
+                    b++;
+                }
+            }
+        }
+        Object[] bloque = bloques[ b ];
+        System.arraycopy( bloque, posicion, bloque, posicion + 1, tamanos[ b ] - posicion );
+        bloque[ posicion ] = valor;
+        tamanos[ b ]++;
+        tamano++;
+        modCount++;
+    }
+
+    @Override
+    public E remove( int indice )
+    {
+        revisarIndice( indice );
+        long ubicacion = ubicar( indice );
+        return eliminarEn( ( int ) ( ubicacion >>> 32 ), ( int )ubicacion );
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf( Predicate<? super E> filtro )
+    {
+        int eliminados = 0;
+        int bloquesQuedan = 0;
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            Object[] bloque = bloques[ b ];
+            int j = 0;
+            for( int i = 0; i < tamanos[ b ]; i++ )
+            {
+                if( !filtro.test( ( E )bloque[ i ] ) )
+                {
+                    bloque[ j ] = bloque[ i ];
+                    j++;
+                }
+            }
+            Arrays.fill( bloque, j, tamanos[ b ], null );
+            eliminados += tamanos[ b ] - j;
+            if( j > 0 )
+            {
+                bloques[ bloquesQuedan ] = bloque;
+                tamanos[ bloquesQuedan ] = j;
+                bloquesQuedan++;
+            }
+        }
+        for( int b = bloquesQuedan; b < cantidadBloques; b++ )
+        {
+            bloques[ b ] = null;
+            tamanos[ b ] = 0;
+        }
+        cantidadBloques = bloquesQuedan;
+        if( eliminados > 0 )
+        {
+            tamano -= eliminados;
+            modCount++;
+        }
+        return eliminados > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach( Consumer<? super E> accion )
+    {
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            Object[] bloque = bloques[ b ];
+            for( int i = 0; i < tamanos[ b ]; i++ )
+            {
+                accion.accept( ( E )bloque[ i ] );
+            }
+        }
+    }
+
+    @Override
+    public Object[] toArray( )
+    {
+        Object[] arreglo = new Object[tamano];
+        int destino = 0;
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            System.arraycopy( bloques[ b ], 0, arreglo, destino, tamanos[ b ] );
+            destino += tamanos[ b ];
+        }
+        return arreglo;
+    }
+
+    /**
+     * Organiza la lista pasando los valores a un arreglo, organizándolo y escribiéndolos de vuelta bloque por bloque.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort( Comparator<? super E> comparador )
+    {
+        Object[] valores = toArray( );
+        Arrays.sort( valores, ( Comparator<Object> )comparador );
+        int origen = 0;
+        for( int b = 0; b < cantidadBloques; b++ )
+        {
+            System.arraycopy( valores, origen, bloques[ b ], 0, tamanos[ b ] );
+            origen += tamanos[ b ];
+        }
+        modCount++;
+    }
+
+    @Override
+    public void clear( )
+    {
+        bloques = new Object[4][];
+        tamanos = new int[4];
+        cantidadBloques = 0;
+        tamano = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator( )
+    {
+        return new Iterador( );
+    }
+
+    private void revisarIndice( int indice )
+    {
+        if( indice < 0 || indice >= tamano )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + tamano );
+        }
+    }
+
+    /**
+     * Busca el bloque y la posición dentro del bloque de una posición de la lista
+     * @param indice La posición en la lista, que debe existir
+     * @return El número del bloque en los 32 bits altos y la posición dentro del bloque en los 32 bits bajos
+     */
+    private long ubicar( int indice )
+    {
+        int b = 0;
+        while( indice >= tamanos[ b ] )
+        {
+            indice -= tamanos[ b ];
+            b++;
+        }
+        return ( ( long )b << 32 ) | indice;
+    }
+
+    /**
+     * Elimina un elemento de un bloque, y el bloque si queda vacío
+     * @param b El número del bloque
+     * @param posicion La posición dentro del bloque
+     * @return El valor eliminado
+     */
+    @SuppressWarnings("unchecked")
+    private E eliminarEn( int b, int posicion )
+    {
+        Object[] bloque = bloques[ b ];
+        E anterior = ( E )bloque[ posicion ];
+        System.arraycopy( bloque, posicion + 1, bloque, posicion, tamanos[ b ] - posicion - 1 );
+        tamanos[ b ]--;
+        bloque[ tamanos[ b ] ] = null;
+        if( tamanos[ b ] == 0 )
+        {
+            System.arraycopy( bloques, b + 1, bloques, b, cantidadBloques - b - 1 );
+            System.arraycopy( tamanos, b + 1, tamanos, b, cantidadBloques - b - 1 );
+            cantidadBloques--;
+            bloques[ cantidadBloques ] = null;
+            tamanos[ cantidadBloques ] = 0;
+        }
+        tamano--;
+        modCount++;
+        return anterior;
+    }
+
+    /**
+     * Agrega un bloque vacío en una posición de la lista de bloques
+     * @param b La posición que debe tener el nuevo bloque
+     */
+    private void insertarBloque( int b )
+    {
+        if( cantidadBloques == bloques.length )
+        {
+            bloques = Arrays.copyOf( bloques, 2 * bloques.length );
+            tamanos = Arrays.copyOf( tamanos, 2 * tamanos.length );
+        }
+        System.arraycopy( bloques, b, bloques, b + 1, cantidadBloques - b );
+        System.arraycopy( tamanos, b, tamanos, b + 1, cantidadBloques - b );
+        bloques[ b ] = new Object[capacidadBloque];
+        tamanos[ b ] = 0;
+        cantidadBloques++;
+    }
+
+    /**
+     * Divide un bloque lleno en dos, pasando la segunda mitad de sus elementos a un bloque nuevo que queda a continuación
+     * @param b La posición del bloque
+     */
+    private void dividir( int b )
+    {
+        insertarBloque( b + 1 );
+        int mitad = tamanos[ b ] / 2;
+        int mover = tamanos[ b ] - mitad;
+        System.arraycopy( bloques[ b ], mitad, bloques[ b + 1 ], 0, mover );
+        Arrays.fill( bloques[ b ], mitad, tamanos[ b ], null );
+        tamanos[ b ] = mitad;
+        tamanos[ b + 1 ] = mover;
+    }
+
+    /**
+     * Iterador que avanza bloque por bloque sin volver a buscar cada posición.
+     */
+    private class Iterador implements Iterator<E>
+    {
+        private int bloque;
+
+        /**
+         * La posición dentro del bloque del elemento que retornará next().
+         */
+        private int posicion;
+
+        private int indiceSiguiente;
+
+        private boolean puedeEliminar;
+
+        private int modificacionesEsperadas = modCount;
+
+        @Override
+        public boolean hasNext( )
+        {
+            return indiceSiguiente < tamano;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next( )
+        {
+            revisarModificaciones( );
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            if( posicion == tamanos[ bloque ] )
+            {
+                bloque++;
+                posicion = 0;
+            }
+            E valor = ( E )bloques[ bloque ][ posicion ];
+            posicion++;
+            indiceSiguiente++;
+            puedeEliminar = true;
+            return valor;
+        }
+
+        @Override
+        public void remove( )
+        {
+            revisarModificaciones( );
+            if( !puedeEliminar )
+            {
+                throw new IllegalStateException( );
+            }
+            boolean quitaBloque = tamanos[ bloque ] == 1;
+            eliminarEn( bloque, posicion - 1 );
+            if( quitaBloque )
+            {
+                // El bloque siguiente quedó en la misma posición de la lista de bloques
+                posicion = 0;
+            }
+            else
+            {
+                posicion--;
+            }
+            indiceSiguiente--;
+            puedeEliminar = false;
+            modificacionesEsperadas = modCount;
+        }
+
+        private void revisarModificaciones( )
+        {
+            if( modCount != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+        }
+    }
+}
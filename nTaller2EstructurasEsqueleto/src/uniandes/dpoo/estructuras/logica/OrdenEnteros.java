@@ -0,0 +1,121 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+
+/**
+ * Ordenamiento de arreglos de int sin comparadores ni objetos Integer.
+ *
+ * Según la cantidad de valores se usa el algoritmo que resulta más rápido: Arrays.sort para pocos valores, radix sort por bytes para muchos, y Arrays.parallelSort
+ * cuando son tantos que vale la pena repartir el trabajo entre varios procesadores.
+ */
+final class OrdenEnteros
+{
+    /**
+     * A partir de esta cantidad de valores se usa radix sort. Con menos, el costo de los contadores y del arreglo auxiliar no compensa.
+     */
+    static final int UMBRAL_RADIX = 1 << 12;
+
+    /**
+     * A partir de esta cantidad de valores se ordena en paralelo.
+     */
+    static final int UMBRAL_PARALELO = 1 << 21;
+
+    private OrdenEnteros( )
+    {
+    }
+
+    /**
+     * Organiza de menor a mayor una parte de un arreglo
+     * @param valores El arreglo
+     * @param desde La primera posición que se organiza
+     * @param hasta La posición siguiente a la última que se organiza
+     */
+    static void ordenar( int[] valores, int desde, int hasta )
+    {
+        int cantidad = hasta - desde;
+        if( cantidad >= UMBRAL_PARALELO )
+        {
+            Arrays.parallelSort( valores, desde, hasta );
+        }
+        else if( cantidad >= UMBRAL_RADIX )
+        {
+            ordenarRadix( valores, desde, hasta );
+        }
+        else
+        {
+            Arrays.sort( valores, desde, hasta );
+        }
+    }
+
+    /**
+     * Organiza de mayor a menor una parte de un arreglo, organizándola de menor a mayor y luego invirtiéndola
+     * @param valores El arreglo
+     * @param desde La primera posición que se organiza
+     * @param hasta La posición siguiente a la última que se organiza
+     */
+    static void ordenarDescendente( int[] valores, int desde, int hasta )
+    {
+        ordenar( valores, desde, hasta );
+        invertir( valores, desde, hasta );
+    }
+
+    /**
+     * Invierte el orden de una parte de un arreglo
+     * @param valores El arreglo
+     * @param desde La primera posición que se invierte
+     * @param hasta La posición siguiente a la última que se invierte
+     */
+    static void invertir( int[] valores, int desde, int hasta )
+    {
+        for( int i = desde, j = hasta - 1; i < j; i++, j-- )
+        {
+            int temporal = valores[ i ];
+            valores[ i ] = valores[ j ];
+            valores[ j ] = temporal;
+        }
+    }
+
+    /**
+     * Radix sort LSD de un byte por pasada. En la pasada del byte más significativo se invierte el bit de signo para que los negativos queden antes que los positivos.
+     * Las pasadas en las que todos los valores tienen el mismo byte se omiten.
+     * @param valores El arreglo
+     * @param desde La primera posición que se organiza
+     * @param hasta La posición siguiente a la última que se organiza
+     */
+    private static void ordenarRadix( int[] valores, int desde, int hasta )
+    {
+        int cantidad = hasta - desde;
+        int[] origen = Arrays.copyOfRange( valores, desde, hasta );
+        int[] destino = new int[cantidad];
+        int[] contadores = new int[256];
+        for( int corrimiento = 0; corrimiento < 32; corrimiento += 8 )
+        {
+            int signo = corrimiento == 24 ? 0x80 : 0;
+            Arrays.fill( contadores, 0 );
+            for( int i = 0; i < cantidad; i++ )
+            {
+                contadores[ ( ( origen[ i ] >>> corrimiento ) & 0xFF ) ^ signo ]++;
+            }
+            if( contadores[ ( ( origen[ 0 ] >>> corrimiento ) & 0xFF ) ^ signo ] == cantidad )
+            {
+                continue;
+            }
+            int acumulado = 0;
+            for( int c = 0; c < 256; c++ )
+            {
+                int enCubeta = contadores[ c ];
+                contadores[ c ] = acumulado;
+                acumulado += enCubeta;
+            }
+            for( int i = 0; i < cantidad; i++ )
+            {
+                int valor = origen[ i ];
+                destino[ contadores[ ( ( valor >>> corrimiento ) & 0xFF ) ^ signo ]++ ] = valor;
+            }
+            int[] temporal = origen;
+            origen = destino;
+            destino = temporal;
+        }
+        System.arraycopy( origen, 0, valores, desde, cantidad );
+    }
+}
@@ -0,0 +1,19 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Recibe un aviso cada vez que SandboxListas, en el modo adaptativo, pasa una de sus listas a otro almacenamiento.
+ *
+ * El aviso se da en el hilo que hizo la operación que provocó el cambio, después de que la lista ya quedó en el nuevo almacenamiento.
+ */
+@FunctionalInterface
+public interface OyenteMigraciones
+{
+    /**
+     * Avisa que una lista cambió de almacenamiento
+     * @param lista "enteros" o "cadenas", según la lista que cambió
+     * @param anterior El almacenamiento que tenía la lista
+     * @param nuevo El almacenamiento que tiene ahora la lista
+     * @param contadores Una copia de los contadores de operaciones de la lista en el momento del cambio
+     */
+    void migracion( String lista, Almacenamiento anterior, Almacenamiento nuevo, ContadoresOperaciones contadores );
+}
@@ -1,5 +1,6 @@
 package uniandes.dpoo.estructuras.logica;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -7,7 +8,8 @@ import java.util.HashMap;
  *
  * Todos los métodos deben operar sobre los atributos arregloEnteros y arregloCadenas.
  * 
- * No pueden agregarse nuevos atributos.
+ * No pueden agregarse nuevos atributos, salvo los que llevan el estado auxiliar (por ejemplo, si los arreglos están organizados) que usan las consultas para evitar
+ * recorridos completos.
  * 
  * Implemente los métodos usando operaciones sobre arreglos (ie., no haga cosas como construir listas para evitar la manipulación de arreglos).
  */
@@ -27,6 +29,39 @@ public class SandboxArreglos
      */
     private String[] arregloCadenas;
 
+    /**
+     * Indica si el arreglo de enteros está organizado de menor a mayor.
+     * 
+     * Los métodos que modifican el arreglo deben actualizar este valor. Cuando es verdadero, las consultas usan búsqueda binaria en lugar de recorrer todo el arreglo.
+     */
+    private boolean enterosOrdenados;
+
+    /**
+     * Indica si el arreglo de cadenas está organizado lexicográficamente.
+     */
+    private boolean cadenasOrdenadas;
+
+    /**
+     * Indica si el arreglo de enteros se está manejando comprimido por corridas (ver usarCorridas).
+     */
+    private boolean modoCorridas;
+
+    /**
+     * La representación por corridas del arreglo de enteros. Solo se usa en modo corridas y se construye cuando se necesita.
+     * 
+     * En modo corridas, arregloEnteros puede ser null cuando una operación modificó las corridas; en ese caso se vuelve a expandir cuando algún método lo necesite. Si los
+     * dos atributos no son null, representan los mismos valores.
+     */
+    private CorridasEnteros corridasEnteros;
+
+    /**
+     * Un índice con los valores diferentes del arreglo de enteros, para responder rápidamente si un valor está en el arreglo.
+     * 
+     * Se construye la primera vez que se necesita y los métodos que modifican el arreglo lo mantienen actualizado. Cuando una modificación no permite actualizarlo
+     * fácilmente, se descarta (queda en null) y se vuelve a construir en la siguiente consulta.
+     */
+    private BitmapEnteros indiceEnteros;
+
     /**
      * Crea una nueva instancia de la clase con los dos arreglos inicializados pero vacíos (tamaño 0)
      */
@@ -34,6 +69,8 @@ public class SandboxArreglos
     {
         arregloEnteros = new int[]{};
         arregloCadenas = new String[]{};
+        enterosOrdenados = true;
+        cadenasOrdenadas = true;
     }
 
     /**
@@ -41,6 +78,7 @@ public class SandboxArreglos
      * @return Una copia del arreglo de enteros
      */
     public int[] getCopiaEnteros() {
+        materializarEnteros();
         int[] copia = new int[arregloEnteros.length];
         for (int j = 0; j < arregloEnteros.length; j++) {
             copia[j] = arregloEnteros[j];
@@ -67,7 +105,9 @@ public class SandboxArreglos
      */
     public int getCantidadEnteros( )
     {
-    	
+    	if (arregloEnteros == null) {
+    	    return corridasEnteros.tamano();
+    	}
         return arregloEnteros.length;
     }
 
@@ -86,6 +126,10 @@ public class SandboxArreglos
      * @param entero El valor que se va a agregar.
      */
     public void agregarEntero(int entero) {
+        descartarCorridas();
+        if (indiceEnteros != null) {
+            indiceEnteros.agregar(entero);
+        }
         int[] nuevoarreglo = new int[arregloEnteros.length + 1];
 
         for (int i = 0; i < arregloEnteros.length; i++) {
@@ -94,7 +138,9 @@ public class SandboxArreglos
 
         nuevoarreglo[arregloEnteros.length] = entero;
 
-        
+        if (arregloEnteros.length > 0 && entero < arregloEnteros[arregloEnteros.length - 1]) {
+            enterosOrdenados = false;
+        }
         arregloEnteros = nuevoarreglo;
     }
 
@@ -109,6 +155,11 @@ public class SandboxArreglos
             nuevoarreglos[i] = arregloCadenas[i];
         }
         nuevoarreglos[arregloCadenas.length] = cadena;
+        // Con un null en el arreglo no se puede usar la búsqueda binaria, así que el arreglo deja de contar como organizado
+        String ultima = arregloCadenas.length > 0 ? arregloCadenas[arregloCadenas.length - 1] : "";
+        if (cadena == null || ultima == null || cadena.compareTo(ultima) < 0) {
+            cadenasOrdenadas = false;
+        }
         arregloCadenas = nuevoarreglos;
     }
 
@@ -117,6 +168,31 @@ public class SandboxArreglos
      * @param valor El valor que se va eliminar
      */
     public void eliminarEntero(int valor) {
+        if (indiceEnteros != null) {
+            if (!indiceEnteros.contiene(valor)) {
+                return;
+            }
+            indiceEnteros.eliminar(valor);
+        }
+        if (modoCorridas) {
+            if (corridas().eliminar(valor)) {
+                arregloEnteros = null;
+            }
+            return;
+        }
+        if (enterosOrdenados) {
+            int inicio = limiteInferior(valor);
+            int fin = limiteSuperior(valor);
+            if (inicio == fin) {
+                return;
+            }
+            int[] arreglin = new int[arregloEnteros.length - (fin - inicio)];
+            System.arraycopy(arregloEnteros, 0, arreglin, 0, inicio);
+            System.arraycopy(arregloEnteros, fin, arreglin, inicio, arregloEnteros.length - fin);
+            arregloEnteros = arreglin;
+            return;
+        }
+
         int contador = 0;
         
         for (int i = 0; i < arregloEnteros.length; i++) {
@@ -146,6 +222,22 @@ public class SandboxArreglos
      */
     public void eliminarCadena( String cadena )
     {
+        if (cadenasOrdenadas && cadena != null) {
+            int inicio = limiteInferior(cadena);
+            int fin = inicio;
+            while (fin < arregloCadenas.length && arregloCadenas[fin].equals(cadena)) {
+                fin++;
+            }
+            if (inicio == fin) {
+                return;
+            }
+            String[] arreglin = new String[arregloCadenas.length - (fin - inicio)];
+            System.arraycopy(arregloCadenas, 0, arreglin, 0, inicio);
+            System.arraycopy(arregloCadenas, fin, arreglin, inicio, arregloCadenas.length - fin);
+            arregloCadenas = arreglin;
+            return;
+        }
+
         int contador = 0;
         
         for (int i = 0; i < arregloCadenas.length; i++) {
@@ -179,6 +271,10 @@ public class SandboxArreglos
      */
     public void insertarEntero( int entero, int posicion )
     {
+    	descartarCorridas();
+    	if (indiceEnteros != null) {
+    	    indiceEnteros.agregar(entero);
+    	}
     	int [] nuevoarreglo = new int[arregloEnteros.length + 1];
     	if (posicion <0) {posicion = 0;}
     	else if (posicion> arregloEnteros.length)
@@ -190,15 +286,42 @@ public class SandboxArreglos
     		}
     	}
     	
+    if (enterosOrdenados && ((posicion > 0 && nuevoarreglo[posicion - 1] > entero)
+            || (posicion < nuevoarreglo.length - 1 && nuevoarreglo[posicion + 1] < entero))) {
+        enterosOrdenados = false;
+    }
     arregloEnteros = nuevoarreglo;
     }
 
+    /**
+     * Inserta un nuevo entero en el arreglo de enteros, en la posición que le corresponde para que el arreglo siga organizado de menor a mayor.
+     * 
+     * Si el arreglo no estaba organizado, primero se organiza.
+     * @param entero El nuevo valor que debe agregarse
+     */
+    public void insertarOrdenado(int entero) {
+        descartarCorridas();
+        if (indiceEnteros != null) {
+            indiceEnteros.agregar(entero);
+        }
+        if (!enterosOrdenados) {
+            organizarEnteros();
+        }
+        int posicion = limiteSuperior(entero);
+        int[] nuevoarreglo = new int[arregloEnteros.length + 1];
+        System.arraycopy(arregloEnteros, 0, nuevoarreglo, 0, posicion);
+        nuevoarreglo[posicion] = entero;
+        System.arraycopy(arregloEnteros, posicion, nuevoarreglo, posicion + 1, arregloEnteros.length - posicion);
+        arregloEnteros = nuevoarreglo;
+    }
+
     /**
      * Elimina un valor del arreglo de enteros dada su posición.
      * @param posicion La posición donde está el elemento que debe ser eliminado. Si el parámetro posicion no corresponde a ninguna posición del arreglo de enteros, el método
      *        no debe hacer nada.
      */
     public void eliminarEnteroPorPosicion(int posicion) {
+        descartarCorridas();
         if (posicion<0|| posicion >= arregloEnteros.length) {
         	return;
         
@@ -212,6 +335,16 @@ public class SandboxArreglos
                 j++;
             }
         }
+        if (indiceEnteros != null) {
+            // Si el arreglo está organizado, las otras apariciones del valor solo pueden estar al lado
+            int valor = arregloEnteros[posicion];
+            if (!enterosOrdenados) {
+                indiceEnteros = null;
+            } else if ((posicion == 0 || arregloEnteros[posicion - 1] != valor)
+                    && (posicion == arregloEnteros.length - 1 || arregloEnteros[posicion + 1] != valor)) {
+                indiceEnteros.eliminar(valor);
+            }
+        }
         arregloEnteros = nuevoArreglo;
     }
 
@@ -230,6 +363,9 @@ public class SandboxArreglos
             nuevoArreglo[i] = (int) valores[i]; 
         }
         arregloEnteros = nuevoArreglo;
+        corridasEnteros = null;
+        indiceEnteros = null;
+        enterosOrdenados = estaOrdenado(arregloEnteros);
     }
 
     /**
@@ -249,6 +385,7 @@ public class SandboxArreglos
 
         
         arregloCadenas = nuevoArreglo;
+        cadenasOrdenadas = false;
     }
 
 
@@ -259,9 +396,19 @@ public class SandboxArreglos
      */
     public void volverPositivos( )
     {
+    	if (modoCorridas) {
+    	    if (corridas().volverPositivos()) {
+    	        arregloEnteros = null;
+    	        enterosOrdenados = false;
+    	        indiceEnteros = null;
+    	    }
+    	    return;
+    	}
     	for(int i = 0; i<arregloEnteros.length;i++) {
     		if (arregloEnteros[i] <0) {
     			arregloEnteros[i] = arregloEnteros[i] * -1;
+    			enterosOrdenados = false;
+    			indiceEnteros = null;
     		}
     		
     		
@@ -272,6 +419,10 @@ public class SandboxArreglos
      * Modifica el arreglo de enteros para que todos los valores queden organizados de menor a mayor.
      */
     public void organizarEnteros() {
+        if (enterosOrdenados) {
+            return;
+        }
+        descartarCorridas();
         for (int i = 0; i < arregloEnteros.length - 1; i++) {
             for (int j = 0; j < arregloEnteros.length - 1 - i; j++) { 
                 if (arregloEnteros[j] > arregloEnteros[j + 1]) {
@@ -281,12 +432,16 @@ public class SandboxArreglos
                 }
             }
         }
+        enterosOrdenados = true;
     }
 
     /**
      * Modifica el arreglo de cadenas para que todos los valores queden organizados lexicográficamente.
      */
     public void organizarCadenas() {
+        if (cadenasOrdenadas) {
+            return;
+        }
         for (int i = 0; i < this.arregloCadenas.length - 1; i++) {
             for (int j = 0; j < this.arregloCadenas.length - 1 - i ; j++) {
                 
@@ -298,6 +453,7 @@ public class SandboxArreglos
                 }
             }
         }
+        cadenasOrdenadas = true;
     }
 
 
@@ -307,6 +463,15 @@ public class SandboxArreglos
      * @return La cantidad de veces que aparece el valor
      */
     public int contarApariciones(int valor) {
+        if (indiceEnteros != null && !indiceEnteros.contiene(valor)) {
+            return 0;
+        }
+        if (modoCorridas) {
+            return corridas().contar(valor);
+        }
+        if (enterosOrdenados) {
+            return limiteSuperior(valor) - limiteInferior(valor);
+        }
         int contador = 0;
         for (int i = 0; i < arregloEnteros.length; i++) {
             if (arregloEnteros[i] == valor) {
@@ -343,6 +508,20 @@ public class SandboxArreglos
      *         es de tamaño 0.
      */
     public int[] buscarEntero(int valor) {
+        if (indiceEnteros != null && !indiceEnteros.contiene(valor)) {
+            return new int[0];
+        }
+        if (modoCorridas) {
+            return corridas().buscar(valor);
+        }
+        if (enterosOrdenados) {
+            int inicio = limiteInferior(valor);
+            int[] posiciones = new int[limiteSuperior(valor) - inicio];
+            for (int i = 0; i < posiciones.length; i++) {
+                posiciones[i] = inicio + i;
+            }
+            return posiciones;
+        }
         int contador = 0;
         for (int i = 0; i < arregloEnteros.length; i++) {
             if (arregloEnteros[i] == valor) {
@@ -370,10 +549,14 @@ public class SandboxArreglos
      *         en el arreglo de enteros. Si el arreglo está vacío, debe retornar un arreglo vacío.
      */
     public int[] calcularRangoEnteros() {
-        
+        materializarEnteros();
+
         if (arregloEnteros == null || arregloEnteros.length == 0) {
             return new int[0]; 
         }
+        if (enterosOrdenados) {
+            return new int[]{arregloEnteros[0], arregloEnteros[arregloEnteros.length - 1]};
+        }
 
         
         int min = arregloEnteros[0];
@@ -400,6 +583,9 @@ public class SandboxArreglos
      * @return Un mapa con el histograma de valores.
      */
     public HashMap<Integer, Integer> calcularHistograma() {
+        if (modoCorridas) {
+            return corridas().histograma();
+        }
         HashMap<Integer, Integer> histograma = new HashMap<>();
 
         for (int i = 0; i < arregloEnteros.length; i++) {
@@ -421,6 +607,7 @@ public class SandboxArreglos
      * @return La cantidad de enteros diferentes que aparecen más de una vez
      */
    public int contarEnterosRepetidos() {
+        materializarEnteros();
         HashMap<Integer, Integer> frecuencia = new HashMap<>();
         int contadorRepetidos = 0;
 
@@ -444,6 +631,7 @@ public class SandboxArreglos
      * @return True si los arreglos son idénticos y false de lo contrario
      */
    public boolean compararArregloEnteros(int[] otroArreglo) {
+	    materializarEnteros();
 	    if (arregloEnteros.length != otroArreglo.length) {
 	        return false;
 	    }
@@ -466,13 +654,17 @@ public class SandboxArreglos
    
 
    public boolean mismosEnteros(int[] otroArreglo) {
-	    
+	    materializarEnteros();
 	    if (arregloEnteros.length != otroArreglo.length) {
 	        return false;
 	    }
 
 	    
-	    ordenarArreglo(arregloEnteros);
+	    if (!enterosOrdenados) {
+	        descartarCorridas();
+	        ordenarArreglo(arregloEnteros);
+	        enterosOrdenados = true;
+	    }
 	    ordenarArreglo(otroArreglo);
 
 	    
@@ -513,11 +705,701 @@ public class SandboxArreglos
 	public void generarEnteros(int cantidad, int minimo, int maximo) {
 	    
 	    arregloEnteros = new int[cantidad];
+	    corridasEnteros = null;
+	    indiceEnteros = null;
 
 	    
 	    for (int i = 0; i < cantidad; i++) {
 	        
 	        arregloEnteros[i] = minimo + (int)(Math.random() * ((maximo - minimo) + 1));
 	    }
-	}}
+	    enterosOrdenados = estaOrdenado(arregloEnteros);
+	}
+
+    /**
+     * Retorna el k-ésimo menor valor del arreglo de enteros, sin modificar el arreglo.
+     * 
+     * Es decir que seleccionar(0) retorna el mínimo y seleccionar(getCantidadEnteros() - 1) retorna el máximo.
+     * @param k La posición que tendría el valor buscado si el arreglo estuviera organizado de menor a mayor
+     * @return El k-ésimo menor valor
+     * @throws IndexOutOfBoundsException Si k no corresponde a ninguna posición del arreglo de enteros
+     */
+    public int seleccionar(int k) {
+        materializarEnteros();
+        if (k < 0 || k >= arregloEnteros.length) {
+            throw new IndexOutOfBoundsException("Posición inválida: " + k);
+        }
+        if (enterosOrdenados) {
+            return arregloEnteros[k];
+        }
+        int[] copia = getCopiaEnteros();
+        seleccionarEnRango(copia, 0, copia.length - 1, k, profundidadMaxima(copia.length));
+        return copia[k];
+    }
+
+    /**
+     * Retorna los k mayores valores del arreglo de enteros organizados de mayor a menor, sin modificar el arreglo.
+     * @param k La cantidad de valores que se quieren obtener
+     * @return Un arreglo con los k mayores valores. Si k es mayor que el tamaño del arreglo, se retornan todos los valores; si k es menor o igual a 0, el arreglo retornado
+     *         es de tamaño 0.
+     */
+    public int[] topK(int k) {
+        materializarEnteros();
+        int cantidad = Math.max(0, Math.min(k, arregloEnteros.length));
+        int[] mayores = new int[cantidad];
+        if (cantidad == 0) {
+            return mayores;
+        }
+        if (enterosOrdenados) {
+            for (int i = 0; i < cantidad; i++) {
+                mayores[i] = arregloEnteros[arregloEnteros.length - 1 - i];
+            }
+            return mayores;
+        }
+
+        // Montículo de mínimos con los k mayores vistos hasta el momento: la raíz es el menor de ellos
+        int tamano = 0;
+        for (int i = 0; i < arregloEnteros.length; i++) {
+            int valor = arregloEnteros[i];
+            if (tamano < cantidad) {
+                mayores[tamano] = valor;
+                subirEnMonticulo(mayores, tamano);
+                tamano++;
+            } else if (valor > mayores[0]) {
+                mayores[0] = valor;
+                bajarEnMonticulo(mayores, 0, tamano);
+            }
+        }
+
+        // Extraer la raíz repetidamente deja los valores de mayor a menor
+        for (int fin = cantidad - 1; fin > 0; fin--) {
+            int temp = mayores[0];
+            mayores[0] = mayores[fin];
+            mayores[fin] = temp;
+            bajarEnMonticulo(mayores, 0, fin);
+        }
+        return mayores;
+    }
+
+    /**
+     * Calcula un percentil del arreglo de enteros usando el método del rango más cercano, sin modificar el arreglo.
+     * 
+     * Es decir que el percentil p es el menor valor del arreglo tal que al menos el p% de los valores son menores o iguales a él.
+     * @param p El percentil buscado, entre 0 y 100
+     * @return El valor del arreglo que corresponde al percentil
+     * @throws IllegalArgumentException Si p no está entre 0 y 100
+     * @throws IndexOutOfBoundsException Si el arreglo de enteros está vacío
+     */
+    public int percentil(double p) {
+        return seleccionar(posicionPercentil(p, getCantidadEnteros()));
+    }
+
+    /**
+     * Calcula varios percentiles del arreglo de enteros en una sola pasada, sin modificar el arreglo.
+     * 
+     * Cada partición de la selección se aprovecha para todos los percentiles que caen en ella, así que pedir muchos percentiles cuesta poco más que pedir uno.
+     * @param p Los percentiles buscados, cada uno entre 0 y 100
+     * @return Un arreglo donde la posición i tiene el valor del percentil p[i]
+     * @throws IllegalArgumentException Si algún percentil no está entre 0 y 100
+     * @throws IndexOutOfBoundsException Si el arreglo de enteros está vacío y se pidió algún percentil
+     */
+    public int[] percentiles(double... p) {
+        materializarEnteros();
+        int[] posiciones = new int[p.length];
+        for (int i = 0; i < p.length; i++) {
+            posiciones[i] = posicionPercentil(p[i], arregloEnteros.length);
+        }
+        int[] resultado = new int[p.length];
+        if (p.length == 0) {
+            return resultado;
+        }
+        if (arregloEnteros.length == 0) {
+            throw new IndexOutOfBoundsException("El arreglo de enteros está vacío");
+        }
+
+        int[] datos = arregloEnteros;
+        if (!enterosOrdenados) {
+            datos = getCopiaEnteros();
+            int[] buscadas = posiciones.clone();
+            Arrays.sort(buscadas);
+            seleccionarVarios(datos, 0, datos.length - 1, buscadas, 0, buscadas.length - 1, profundidadMaxima(datos.length));
+        }
+        for (int i = 0; i < posiciones.length; i++) {
+            resultado[i] = datos[posiciones[i]];
+        }
+        return resultado;
+    }
+
+    /**
+     * Activa o desactiva el modo corridas para el arreglo de enteros.
+     * 
+     * En modo corridas el arreglo se comprime en corridas de valores iguales consecutivos (valor y longitud), y los métodos contarApariciones, buscarEntero,
+     * calcularHistograma, eliminarEntero y volverPositivos trabajan sobre cada corrida en lugar de sobre cada elemento. Conviene cuando el arreglo tiene muchos valores
+     * repetidos seguidos. Los demás métodos siguen funcionando igual, pero pueden tener que expandir el arreglo.
+     * @param activar True para activar el modo corridas y false para desactivarlo
+     */
+    public void usarCorridas(boolean activar) {
+        if (!activar) {
+            materializarEnteros();
+            corridasEnteros = null;
+        }
+        modoCorridas = activar;
+    }
+
+    /**
+     * Indica si el arreglo de enteros se está manejando en modo corridas
+     * @return True si el modo corridas está activo
+     */
+    public boolean isUsandoCorridas() {
+        return modoCorridas;
+    }
+
+    /**
+     * Retorna el entero que está en una posición del arreglo de enteros.
+     * 
+     * En modo corridas, la posición se busca sobre las corridas sin expandir el arreglo.
+     * @param posicion La posición buscada
+     * @return El valor en esa posición
+     * @throws IndexOutOfBoundsException Si la posición no corresponde a ninguna posición del arreglo de enteros
+     */
+    public int getEntero(int posicion) {
+        if (arregloEnteros == null) {
+            return corridasEnteros.get(posicion);
+        }
+        if (posicion < 0 || posicion >= arregloEnteros.length) {
+            throw new IndexOutOfBoundsException("Posición inválida: " + posicion);
+        }
+        return arregloEnteros[posicion];
+    }
+
+    /**
+     * Indica si un valor aparece en el arreglo de enteros.
+     * 
+     * La primera consulta construye un índice de los valores diferentes; las siguientes no recorren el arreglo.
+     * @param valor El valor buscado
+     * @return True si el valor aparece por lo menos una vez
+     */
+    public boolean contiene(int valor) {
+        return indice().contiene(valor);
+    }
+
+    /**
+     * Indica si todos los valores de un arreglo aparecen en el arreglo de enteros
+     * @param valores Los valores buscados
+     * @return True si todos los valores aparecen por lo menos una vez. Si el arreglo de valores está vacío, retorna true.
+     */
+    public boolean contieneTodos(int[] valores) {
+        BitmapEnteros indice = indice();
+        for (int i = 0; i < valores.length; i++) {
+            if (!indice.contiene(valores[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cuenta cuántos valores diferentes hay en el arreglo de enteros
+     * @return La cantidad de valores diferentes
+     */
+    public int contarDistintos() {
+        return indice().cardinalidad();
+    }
+
+    /**
+     * Calcula la intersección entre los enteros de este sandbox y los de otro, es decir los valores que aparecen en los dos arreglos.
+     * 
+     * Si los dos arreglos están organizados, el resultado también queda organizado; si no, los valores quedan en el orden en que aparecen por primera vez en este arreglo.
+     * @param otro El otro sandbox
+     * @return Un nuevo sandbox cuyo arreglo de enteros tiene cada valor común una sola vez, y cuyo arreglo de cadenas está vacío
+     */
+    public SandboxArreglos interseccion(SandboxArreglos otro) {
+        materializarEnteros();
+        otro.materializarEnteros();
+        if (enterosOrdenados && otro.enterosOrdenados) {
+            return conEnteros(interseccionOrdenada(arregloEnteros, otro.arregloEnteros), true);
+        }
+
+        // El conjunto de hash se construye con el arreglo más pequeño, y el grande solo se recorre
+        ConjuntoEnteros comunes;
+        if (arregloEnteros.length <= otro.arregloEnteros.length) {
+            ConjuntoEnteros propios = ConjuntoEnteros.desde(arregloEnteros);
+            comunes = new ConjuntoEnteros(propios.tamano());
+            for (int i = 0; i < otro.arregloEnteros.length; i++) {
+                if (propios.contiene(otro.arregloEnteros[i])) {
+                    comunes.agregar(otro.arregloEnteros[i]);
+                }
+            }
+        } else {
+            comunes = ConjuntoEnteros.desde(otro.arregloEnteros);
+        }
+
+        ConjuntoEnteros agregados = new ConjuntoEnteros(comunes.tamano());
+        int[] resultado = new int[comunes.tamano()];
+        int cantidad = 0;
+        for (int i = 0; i < arregloEnteros.length && cantidad < resultado.length; i++) {
+            int valor = arregloEnteros[i];
+            if (comunes.contiene(valor) && agregados.agregar(valor)) {
+                resultado[cantidad] = valor;
+                cantidad++;
+            }
+        }
+        return conEnteros(Arrays.copyOf(resultado, cantidad), false);
+    }
+
+    /**
+     * Calcula la unión entre los enteros de este sandbox y los de otro, es decir los valores que aparecen en alguno de los dos arreglos.
+     * 
+     * Si los dos arreglos están organizados, el resultado también queda organizado; si no, quedan primero los valores de este arreglo y después los del otro, en el orden
+     * en que aparecen por primera vez.
+     * @param otro El otro sandbox
+     * @return Un nuevo sandbox cuyo arreglo de enteros tiene cada valor una sola vez, y cuyo arreglo de cadenas está vacío
+     */
+    public SandboxArreglos union(SandboxArreglos otro) {
+        materializarEnteros();
+        otro.materializarEnteros();
+        if (enterosOrdenados && otro.enterosOrdenados) {
+            return conEnteros(unionOrdenada(arregloEnteros, otro.arregloEnteros), true);
+        }
+
+        ConjuntoEnteros agregados = new ConjuntoEnteros(arregloEnteros.length + otro.arregloEnteros.length);
+        int[] resultado = new int[arregloEnteros.length + otro.arregloEnteros.length];
+        int cantidad = 0;
+        for (int i = 0; i < arregloEnteros.length; i++) {
+            if (agregados.agregar(arregloEnteros[i])) {
+                resultado[cantidad] = arregloEnteros[i];
+                cantidad++;
+            }
+        }
+        for (int i = 0; i < otro.arregloEnteros.length; i++) {
+            if (agregados.agregar(otro.arregloEnteros[i])) {
+                resultado[cantidad] = otro.arregloEnteros[i];
+                cantidad++;
+            }
+        }
+        return conEnteros(Arrays.copyOf(resultado, cantidad), false);
+    }
+
+    /**
+     * Calcula la diferencia entre los enteros de este sandbox y los de otro, es decir los valores que aparecen en este arreglo pero no en el otro.
+     * 
+     * Si los dos arreglos están organizados, el resultado también queda organizado; si no, los valores quedan en el orden en que aparecen por primera vez en este arreglo.
+     * @param otro El otro sandbox
+     * @return Un nuevo sandbox cuyo arreglo de enteros tiene cada valor de la diferencia una sola vez, y cuyo arreglo de cadenas está vacío
+     */
+    public SandboxArreglos diferencia(SandboxArreglos otro) {
+        materializarEnteros();
+        otro.materializarEnteros();
+        if (enterosOrdenados && otro.enterosOrdenados) {
+            return conEnteros(diferenciaOrdenada(arregloEnteros, otro.arregloEnteros), true);
+        }
+
+        ConjuntoEnteros excluidos = ConjuntoEnteros.desde(otro.arregloEnteros);
+        ConjuntoEnteros agregados = new ConjuntoEnteros(arregloEnteros.length);
+        int[] resultado = new int[arregloEnteros.length];
+        int cantidad = 0;
+        for (int i = 0; i < arregloEnteros.length; i++) {
+            int valor = arregloEnteros[i];
+            if (!excluidos.contiene(valor) && agregados.agregar(valor)) {
+                resultado[cantidad] = valor;
+                cantidad++;
+            }
+        }
+        return conEnteros(Arrays.copyOf(resultado, cantidad), false);
+    }
+
+    /**
+     * Retorna la primera posición del arreglo de enteros (que debe estar organizado) cuyo valor no es menor que el valor dado.
+     * @param valor El valor buscado
+     * @return La posición del primer valor mayor o igual al buscado, o el tamaño del arreglo si no hay ninguno
+     */
+    private int limiteInferior(int valor) {
+        int inicio = 0;
+        int fin = arregloEnteros.length;
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (arregloEnteros[medio] < valor) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Retorna la primera posición del arreglo de enteros (que debe estar organizado) cuyo valor es mayor que el valor dado.
+     * @param valor El valor buscado
+     * @return La posición del primer valor mayor al buscado, o el tamaño del arreglo si no hay ninguno
+     */
+    private int limiteSuperior(int valor) {
+        int inicio = 0;
+        int fin = arregloEnteros.length;
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (arregloEnteros[medio] <= valor) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Retorna la primera posición del arreglo de cadenas (que debe estar organizado) cuya cadena no es lexicográficamente menor que la cadena dada.
+     * @param cadena La cadena buscada
+     * @return La posición de la primera cadena mayor o igual a la buscada, o el tamaño del arreglo si no hay ninguna
+     */
+    private int limiteInferior(String cadena) {
+        int inicio = 0;
+        int fin = arregloCadenas.length;
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (arregloCadenas[medio].compareTo(cadena) < 0) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Se asegura de que arregloEnteros tenga los valores actuales, expandiendo las corridas si es necesario.
+     */
+    private void materializarEnteros() {
+        if (arregloEnteros == null) {
+            arregloEnteros = corridasEnteros.expandir();
+        }
+    }
+
+    /**
+     * Se debe llamar antes de modificar arregloEnteros directamente: deja los valores en el arreglo y descarta las corridas, que se volverán a construir si se necesitan.
+     */
+    private void descartarCorridas() {
+        materializarEnteros();
+        corridasEnteros = null;
+    }
+
+    /**
+     * Retorna las corridas del arreglo de enteros, construyéndolas si es necesario. Solo se debe usar en modo corridas.
+     * @return Las corridas del arreglo de enteros
+     */
+    private CorridasEnteros corridas() {
+        if (corridasEnteros == null) {
+            corridasEnteros = new CorridasEnteros(arregloEnteros);
+        }
+        return corridasEnteros;
+    }
+
+    /**
+     * Retorna el índice de valores del arreglo de enteros, construyéndolo si es necesario.
+     * @return El índice de valores diferentes
+     */
+    private BitmapEnteros indice() {
+        if (indiceEnteros == null) {
+            materializarEnteros();
+            indiceEnteros = new BitmapEnteros(arregloEnteros);
+        }
+        return indiceEnteros;
+    }
+
+    /**
+     * Indica si un arreglo de enteros está organizado de menor a mayor.
+     * @param arreglo El arreglo que se va a revisar
+     * @return True si cada valor es menor o igual al siguiente
+     */
+    private static boolean estaOrdenado(int[] arreglo) {
+        for (int i = 1; i < arreglo.length; i++) {
+            if (arreglo[i - 1] > arreglo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Crea un sandbox con un arreglo de enteros dado y el arreglo de cadenas vacío
+     * @param enteros El arreglo de enteros, que pasa a ser del nuevo sandbox (no se copia)
+     * @param ordenados Si el arreglo está organizado de menor a mayor
+     * @return El nuevo sandbox
+     */
+    private static SandboxArreglos conEnteros(int[] enteros, boolean ordenados) {
+        SandboxArreglos sandbox = new SandboxArreglos();
+        sandbox.arregloEnteros = enteros;
+        sandbox.enterosOrdenados = ordenados || enteros.length < 2;
+        return sandbox;
+    }
+
+    /**
+     * Busca, a partir de una posición de un arreglo organizado, la primera posición cuyo valor no es menor que el valor dado.
+     * 
+     * Primero avanza dando saltos que se duplican (1, 2, 4, ...) hasta pasarse del valor, y luego hace una búsqueda binaria en el último salto. Así el costo depende de
+     * la distancia recorrida y no del tamaño del arreglo, lo que conviene cuando se buscan muchos valores crecientes en un arreglo mucho más grande.
+     * @param arreglo El arreglo organizado
+     * @param desde La posición desde la que se busca
+     * @param valor El valor buscado
+     * @return La primera posición desde 'desde' con un valor mayor o igual, o el tamaño del arreglo si no hay ninguna
+     */
+    private static int galopar(int[] arreglo, int desde, int valor) {
+        int salto = 1;
+        int inicio = desde;
+        int fin = desde;
+        while (fin < arreglo.length && arreglo[fin] < valor) {
+            inicio = fin + 1;
+            fin = desde + salto;
+            salto <<= 1;
+        }
+        fin = Math.min(fin, arreglo.length);
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (arreglo[medio] < valor) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Calcula la intersección de dos arreglos organizados recorriendo el más pequeño y galopando sobre el más grande
+     * @param a Un arreglo organizado
+     * @param b Otro arreglo organizado
+     * @return Un arreglo organizado con los valores comunes, sin repetidos
+     */
+    private static int[] interseccionOrdenada(int[] a, int[] b) {
+        int[] pequeno = a.length <= b.length ? a : b;
+        int[] grande = a.length <= b.length ? b : a;
+        int[] resultado = new int[pequeno.length];
+        int cantidad = 0;
+        int j = 0;
+        for (int i = 0; i < pequeno.length && j < grande.length; i++) {
+            int valor = pequeno[i];
+            if (i > 0 && valor == pequeno[i - 1]) {
+                continue;
+            }
+            j = galopar(grande, j, valor);
+            if (j < grande.length && grande[j] == valor) {
+                resultado[cantidad] = valor;
+                cantidad++;
+            }
+        }
+        return Arrays.copyOf(resultado, cantidad);
+    }
 
+    /**
+     * Calcula la unión de dos arreglos organizados mezclándolos
+     * @param a Un arreglo organizado
+     * @param b Otro arreglo organizado
+     * @return Un arreglo organizado con los valores de los dos, sin repetidos
+     */
+    private static int[] unionOrdenada(int[] a, int[] b) {
+        int[] resultado = new int[a.length + b.length];
+        int cantidad = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            int valor;
+            if (j == b.length || (i < a.length && a[i] <= b[j])) {
+                valor = a[i];
+                i++;
+            } else {
+                valor = b[j];
+                j++;
+            }
+            if (cantidad == 0 || resultado[cantidad - 1] != valor) {
+                resultado[cantidad] = valor;
+                cantidad++;
+            }
+        }
+        return Arrays.copyOf(resultado, cantidad);
+    }
+
+    /**
+     * Calcula la diferencia de dos arreglos organizados recorriendo el primero y galopando sobre el segundo
+     * @param a El arreglo organizado cuyos valores se conservan
+     * @param b El arreglo organizado cuyos valores se quitan
+     * @return Un arreglo organizado con los valores de a que no están en b, sin repetidos
+     */
+    private static int[] diferenciaOrdenada(int[] a, int[] b) {
+        int[] resultado = new int[a.length];
+        int cantidad = 0;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            int valor = a[i];
+            if (i > 0 && valor == a[i - 1]) {
+                continue;
+            }
+            j = galopar(b, j, valor);
+            if (j == b.length || b[j] != valor) {
+                resultado[cantidad] = valor;
+                cantidad++;
+            }
+        }
+        return Arrays.copyOf(resultado, cantidad);
+    }
+    /**
+     * Calcula la posición (en el arreglo organizado) que corresponde a un percentil según el método del rango más cercano.
+     * @param p El percentil, entre 0 y 100
+     * @param cantidad La cantidad de valores
+     * @return La posición del valor que corresponde al percentil
+     */
+    private static int posicionPercentil(double p, int cantidad) {
+        if (!(p >= 0 && p <= 100)) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + p);
+        }
+        int rango = (int) Math.ceil(p / 100.0 * cantidad);
+        return Math.max(0, rango - 1);
+    }
+
+    /**
+     * Calcula cuántas particiones puede hacer la selección antes de pasar a organizar el rango completo, para no degradarse a tiempo cuadrático con pivotes malos.
+     * @param cantidad La cantidad de valores
+     * @return El doble del logaritmo en base 2 de la cantidad
+     */
+    private static int profundidadMaxima(int cantidad) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(cantidad));
+    }
+
+    /**
+     * Reorganiza el rango [inicio, fin] del arreglo de forma que en la posición k quede el valor que quedaría allí si el rango estuviera organizado, con los menores antes
+     * y los mayores después (introselect).
+     * @param arreglo El arreglo que se va a reorganizar
+     * @param inicio La primera posición del rango
+     * @param fin La última posición del rango
+     * @param k La posición buscada, dentro del rango
+     * @param profundidad La cantidad de particiones que quedan antes de organizar el rango completo
+     */
+    private static void seleccionarEnRango(int[] arreglo, int inicio, int fin, int k, int profundidad) {
+        while (fin > inicio) {
+            if (profundidad-- == 0) {
+                Arrays.sort(arreglo, inicio, fin + 1);
+                return;
+            }
+            long limites = particionar(arreglo, inicio, fin);
+            int menores = (int) (limites >>> 32);
+            int mayores = (int) limites;
+            if (k < menores) {
+                fin = menores - 1;
+            } else if (k > mayores) {
+                inicio = mayores + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Igual que seleccionarEnRango, pero para varias posiciones a la vez: cada partición reparte las posiciones buscadas entre los dos lados.
+     * @param arreglo El arreglo que se va a reorganizar
+     * @param inicio La primera posición del rango
+     * @param fin La última posición del rango
+     * @param buscadas Las posiciones buscadas, organizadas de menor a mayor
+     * @param primera La primera posición buscada que cae dentro del rango
+     * @param ultima La última posición buscada que cae dentro del rango
+     * @param profundidad La cantidad de particiones que quedan antes de organizar el rango completo
+     */
+    private static void seleccionarVarios(int[] arreglo, int inicio, int fin, int[] buscadas, int primera, int ultima, int profundidad) {
+        if (primera > ultima || fin <= inicio) {
+            return;
+        }
+        if (primera == ultima || buscadas[primera] == buscadas[ultima]) {
+            seleccionarEnRango(arreglo, inicio, fin, buscadas[primera], profundidad);
+            return;
+        }
+        if (profundidad == 0) {
+            Arrays.sort(arreglo, inicio, fin + 1);
+            return;
+        }
+        long limites = particionar(arreglo, inicio, fin);
+        int menores = (int) (limites >>> 32);
+        int mayores = (int) limites;
+
+        int corte = primera;
+        while (corte <= ultima && buscadas[corte] < menores) {
+            corte++;
+        }
+        seleccionarVarios(arreglo, inicio, menores - 1, buscadas, primera, corte - 1, profundidad - 1);
+        while (corte <= ultima && buscadas[corte] <= mayores) {
+            corte++;
+        }
+        seleccionarVarios(arreglo, mayores + 1, fin, buscadas, corte, ultima, profundidad - 1);
+    }
+
+    /**
+     * Particiona el rango [inicio, fin] en tres partes alrededor de la mediana de tres valores: menores, iguales y mayores al pivote.
+     * @param arreglo El arreglo que se va a particionar
+     * @param inicio La primera posición del rango
+     * @param fin La última posición del rango
+     * @return La primera posición de los valores iguales al pivote en los 32 bits altos y la última en los 32 bits bajos
+     */
+    private static long particionar(int[] arreglo, int inicio, int fin) {
+        int medio = (inicio + fin) >>> 1;
+        int a = arreglo[inicio];
+        int b = arreglo[medio];
+        int c = arreglo[fin];
+        int pivote = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+        int menores = inicio;
+        int i = inicio;
+        int mayores = fin;
+        while (i <= mayores) {
+            int valor = arreglo[i];
+            if (valor < pivote) {
+                arreglo[i++] = arreglo[menores];
+                arreglo[menores++] = valor;
+            } else if (valor > pivote) {
+                arreglo[i] = arreglo[mayores];
+                arreglo[mayores--] = valor;
+            } else {
+                i++;
+            }
+        }
+        return ((long) menores << 32) | (mayores & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Sube un valor en un montículo de mínimos hasta que su padre sea menor o igual a él.
+     * @param monticulo El arreglo que contiene el montículo
+     * @param posicion La posición del valor que se va a subir
+     */
+    private static void subirEnMonticulo(int[] monticulo, int posicion) {
+        int valor = monticulo[posicion];
+        while (posicion > 0) {
+            int padre = (posicion - 1) >>> 1;
+            if (monticulo[padre] <= valor) {
+                break;
+            }
+            monticulo[posicion] = monticulo[padre];
+            posicion = padre;
+        }
+        monticulo[posicion] = valor;
+    }
+
+    /**
+     * Baja un valor en un montículo de mínimos hasta que sus hijos sean mayores o iguales a él.
+     * @param monticulo El arreglo que contiene el montículo
+     * @param posicion La posición del valor que se va a bajar
+     * @param tamano La cantidad de valores en el montículo
+     */
+    private static void bajarEnMonticulo(int[] monticulo, int posicion, int tamano) {
+        int valor = monticulo[posicion];
+        while (true) {
+            int hijo = 2 * posicion + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && monticulo[hijo + 1] < monticulo[hijo]) {
+                hijo++;
+            }
+            if (valor <= monticulo[hijo]) {
+                break;
+            }
+            monticulo[posicion] = monticulo[hijo];
+            posicion = hijo;
+        }
+        monticulo[posicion] = valor;
+    }
+}
@@ -0,0 +1,396 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Aplica de forma asíncrona, desde un solo hilo escritor, las modificaciones que muchos hilos hacen sobre un SandboxListas.
+ *
+ * Las operaciones se encolan en un buffer circular preasignado: cada hilo reserva una posición con un incremento atómico, escribe el registro de la operación y lo
+ * publica, sin tomar candados. El hilo escritor consume los registros en orden y los aplica sobre el sandbox; los agregados consecutivos se aplican juntos en una sola
+ * operación. Cada operación retorna un CompletableFuture que se completa cuando ya fue aplicada.
+ *
+ * Si el buffer está lleno, los hilos que encolan esperan a que el escritor libere posiciones, así que el buffer nunca crece.
+ *
+ * Mientras la instancia esté abierta, el sandbox solo debe usarse a través de ella (para consultarlo, ver consultar).
+ */
+public class SandboxListasAsincrono implements AutoCloseable
+{
+    /**
+     * La capacidad del buffer si no se indica otra.
+     */
+    public static final int CAPACIDAD = 1 << 12;
+
+    private static final int AGREGAR = 0;
+
+    private static final int ELIMINAR = 1;
+
+    private static final int INSERTAR = 2;
+
+    private static final int ELIMINAR_POSICION = 3;
+
+    private static final int CONSULTAR = 4;
+
+    /**
+     * El valor que toma siguiente cuando el escritor se detiene. Es mayor que cualquier número de secuencia real, así que los hilos que encolan después saben que la
+     * instancia se cerró.
+     */
+    private static final long SELLADA = 1L << 62;
+
+    /**
+     * El sandbox sobre el que se aplican las operaciones. Solo lo usa el hilo escritor.
+     */
+    private final SandboxListas sandbox;
+
+    /**
+     * El tipo de operación de cada registro del buffer.
+     */
+    private final int[] tipos;
+
+    /**
+     * El entero de cada registro del buffer.
+     */
+    private final int[] enteros;
+
+    /**
+     * La posición de cada registro del buffer, para las operaciones que la usan.
+     */
+    private final int[] posiciones;
+
+    /**
+     * La función de cada registro de consulta del buffer.
+     */
+    private final Function<?, ?>[] consultas;
+
+    /**
+     * El futuro que se completa cuando se aplica cada registro del buffer.
+     */
+    private final CompletableFuture<?>[] futuros;
+
+    /**
+     * El número de secuencia del registro publicado en cada posición del buffer, o -1 si todavía no se ha publicado ninguno.
+     */
+    private final AtomicLongArray publicados;
+
+    /**
+     * mascara = capacidad - 1, para calcular la posición de un número de secuencia.
+     */
+    private final int mascara;
+
+    /**
+     * El número de secuencia que se le asignará al próximo registro.
+     */
+    private final AtomicLong siguiente;
+
+    /**
+     * El número de secuencia del próximo registro que aplicará el escritor. Las posiciones de los registros anteriores ya se pueden reutilizar.
+     */
+    private volatile long consumidos;
+
+    /**
+     * Indica si el escritor está detenido esperando registros.
+     */
+    private volatile boolean escritorEsperando;
+
+    private volatile boolean cerrado;
+
+    /**
+     * Los enteros de los agregados consecutivos que se aplican juntos.
+     */
+    private final int[] lote;
+
+    private final Thread escritor;
+
+    /**
+     * Crea una tubería con un buffer de CAPACIDAD registros sobre un sandbox nuevo con las listas vacías
+     */
+    public SandboxListasAsincrono( )
+    {
+        this( new SandboxListas( ), CAPACIDAD );
+    }
+
+    /**
+     * Crea una tubería sobre un sandbox y arranca el hilo escritor
+     * @param sandbox El sandbox sobre el que se aplican las operaciones
+     * @param capacidad La cantidad mínima de registros del buffer. Se redondea a una potencia de 2.
+     */
+    public SandboxListasAsincrono( SandboxListas sandbox, int capacidad )
+    {
+        this.sandbox = sandbox;
+        int tamano = 2;
+        while( tamano < capacidad && tamano < ( 1 << 24 ) )
+        {
+            tamano <<= 1;
+        }
+        mascara = tamano - 1;
+        tipos = new int[tamano];
+        enteros = new int[tamano];
+        posiciones = new int[tamano];
+        consultas = new Function<?, ?>[tamano];
+        futuros = new CompletableFuture<?>[tamano];
+        publicados = new AtomicLongArray( tamano );
+        for( int i = 0; i < tamano; i++ )
+        {
+            publicados.set( i, -1 );
+        }
+        lote = new int[tamano];
+        siguiente = new AtomicLong( );
+        escritor = new Thread( this::escribir, "SandboxListasAsincrono" );
+        escritor.setDaemon( true );
+        escritor.start( );
+    }
+
+    /**
+     * Encola agregar un valor al final de la lista de enteros
+     * @param entero El valor que se va a agregar
+     * @return Un futuro que se completa cuando el valor ya fue agregado
+     * @see SandboxListas#agregarEntero(int)
+     */
+    public CompletableFuture<Void> agregarEntero( int entero )
+    {
+        return encolar( AGREGAR, entero, 0, null );
+    }
+
+    /**
+     * Encola eliminar todas las apariciones de un valor de la lista de enteros
+     * @param valor El valor que se va a eliminar
+     * @return Un futuro que se completa cuando el valor ya fue eliminado
+     * @see SandboxListas#eliminarEntero(int)
+     */
+    public CompletableFuture<Void> eliminarEntero( int valor )
+    {
+        return encolar( ELIMINAR, valor, 0, null );
+    }
+
+    /**
+     * Encola insertar un entero en una posición de la lista de enteros
+     * @param entero El valor que se va a insertar
+     * @param posicion La posición donde debe quedar
+     * @return Un futuro que se completa cuando el valor ya fue insertado
+     * @see SandboxListas#insertarEntero(int, int)
+     */
+    public CompletableFuture<Void> insertarEntero( int entero, int posicion )
+    {
+        return encolar( INSERTAR, entero, posicion, null );
+    }
+
+    /**
+     * Encola eliminar el entero de una posición de la lista de enteros
+     * @param posicion La posición
+     * @return Un futuro que se completa cuando el valor ya fue eliminado
+     * @see SandboxListas#eliminarEnteroPorPosicion(int)
+     */
+    public CompletableFuture<Void> eliminarEnteroPorPosicion( int posicion )
+    {
+        return encolar( ELIMINAR_POSICION, 0, posicion, null );
+    }
+
+    /**
+     * Encola una consulta sobre el sandbox. La consulta se ejecuta en el hilo escritor, después de todas las operaciones encoladas antes que ella, así que ve el
+     * sandbox en un estado consistente.
+     * @param consulta La función que recibe el sandbox y calcula el resultado. No debe guardar referencias al sandbox.
+     * @return Un futuro con el resultado de la consulta
+     */
+    public <T> CompletableFuture<T> consultar( Function<SandboxListas, T> consulta )
+    {
+        return encolar( CONSULTAR, 0, 0, consulta );
+    }
+
+    /**
+     * Deja de recibir operaciones, espera a que el escritor aplique las que ya estaban encoladas y lo detiene. Si el hilo que cierra se interrumpe mientras espera, deja
+     * de esperar y conserva la marca de interrupción; el escritor termina de todas formas las operaciones pendientes.
+     */
+    @Override
+    public void close( )
+    {
+        cerrado = true;
+        LockSupport.unpark( escritor );
+        try
+        {
+            escritor.join( );
+        }
+        catch( InterruptedException e )
+        {
+            Thread.currentThread( ).interrupt( );
+        }
+    }
+
+    /**
+     * Reserva una posición del buffer, escribe un registro y lo publica. Si el buffer está lleno, espera a que el escritor libere la posición.
+     * @param tipo El tipo de operación
+     * @param entero El entero de la operación
+     * @param posicion La posición de la operación
+     * @param consulta La función de la consulta, o null si no es una consulta
+     * @return El futuro del registro
+     * @throws IllegalStateException Si la instancia ya se cerró
+     */
+    private <T> CompletableFuture<T> encolar( int tipo, int entero, int posicion, Function<SandboxListas, T> consulta )
+    {
+        long secuencia = cerrado ? SELLADA : siguiente.getAndIncrement( );
+        if( secuencia >= SELLADA )
+        {
+            throw new IllegalStateException( "La tubería ya se cerró" );
+        }
+        while( secuencia - consumidos > mascara )
+        {
+            Thread.yield( );
+        }
+        int i = ( int )secuencia & mascara;
+        CompletableFuture<T> futuro = new CompletableFuture<T>( );
+        tipos[ i ] = tipo;
+        enteros[ i ] = entero;
+        posiciones[ i ] = posicion;
+        consultas[ i ] = consulta;
+        futuros[ i ] = futuro;
+        publicados.set( i, secuencia );
+        if( escritorEsperando )
+        {
+            LockSupport.unpark( escritor );
+        }
+        return futuro;
+    }
+
+    /**
+     * El ciclo del hilo escritor: aplica los registros en orden hasta que la instancia se cierra y no quedan registros pendientes.
+     */
+    private void escribir( )
+    {
+        long secuencia = consumidos;
+        while( true )
+        {
+            int i = ( int )secuencia & mascara;
+            if( publicados.get( i ) != secuencia )
+            {
+                // Solo se detiene si ningún hilo ha reservado el registro esperado; si alguno lo reservó, lo va a publicar
+                if( cerrado && siguiente.compareAndSet( secuencia, SELLADA ) )
+                {
+                    return;
+                }
+                esperarRegistro( i, secuencia );
+                continue;
+            }
+            if( tipos[ i ] == AGREGAR )
+            {
+                secuencia = aplicarAgregados( secuencia );
+            }
+            else
+            {
+                aplicar( i );
+                secuencia++;
+            }
+            consumidos = secuencia;
+        }
+    }
+
+    /**
+     * Detiene al escritor hasta que se publique un registro. Primero revisa de nuevo después de marcarse como esperando, para no quedarse dormido si el registro se
+     * publicó justo antes: quien publica después de esa revisión ve la marca y lo despierta, así que no hace falta un tiempo máximo de espera.
+     * @param i La posición del registro esperado
+     * @param secuencia El número de secuencia del registro esperado
+     */
+    private void esperarRegistro( int i, long secuencia )
+    {
+        escritorEsperando = true;
+        if( publicados.get( i ) != secuencia && !cerrado )
+        {
+            LockSupport.park( this );
+        }
+        escritorEsperando = false;
+    }
+
+    /**
+     * Aplica juntos los agregados publicados consecutivos desde un número de secuencia. Si la operación falla, todos los futuros del lote fallan con el mismo error
+     * (algunos valores pueden haber quedado agregados) y el escritor sigue con el registro siguiente.
+     * @param desde El número de secuencia del primer agregado, que ya está publicado
+     * @return El número de secuencia siguiente al último agregado aplicado
+     */
+    private long aplicarAgregados( long desde )
+    {
+        long secuencia = desde;
+        int cantidad = 0;
+        while( cantidad < lote.length )
+        {
+            int i = ( int )secuencia & mascara;
+            if( publicados.get( i ) != secuencia || tipos[ i ] != AGREGAR )
+            {
+                break;
+            }
+            lote[ cantidad ] = enteros[ i ];
+            cantidad++;
+            secuencia++;
+        }
+        Throwable error = null;
+        try
+        {
+            sandbox.agregarEnteros( lote, cantidad );
+        }
+        catch( Throwable e )
+        {
+            error = e;
+        }
+        for( long s = desde; s < secuencia; s++ )
+        {
+            completar( ( int )s & mascara, null, error );
+        }
+        return secuencia;
+    }
+
+    /**
+     * Aplica un registro que no es un agregado. Cualquier error de la operación, incluso un Error, falla solo su futuro, para que el escritor siga vivo.
+     * @param i La posición del registro
+     */
+    @SuppressWarnings("unchecked")
+    private void aplicar( int i )
+    {
+        Object resultado = null;
+        Throwable error = null;
+        try
+        {
+            switch( tipos[ i ] )
+            {
+                case ELIMINAR:
+                    sandbox.eliminarEntero( enteros[ i ] );
+                    break;
+                case INSERTAR:
+                    sandbox.insertarEntero( enteros[ i ], posiciones[ i ] );
+                    break;
+                case ELIMINAR_POSICION:
+                    sandbox.eliminarEnteroPorPosicion( posiciones[ i ] );
+                    break;
+                default:
+                    resultado = ( ( Function<SandboxListas, ?> )consultas[ i ] ).apply( sandbox );
+                    break;
+            }
+        }
+        catch( Throwable e )
+        {
+            error = e;
+        }
+        completar( i, resultado, error );
+    }
+
+    /**
+     * Completa el futuro de un registro y libera sus referencias
+     * @param i La posición del registro
+     * @param resultado El resultado del futuro
+     * @param error El error con el que falló la operación, o null si no falló
+     */
+    @SuppressWarnings("unchecked")
+    private void completar( int i, Object resultado, Throwable error )
+    {
+        CompletableFuture<Object> futuro = ( CompletableFuture<Object> )futuros[ i ];
+        futuros[ i ] = null;
+        consultas[ i ] = null;
+        if( error == null )
+        {
+            futuro.complete( resultado );
+        }
+        else
+        {
+            futuro.completeExceptionally( error );
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Versión de SandboxListas que puede usarse desde varios hilos al mismo tiempo.
+ *
+ * Agregar enteros o cadenas no bloquea a los demás hilos que agregan: cada hilo escribe en una de varias franjas (buffers con su propio candado), escogida según el
+ * hilo, y los valores pendientes de las franjas se pasan al sandbox principal solo cuando se ejecuta cualquier otra operación. Las demás operaciones toman el candado
+ * del sandbox principal, pasan primero los valores pendientes y luego trabajan sobre una lista completa, así que cada consulta ve un estado consistente.
+ *
+ * Los valores que agrega un mismo hilo quedan en el orden en que los agregó. El orden relativo entre valores agregados por hilos diferentes sin otra sincronización
+ * entre ellos no está definido.
+ */
+public class SandboxListasConcurrente
+{
+    /**
+     * Un buffer de valores agregados que todavía no se han pasado al sandbox principal.
+     */
+    private static class Franja
+    {
+        int[] enteros = new int[16];
+
+        int cantidadEnteros;
+
+        List<String> cadenas = new ArrayList<String>( );
+    }
+
+    /**
+     * El sandbox con las listas completas. Solo se usa con el candado de esta instancia.
+     */
+    private final SandboxListas sandbox;
+
+    /**
+     * Las franjas para agregar valores. La cantidad es una potencia de 2.
+     */
+    private final Franja[] franjas;
+
+    /**
+     * Crea un sandbox concurrente con las listas vacías, guardadas como en SandboxListas, y una franja por cada procesador disponible
+     */
+    public SandboxListasConcurrente( )
+    {
+        this( new SandboxListas( ), Runtime.getRuntime( ).availableProcessors( ) );
+    }
+
+    /**
+     * Crea un sandbox concurrente con las listas vacías
+     * @param almacenamientoEnteros La forma en que se guarda la lista de enteros
+     * @param almacenamientoCadenas La forma en que se guarda la lista de cadenas
+     * @param cantidadFranjas La cantidad mínima de franjas para agregar valores. Conviene que sea parecida a la cantidad de hilos que agregan al mismo tiempo.
+     */
+    public SandboxListasConcurrente( Almacenamiento almacenamientoEnteros, Almacenamiento almacenamientoCadenas, int cantidadFranjas )
+    {
+        this( new SandboxListas( almacenamientoEnteros, almacenamientoCadenas ), cantidadFranjas );
+    }
+
+    private SandboxListasConcurrente( SandboxListas sandbox, int cantidadFranjas )
+    {
+        this.sandbox = sandbox;
+        int cantidad = 1;
+        while( cantidad < cantidadFranjas && cantidad < ( 1 << 16 ) )
+        {
+            cantidad <<= 1;
+        }
+        franjas = new Franja[cantidad];
+        for( int i = 0; i < cantidad; i++ )
+        {
+            franjas[ i ] = new Franja( );
+        }
+    }
+
+    /**
+     * Agrega un nuevo valor al final de la lista de enteros, sin bloquear a los demás hilos que agregan valores
+     * @param entero El valor que se va a agregar
+     */
+    public void agregarEntero( int entero )
+    {
+        Franja franja = franjaActual( );
+        synchronized( franja )
+        {
+            if( franja.cantidadEnteros == franja.enteros.length )
+            {
+                franja.enteros = Arrays.copyOf( franja.enteros, 2 * franja.enteros.length );
+            }
+            franja.enteros[ franja.cantidadEnteros ] = entero;
+            franja.cantidadEnteros++;
+        }
+    }
+
+    /**
+     * Agrega una nueva cadena al final de la lista de cadenas, sin bloquear a los demás hilos que agregan valores
+     * @param cadena La cadena que se va a agregar
+     */
+    public void agregarCadena( String cadena )
+    {
+        Franja franja = franjaActual( );
+        synchronized( franja )
+        {
+            franja.cadenas.add( cadena );
+        }
+    }
+
+    /**
+     * Retorna una copia de la lista de enteros
+     * @return Una copia de la lista de enteros
+     * @see SandboxListas#getCopiaEnteros()
+     */
+    public synchronized List<Integer> getCopiaEnteros( )
+    {
+        pasarPendientes( );
+        return sandbox.getCopiaEnteros( );
+    }
+
+    /**
+     * Retorna una copia de la lista de cadenas
+     * @return Una copia de la lista de cadenas
+     * @see SandboxListas#getCopiaCadenas()
+     */
+    public synchronized List<String> getCopiaCadenas( )
+    {
+        pasarPendientes( );
+        return sandbox.getCopiaCadenas( );
+    }
+
+    /**
+     * Retorna un arreglo con los valores de la lista de enteros
+     * @return Un arreglo con los enteros
+     * @see SandboxListas#getEnterosComoArreglo()
+     */
+    public synchronized int[] getEnterosComoArreglo( )
+    {
+        pasarPendientes( );
+        return sandbox.getEnterosComoArreglo( );
+    }
+
+    /**
+     * Retorna la cantidad de valores en la lista de enteros
+     * @return La cantidad de enteros
+     */
+    public synchronized int getCantidadEnteros( )
+    {
+        pasarPendientes( );
+        return sandbox.getCantidadEnteros( );
+    }
+
+    /**
+     * Retorna la cantidad de valores en la lista de cadenas
+     * @return La cantidad de cadenas
+     */
+    public synchronized int getCantidadCadenas( )
+    {
+        pasarPendientes( );
+        return sandbox.getCantidadCadenas( );
+    }
+
+    /**
+     * Elimina todas las apariciones de un valor de la lista de enteros
+     * @param valor El valor que se va a eliminar
+     * @see SandboxListas#eliminarEntero(int)
+     */
+    public synchronized void eliminarEntero( int valor )
+    {
+        pasarPendientes( );
+        sandbox.eliminarEntero( valor );
+    }
+
+    /**
+     * Elimina todas las apariciones de una cadena de la lista de cadenas
+     * @param cadena La cadena que se va a eliminar
+     * @see SandboxListas#eliminarCadena(String)
+     */
+    public synchronized void eliminarCadena( String cadena )
+    {
+        pasarPendientes( );
+        sandbox.eliminarCadena( cadena );
+    }
+
+    /**
+     * Inserta un entero en una posición de la lista de enteros
+     * @param entero El valor que se va a insertar
+     * @param posicion La posición donde debe quedar
+     * @see SandboxListas#insertarEntero(int, int)
+     */
+    public synchronized void insertarEntero( int entero, int posicion )
+    {
+        pasarPendientes( );
+        sandbox.insertarEntero( entero, posicion );
+    }
+
+    /**
+     * Elimina el entero en una posición de la lista de enteros
+     * @param posicion La posición
+     * @see SandboxListas#eliminarEnteroPorPosicion(int)
+     */
+    public synchronized void eliminarEnteroPorPosicion( int posicion )
+    {
+        pasarPendientes( );
+        sandbox.eliminarEnteroPorPosicion( posicion );
+    }
+
+    /**
+     * Reinicia la lista de enteros con los valores truncados de un arreglo. Los valores que otros hilos agregaron antes se descartan junto con el resto de la lista.
+     * @param valores Los nuevos valores
+     * @see SandboxListas#reiniciarArregloEnteros(double[])
+     */
+    public synchronized void reiniciarArregloEnteros( double[] valores )
+    {
+        pasarPendientes( );
+        sandbox.reiniciarArregloEnteros( valores );
+    }
+
+    /**
+     * Reinicia la lista de cadenas con las representaciones de unos objetos. Las cadenas que otros hilos agregaron antes se descartan junto con el resto de la lista.
+     * @param objetos Los objetos
+     * @see SandboxListas#reiniciarArregloCadenas(List)
+     */
+    public synchronized void reiniciarArregloCadenas( List<Object> objetos )
+    {
+        pasarPendientes( );
+        sandbox.reiniciarArregloCadenas( objetos );
+    }
+
+    /**
+     * Vuelve positivos todos los valores de la lista de enteros
+     * @see SandboxListas#volverPositivos()
+     */
+    public synchronized void volverPositivos( )
+    {
+        pasarPendientes( );
+        sandbox.volverPositivos( );
+    }
+
+    /**
+     * Organiza la lista de enteros de mayor a menor
+     * @see SandboxListas#organizarEnteros()
+     */
+    public synchronized void organizarEnteros( )
+    {
+        pasarPendientes( );
+        sandbox.organizarEnteros( );
+    }
+
+    /**
+     * Organiza la lista de cadenas lexicográficamente
+     * @see SandboxListas#organizarCadenas()
+     */
+    public synchronized void organizarCadenas( )
+    {
+        pasarPendientes( );
+        sandbox.organizarCadenas( );
+    }
+
+    /**
+     * Retorna las estadísticas de la lista de enteros
+     * @return Una copia de las estadísticas
+     * @see SandboxListas#getEstadisticasEnteros()
+     */
+    public synchronized EstadisticasEnteros getEstadisticasEnteros( )
+    {
+        pasarPendientes( );
+        return sandbox.getEstadisticasEnteros( );
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor en la lista de enteros
+     * @param valor El valor buscado
+     * @return La cantidad de apariciones
+     */
+    public synchronized int contarApariciones( int valor )
+    {
+        pasarPendientes( );
+        return sandbox.contarApariciones( valor );
+    }
+
+    /**
+     * Cuenta cuántas veces aparece una cadena en la lista de cadenas, sin diferenciar mayúsculas y minúsculas
+     * @param cadena La cadena buscada
+     * @return La cantidad de apariciones
+     */
+    public synchronized int contarApariciones( String cadena )
+    {
+        pasarPendientes( );
+        return sandbox.contarApariciones( cadena );
+    }
+
+    /**
+     * Cuenta cuántos valores de la lista de enteros están repetidos
+     * @return La cantidad de valores diferentes que aparecen más de una vez
+     */
+    public synchronized int contarEnterosRepetidos( )
+    {
+        pasarPendientes( );
+        return sandbox.contarEnterosRepetidos( );
+    }
+
+    /**
+     * Compara la lista de enteros con un arreglo
+     * @param otroArreglo El arreglo con el que se compara
+     * @return True si tienen los mismos elementos en el mismo orden
+     */
+    public synchronized boolean compararArregloEnteros( int[] otroArreglo )
+    {
+        pasarPendientes( );
+        return sandbox.compararArregloEnteros( otroArreglo );
+    }
+
+    /**
+     * Cambia los elementos de la lista de enteros por valores aleatorios
+     * @param cantidad La cantidad de elementos
+     * @param minimo El valor mínimo
+     * @param maximo El valor máximo
+     * @see SandboxListas#generarEnteros(int, int, int)
+     */
+    public synchronized void generarEnteros( int cantidad, int minimo, int maximo )
+    {
+        pasarPendientes( );
+        sandbox.generarEnteros( cantidad, minimo, maximo );
+    }
+
+    /**
+     * Escoge la franja del hilo actual. Un mismo hilo siempre usa la misma franja, así que sus valores quedan en orden.
+     * @return La franja
+     */
+    private Franja franjaActual( )
+    {
+        long id = Thread.currentThread( ).getId( );
+        return franjas[ ConjuntoEnteros.dispersar( ( int ) ( id ^ ( id >>> 32 ) ) ) & ( franjas.length - 1 ) ];
+    }
+
+    /**
+     * Pasa al sandbox principal los valores pendientes de todas las franjas, franja por franja. Debe llamarse con el candado de esta instancia.
+     */
+    private void pasarPendientes( )
+    {
+        for( Franja franja : franjas )
+        {
+            synchronized( franja )
+            {
+                sandbox.agregarEnteros( franja.enteros, franja.cantidadEnteros );
+                franja.cantidadEnteros = 0;
+                for( String cadena : franja.cadenas )
+                {
+                    sandbox.agregarCadena( cadena );
+                }
+                franja.cadenas.clear( );
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Lleva los contadores de operaciones de una lista de SandboxListas y decide cuándo conviene pasarla a otro almacenamiento.
+ *
+ * Por cada operación se suma un costo estimado para cada almacenamiento posible, según la posición y el tamaño de la lista (por ejemplo, insertar en la posición p
+ * de un arreglo corre los n - p elementos siguientes, y en una lista enlazada hay que llegar hasta p desde el extremo más cercano). Cada VENTANA operaciones se
+ * comparan los costos acumulados y se vuelve a empezar.
+ *
+ * Para no cambiar de almacenamiento una y otra vez cuando la mezcla de operaciones está cerca del límite, un almacenamiento solo le gana al actual en una ventana si
+ * su costo, multiplicado por HISTERESIS y sumado al costo de copiar la lista, sigue siendo menor; y la lista solo se migra cuando el mismo almacenamiento gana
+ * VENTANAS_PARA_MIGRAR ventanas seguidas.
+ *
+ * El almacenamiento PERSISTENTE se escoge por las versiones que permite guardar y no por el costo de las operaciones, así que el selector no propone pasar una lista
+ * a él ni sacarla de él.
+ */
+class SelectorAlmacenamiento
+{
+    /**
+     * La cantidad de operaciones entre dos decisiones.
+     */
+    static final int VENTANA = 512;
+
+    /**
+     * Cuántas veces menor debe ser el costo estimado de otro almacenamiento para que le gane al actual.
+     */
+    static final double HISTERESIS = 2;
+
+    /**
+     * La cantidad de ventanas seguidas que debe ganar el mismo almacenamiento para migrar.
+     */
+    static final int VENTANAS_PARA_MIGRAR = 2;
+
+    /**
+     * El costo estimado de copiar cada elemento al migrar.
+     */
+    private static final double COSTO_COPIA = 2;
+
+    /**
+     * El costo estimado de llegar de un nodo al siguiente en una lista enlazada, comparado con leer un elemento de un arreglo.
+     */
+    private static final double COSTO_NODO = 2;
+
+    /**
+     * La cantidad de elementos que se corren por unidad de costo al insertar o eliminar en un arreglo (se corren con System.arraycopy).
+     */
+    private static final double ELEMENTOS_POR_COPIA = 8;
+
+    /**
+     * El costo estimado de insertar o eliminar en una lista por bloques: ubicar el bloque y correr en promedio la mitad de sus elementos.
+     */
+    private static final double COSTO_BLOQUE = 4 + ListaEnterosPorBloques.CAPACIDAD_BLOQUE / 2 / ELEMENTOS_POR_COPIA;
+
+    private static final Almacenamiento[] ALMACENAMIENTOS = Almacenamiento.values( );
+
+    private static final int ARREGLO = Almacenamiento.ARREGLO.ordinal( );
+
+    private static final int ENLAZADA = Almacenamiento.ENLAZADA.ordinal( );
+
+    private static final int POR_BLOQUES = Almacenamiento.POR_BLOQUES.ordinal( );
+
+    private static final int PERSISTENTE = Almacenamiento.PERSISTENTE.ordinal( );
+
+    private final ContadoresOperaciones contadores;
+
+    /**
+     * El almacenamiento que tiene la lista.
+     */
+    private Almacenamiento actual;
+
+    /**
+     * Indica si se pueden proponer migraciones. Los contadores se llevan de todas formas.
+     */
+    private boolean adaptativo;
+
+    /**
+     * Los costos estimados de las operaciones de la ventana actual, por almacenamiento.
+     */
+    private final double[] costos;
+
+    /**
+     * La cantidad de operaciones de la ventana actual.
+     */
+    private int operaciones;
+
+    /**
+     * El almacenamiento que ganó las últimas ventanas, o null si en la última no ganó ninguno.
+     */
+    private Almacenamiento candidato;
+
+    /**
+     * La cantidad de ventanas seguidas que ha ganado el candidato.
+     */
+    private int ventanasGanadas;
+
+    /**
+     * Crea un selector para una lista vacía
+     * @param actual El almacenamiento de la lista
+     */
+    SelectorAlmacenamiento( Almacenamiento actual )
+    {
+        this.actual = actual;
+        contadores = new ContadoresOperaciones( );
+        costos = new double[ALMACENAMIENTOS.length];
+    }
+
+    Almacenamiento getActual( )
+    {
+        return actual;
+    }
+
+    ContadoresOperaciones getContadores( )
+    {
+        return contadores;
+    }
+
+    boolean esAdaptativo( )
+    {
+        return adaptativo;
+    }
+
+    /**
+     * Activa o desactiva las migraciones. Al cambiar de modo se descarta la ventana actual.
+     * @param activar True para proponer migraciones
+     */
+    void setAdaptativo( boolean activar )
+    {
+        adaptativo = activar;
+        reiniciarVentana( );
+        candidato = null;
+        ventanasGanadas = 0;
+    }
+
+    /**
+     * Registra una inserción en una posición, o al final si posicion es igual a tamano
+     * @param posicion La posición donde queda el nuevo elemento
+     * @param tamano El tamaño de la lista antes de insertar
+     */
+    void registrarInsercion( int posicion, int tamano )
+    {
+        contadores.contarInsercion( posicion, tamano );
+        sumarCambioPosicional( posicion, tamano );
+    }
+
+    /**
+     * Registra una eliminación por posición
+     * @param posicion La posición del elemento eliminado
+     * @param tamano El tamaño de la lista antes de eliminar
+     */
+    void registrarEliminacion( int posicion, int tamano )
+    {
+        contadores.contarEliminacion( posicion, tamano );
+        sumarCambioPosicional( posicion, tamano );
+    }
+
+    /**
+     * Registra la lectura de un elemento por su posición
+     * @param posicion La posición
+     * @param tamano El tamaño de la lista
+     */
+    void registrarLectura( int posicion, int tamano )
+    {
+        contadores.contarLectura( );
+        costos[ ARREGLO ] += 1;
+        costos[ ENLAZADA ] += 1 + COSTO_NODO * Math.min( posicion, tamano - 1 - posicion );
+        costos[ POR_BLOQUES ] += 4;
+        operaciones++;
+    }
+
+    /**
+     * Registra una operación que recorre toda la lista
+     * @param tamano El tamaño de la lista
+     */
+    void registrarRecorrido( int tamano )
+    {
+        contadores.contarRecorrido( );
+        costos[ ARREGLO ] += tamano;
+        costos[ ENLAZADA ] += COSTO_NODO * tamano;
+        costos[ POR_BLOQUES ] += tamano;
+        operaciones++;
+    }
+
+    /**
+     * Cierra la ventana si ya se completó y decide si conviene migrar
+     * @param tamano El tamaño actual de la lista
+     * @return El almacenamiento al que se debe pasar la lista, o null si debe quedarse como está
+     */
+    Almacenamiento decidir( int tamano )
+    {
+        if( operaciones < VENTANA )
+        {
+            return null;
+        }
+        Almacenamiento ganador = null;
+        if( adaptativo && actual != Almacenamiento.PERSISTENTE )
+        {
+            int mejor = actual.ordinal( );
+            for( int i = 0; i < costos.length; i++ )
+            {
+                if( i != PERSISTENTE && costos[ i ] < costos[ mejor ] )
+                {
+                    mejor = i;
+                }
+            }
+            if( costos[ actual.ordinal( ) ] > HISTERESIS * costos[ mejor ] + COSTO_COPIA * tamano )
+            {
+                ganador = ALMACENAMIENTOS[ mejor ];
+            }
+        }
+        reiniciarVentana( );
+
+        ventanasGanadas = ganador != null && ganador == candidato ? ventanasGanadas + 1 : 1;
+        candidato = ganador;
+        if( candidato == null || ventanasGanadas < VENTANAS_PARA_MIGRAR )
+        {
+            return null;
+        }
+        candidato = null;
+        ventanasGanadas = 0;
+        return ganador;
+    }
+
+    /**
+     * Registra que la lista ya se pasó a otro almacenamiento
+     * @param nuevo El nuevo almacenamiento
+     */
+    void migro( Almacenamiento nuevo )
+    {
+        actual = nuevo;
+        contadores.contarMigracion( );
+    }
+
+    /**
+     * Suma los costos de insertar o eliminar en una posición
+     * @param posicion La posición
+     * @param tamano El tamaño de la lista antes de la operación
+     */
+    private void sumarCambioPosicional( int posicion, int tamano )
+    {
+        int desdeFinal = tamano - posicion;
+        if( desdeFinal <= 1 )
+        {
+            // Agregar o quitar el último no corre elementos en ninguno de los almacenamientos
+            costos[ ARREGLO ] += 1;
+            costos[ ENLAZADA ] += COSTO_NODO;
+            costos[ POR_BLOQUES ] += 1;
+        }
+        else
+        {
+            costos[ ARREGLO ] += 1 + desdeFinal / ELEMENTOS_POR_COPIA;
+            costos[ ENLAZADA ] += COSTO_NODO * ( 1 + Math.min( posicion, desdeFinal ) );
+            costos[ POR_BLOQUES ] += COSTO_BLOQUE + tamano / ( double )ListaEnterosPorBloques.CAPACIDAD_BLOQUE;
+        }
+        operaciones++;
+    }
+
+    private void reiniciarVentana( )
+    {
+        for( int i = 0; i < costos.length; i++ )
+        {
+            costos[ i ] = 0;
+        }
+        operaciones = 0;
+    }
+}
@@ -0,0 +1,595 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Vector inmutable de enteros en el que cada modificación retorna una nueva versión que comparte casi toda su estructura con la anterior.
+ *
+ * Los valores se guardan en hojas de 32 int, y las hojas cuelgan de un árbol en el que cada nodo tiene hasta 32 hijos: los 5 bits de cada nivel de una posición
+ * indican el hijo por el que se baja. Así, consultar, cambiar o agregar al final cuesta O(log₃₂ n), que para cualquier tamaño práctico son a lo sumo 6 niveles, y
+ * una nueva versión solo copia los nodos del camino hasta la hoja que cambió (unos cuantos arreglos de 32 posiciones), no la lista completa. Los últimos valores
+ * (hasta 32) se guardan aparte en una cola, así que agregar al final la mayoría de las veces solo copia la cola, y solo cada 32 valores se mete una hoja al árbol.
+ *
+ * Insertar o eliminar en otra posición no se puede hacer sobre el árbol sin correr todas las posiciones siguientes: la nueva versión comparte las hojas anteriores
+ * a la posición y reconstruye el resto, así que cuesta O(n - posición + n/32).
+ *
+ * Como nunca cambian, las versiones se pueden guardar y compartir entre hilos sin copiarlas (ver SandboxListas.getVersionEnteros).
+ */
+public final class VectorEnteros
+{
+    /**
+     * La cantidad de bits de la posición que se usan en cada nivel del árbol.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * La cantidad de hijos de cada nodo y de valores de cada hoja.
+     */
+    static final int ANCHO = 1 << BITS;
+
+    private static final int MASCARA = ANCHO - 1;
+
+    private static final Object[] NODO_VACIO = new Object[ANCHO];
+
+    private static final int[] COLA_VACIA = new int[0];
+
+    private static final VectorEnteros VACIO = new VectorEnteros( 0, BITS, NODO_VACIO, COLA_VACIA );
+
+    /**
+     * La cantidad de valores del vector.
+     */
+    private final int tamano;
+
+    /**
+     * La cantidad de bits que hay que correr una posición para obtener el hijo de la raíz por el que se baja. Vale BITS cuando los hijos de la raíz son hojas.
+     */
+    private final int nivel;
+
+    /**
+     * La raíz del árbol. Los nodos internos son Object[ANCHO], con null en los hijos que no existen, y las hojas son int[ANCHO].
+     */
+    private final Object[] raiz;
+
+    /**
+     * Los últimos valores del vector, que todavía no están en el árbol. Tiene exactamente tamano - inicioCola() posiciones, y no está vacía salvo en el vector vacío.
+     */
+    private final int[] cola;
+
+    private VectorEnteros( int tamano, int nivel, Object[] raiz, int[] cola )
+    {
+        this.tamano = tamano;
+        this.nivel = nivel;
+        this.raiz = raiz;
+        this.cola = cola;
+    }
+
+    /**
+     * Retorna el vector vacío
+     * @return Un vector sin valores
+     */
+    public static VectorEnteros vacio( )
+    {
+        return VACIO;
+    }
+
+    /**
+     * Crea un vector con los valores de un arreglo, en el mismo orden
+     * @param valores Los valores. El arreglo se copia.
+     * @return El vector
+     */
+    public static VectorEnteros de( int... valores )
+    {
+        return VACIO.conSufijo( 0, valores, 0, valores.length );
+    }
+
+    /**
+     * Retorna la cantidad de valores del vector
+     * @return El tamaño
+     */
+    public int getTamano( )
+    {
+        return tamano;
+    }
+
+    /**
+     * Retorna el valor en una posición
+     * @param indice La posición
+     * @return El valor
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    public int getValor( int indice )
+    {
+        revisarIndice( indice );
+        return hoja( indice )[ indice & MASCARA ];
+    }
+
+    /**
+     * Retorna una versión del vector con un valor diferente en una posición
+     * @param indice La posición
+     * @param valor El nuevo valor
+     * @return La nueva versión
+     * @throws IndexOutOfBoundsException Si la posición no existe
+     */
+    public VectorEnteros conValor( int indice, int valor )
+    {
+        revisarIndice( indice );
+        if( indice >= inicioCola( ) )
+        {
+            int[] nuevaCola = cola.clone( );
+            nuevaCola[ indice & MASCARA ] = valor;
+            return new VectorEnteros( tamano, nivel, raiz, nuevaCola );
+        }
+        return new VectorEnteros( tamano, nivel, cambiar( nivel, raiz, indice, valor ), cola );
+    }
+
+    /**
+     * Retorna una versión del vector con un valor más al final
+     * @param valor El valor
+     * @return La nueva versión
+     */
+    public VectorEnteros agregar( int valor )
+    {
+        if( tamano - inicioCola( ) < ANCHO )
+        {
+            int[] nuevaCola = Arrays.copyOf( cola, cola.length + 1 );
+            nuevaCola[ cola.length ] = valor;
+            return new VectorEnteros( tamano + 1, nivel, raiz, nuevaCola );
+        }
+        // La cola está llena: pasa al árbol como una hoja y el valor empieza una nueva cola
+        Object[] nuevaRaiz;
+        int nuevoNivel = nivel;
+        if( ( tamano >>> BITS ) > ( 1 << nivel ) )
+        {
+            // La raíz ya no tiene espacio: el árbol crece un nivel
+            nuevaRaiz = new Object[ANCHO];
+            nuevaRaiz[ 0 ] = raiz;
+            nuevaRaiz[ 1 ] = camino( nivel, cola );
+            nuevoNivel += BITS;
+        }
+        else
+        {
+            nuevaRaiz = meterCola( nivel, raiz );
+        }
+        return new VectorEnteros( tamano + 1, nuevoNivel, nuevaRaiz, new int[]{ valor } );
+    }
+
+    /**
+     * Retorna una versión del vector sin su último valor
+     * @return La nueva versión
+     * @throws IllegalStateException Si el vector está vacío
+     */
+    public VectorEnteros quitarUltimo( )
+    {
+        if( tamano == 0 )
+        {
+            throw new IllegalStateException( "El vector está vacío" );
+        }
+        if( tamano == 1 )
+        {
+            return VACIO;
+        }
+        if( tamano - inicioCola( ) > 1 )
+        {
+            return new VectorEnteros( tamano - 1, nivel, raiz, Arrays.copyOf( cola, cola.length - 1 ) );
+        }
+        // La cola queda vacía: la última hoja del árbol pasa a ser la cola
+        int[] nuevaCola = hoja( tamano - 2 );
+        Object[] nuevaRaiz = sacarCola( nivel, raiz );
+        int nuevoNivel = nivel;
+        if( nuevaRaiz == null )
+        {
+            nuevaRaiz = NODO_VACIO;
+        }
+        if( nivel > BITS && nuevaRaiz[ 1 ] == null )
+        {
+            nuevaRaiz = ( Object[] )nuevaRaiz[ 0 ];
+            nuevoNivel -= BITS;
+        }
+        return new VectorEnteros( tamano - 1, nuevoNivel, nuevaRaiz, nuevaCola );
+    }
+
+    /**
+     * Retorna una versión del vector con un valor insertado en una posición. Los valores que estaban desde esa posición quedan una posición después.
+     * @param indice La posición, entre 0 y getTamano()
+     * @param valor El valor
+     * @return La nueva versión
+     * @throws IndexOutOfBoundsException Si la posición no está entre 0 y getTamano()
+     */
+    public VectorEnteros insertar( int indice, int valor )
+    {
+        return insertar( indice, new int[]{ valor }, 0, 1 );
+    }
+
+    /**
+     * Retorna una versión del vector con los valores de una parte de un arreglo insertados en una posición
+     * @param indice La posición donde queda el primer valor insertado, entre 0 y getTamano()
+     * @param valores El arreglo
+     * @param desde La primera posición del arreglo que se inserta
+     * @param hasta La posición siguiente a la última que se inserta
+     * @return La nueva versión
+     * @throws IndexOutOfBoundsException Si la posición no está entre 0 y getTamano()
+     */
+    public VectorEnteros insertar( int indice, int[] valores, int desde, int hasta )
+    {
+        if( indice < 0 || indice > tamano )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + tamano );
+        }
+        int cantidad = hasta - desde;
+        if( indice == tamano && cantidad <= ANCHO )
+        {
+            VectorEnteros vector = this;
+            for( int i = desde; i < hasta; i++ )
+            {
+                vector = vector.agregar( valores[ i ] );
+            }
+            return vector;
+        }
+        int inicio = inicioCompartido( indice );
+        int[] sufijo = new int[tamano - inicio + cantidad];
+        copiar( inicio, indice, sufijo, 0 );
+        System.arraycopy( valores, desde, sufijo, indice - inicio, cantidad );
+        copiar( indice, tamano, sufijo, indice - inicio + cantidad );
+        return conSufijo( inicio, sufijo, 0, sufijo.length );
+    }
+
+    /**
+     * Retorna una versión del vector sin los valores de un rango
+     * @param desde La primera posición del rango
+     * @param hasta La posición siguiente a la última del rango
+     * @return La nueva versión
+     * @throws IndexOutOfBoundsException Si el rango no está dentro del vector
+     */
+    public VectorEnteros eliminar( int desde, int hasta )
+    {
+        if( desde < 0 || hasta > tamano || desde > hasta )
+        {
+            throw new IndexOutOfBoundsException( "Desde: " + desde + ", hasta: " + hasta + ", tamaño: " + tamano );
+        }
+        if( desde == hasta )
+        {
+            return this;
+        }
+        if( hasta == tamano && hasta - desde <= ANCHO )
+        {
+            VectorEnteros vector = this;
+            for( int i = desde; i < hasta; i++ )
+            {
+                vector = vector.quitarUltimo( );
+            }
+            return vector;
+        }
+        int inicio = inicioCompartido( desde );
+        int[] sufijo = new int[tamano - inicio - ( hasta - desde )];
+        copiar( inicio, desde, sufijo, 0 );
+        copiar( hasta, tamano, sufijo, desde - inicio );
+        return conSufijo( inicio, sufijo, 0, sufijo.length );
+    }
+
+    /**
+     * Ejecuta una acción sobre cada valor del vector, en orden
+     * @param accion La acción que recibe cada valor
+     */
+    public void forEach( IntConsumer accion )
+    {
+        for( int inicio = 0; inicio < tamano; inicio += ANCHO )
+        {
+            int[] hoja = hoja( inicio );
+            int cantidad = Math.min( ANCHO, tamano - inicio );
+            for( int i = 0; i < cantidad; i++ )
+            {
+                accion.accept( hoja[ i ] );
+            }
+        }
+    }
+
+    /**
+     * Retorna un arreglo con los valores del vector
+     * @return Un arreglo nuevo de getTamano() posiciones
+     */
+    public int[] toIntArray( )
+    {
+        int[] valores = new int[tamano];
+        copiar( 0, tamano, valores, 0 );
+        return valores;
+    }
+
+    /**
+     * Copia en un arreglo los valores de un rango del vector, hoja por hoja. No revisa los límites.
+     * @param desde La primera posición del rango
+     * @param hasta La posición siguiente a la última del rango
+     * @param destino El arreglo
+     * @param posicion La posición del arreglo donde se copia el primer valor
+     */
+    void copiar( int desde, int hasta, int[] destino, int posicion )
+    {
+        int i = desde;
+        while( i < hasta )
+        {
+            int cantidad = Math.min( ANCHO - ( i & MASCARA ), hasta - i );
+            System.arraycopy( hoja( i ), i & MASCARA, destino, posicion, cantidad );
+            posicion += cantidad;
+            i += cantidad;
+        }
+    }
+
+    /**
+     * Retorna la hoja (o la cola) que contiene una posición. No revisa los límites.
+     * @param indice La posición
+     * @return El arreglo donde está el valor, en la posición indice % ANCHO
+     */
+    int[] hoja( int indice )
+    {
+        if( indice >= inicioCola( ) )
+        {
+            return cola;
+        }
+        Object[] nodo = raiz;
+        for( int n = nivel; n > BITS; n -= BITS )
+        {
+            nodo = ( Object[] )nodo[ ( indice >>> n ) & MASCARA ];
+        }
+        return ( int[] )nodo[ ( indice >>> BITS ) & MASCARA ];
+    }
+
+    /**
+     * Crea un vector con los primeros valores de este, hasta una posición que es el inicio de una hoja, seguidos de los valores de una parte de un arreglo.
+     *
+     * Las hojas anteriores a esa posición se comparten con este vector; las demás hojas y los nodos internos se crean de nuevo, de abajo hacia arriba.
+     * @param inicio La cantidad de valores de este vector que se conservan. Debe ser múltiplo de ANCHO y no pasar del inicio de la cola.
+     * @param valores El arreglo
+     * @param desde La primera posición del arreglo que se agrega
+     * @param hasta La posición siguiente a la última que se agrega
+     * @return El nuevo vector
+     */
+    VectorEnteros conSufijo( int inicio, int[] valores, int desde, int hasta )
+    {
+        int nuevoTamano = inicio + hasta - desde;
+        if( nuevoTamano == 0 )
+        {
+            return VACIO;
+        }
+        int inicioNuevaCola = inicioCola( nuevoTamano );
+        Object[] nodos = new Object[inicioNuevaCola >>> BITS];
+        for( int h = 0; h < nodos.length; h++ )
+        {
+            int posicion = h << BITS;
+            if( posicion < inicio )
+            {
+                nodos[ h ] = hoja( posicion );
+            }
+            else
+            {
+                nodos[ h ] = Arrays.copyOfRange( valores, desde + posicion - inicio, desde + posicion - inicio + ANCHO );
+            }
+        }
+        int[] nuevaCola;
+        if( inicioNuevaCola < inicio )
+        {
+            // Todo lo que se conserva es una hoja llena, que sirve como cola
+            nuevaCola = hoja( inicioNuevaCola );
+        }
+        else
+        {
+            nuevaCola = Arrays.copyOfRange( valores, desde + inicioNuevaCola - inicio, hasta );
+        }
+
+        int nuevoNivel = BITS;
+        while( nodos.length > ANCHO )
+        {
+            Object[] padres = new Object[( nodos.length + MASCARA ) >>> BITS];
+            for( int p = 0; p < padres.length; p++ )
+            {
+                Object[] padre = new Object[ANCHO];
+                System.arraycopy( nodos, p << BITS, padre, 0, Math.min( ANCHO, nodos.length - ( p << BITS ) ) );
+                padres[ p ] = padre;
+            }
+            nodos = padres;
+            nuevoNivel += BITS;
+        }
+        Object[] nuevaRaiz = nodos.length == 0 ? NODO_VACIO : Arrays.copyOf( nodos, ANCHO );
+        return new VectorEnteros( nuevoTamano, nuevoNivel, nuevaRaiz, nuevaCola );
+    }
+
+    /**
+     * Calcula hasta dónde se pueden compartir las hojas de este vector en una versión que cambia desde una posición
+     * @param indice La primera posición que cambia
+     * @return La posición donde empieza la hoja de indice, o el inicio de la cola si indice está en la cola
+     */
+    int inicioCompartido( int indice )
+    {
+        return Math.min( indice & ~MASCARA, inicioCola( ) );
+    }
+
+    private int inicioCola( )
+    {
+        return inicioCola( tamano );
+    }
+
+    /**
+     * Calcula la posición del primer valor de la cola en un vector de un tamaño
+     * @param tamano El tamaño del vector
+     * @return La posición, que es múltiplo de ANCHO
+     */
+    private static int inicioCola( int tamano )
+    {
+        return tamano < ANCHO ? 0 : ( ( tamano - 1 ) >>> BITS ) << BITS;
+    }
+
+    /**
+     * Copia el camino desde un nodo hasta la hoja de una posición, cambiando el valor en la hoja
+     * @param n El nivel del nodo
+     * @param nodo El nodo
+     * @param indice La posición
+     * @param valor El nuevo valor
+     * @return La copia del nodo
+     */
+    private static Object[] cambiar( int n, Object[] nodo, int indice, int valor )
+    {
+        Object[] copia = nodo.clone( );
+        int hijo = ( indice >>> n ) & MASCARA;
+        if( n == BITS )
+        {
+            int[] hoja = ( ( int[] )nodo[ hijo ] ).clone( );
+            hoja[ indice & MASCARA ] = valor;
+            copia[ hijo ] = hoja;
+        }
+        else
+        {
+            copia[ hijo ] = cambiar( n - BITS, ( Object[] )nodo[ hijo ], indice, valor );
+        }
+        return copia;
+    }
+
+    /**
+     * Copia el camino desde un nodo hasta donde debe quedar la cola actual como la última hoja del árbol
+     * @param n El nivel del nodo
+     * @param nodo El nodo
+     * @return La copia del nodo, con la cola
+     */
+    private Object[] meterCola( int n, Object[] nodo )
+    {
+        Object[] copia = nodo.clone( );
+        int hijo = ( ( tamano - 1 ) >>> n ) & MASCARA;
+        if( n == BITS )
+        {
+            copia[ hijo ] = cola;
+        }
+        else
+        {
+            Object[] siguiente = ( Object[] )nodo[ hijo ];
+            copia[ hijo ] = siguiente != null ? meterCola( n - BITS, siguiente ) : camino( n - BITS, cola );
+        }
+        return copia;
+    }
+
+    /**
+     * Copia el camino desde un nodo hasta la última hoja del árbol, quitándola
+     * @param n El nivel del nodo
+     * @param nodo El nodo
+     * @return La copia del nodo sin la hoja, o null si el nodo queda sin hijos
+     */
+    private Object[] sacarCola( int n, Object[] nodo )
+    {
+        int hijo = ( ( tamano - 2 ) >>> n ) & MASCARA;
+        if( n > BITS )
+        {
+            Object[] nuevoHijo = sacarCola( n - BITS, ( Object[] )nodo[ hijo ] );
+            if( nuevoHijo == null && hijo == 0 )
+            {
+                return null;
+            }
+            Object[] copia = nodo.clone( );
+            copia[ hijo ] = nuevoHijo;
+            return copia;
+        }
+        if( hijo == 0 )
+        {
+            return null;
+        }
+        Object[] copia = nodo.clone( );
+        copia[ hijo ] = null;
+        return copia;
+    }
+
+    /**
+     * Crea una rama con un solo hijo en cada nivel, que termina en una hoja
+     * @param n El nivel del nodo de arriba de la rama, o 0 para retornar la hoja
+     * @param hoja La hoja
+     * @return El nodo de arriba de la rama
+     */
+    private static Object camino( int n, int[] hoja )
+    {
+        if( n == 0 )
+        {
+            return hoja;
+        }
+        Object[] nodo = new Object[ANCHO];
+        nodo[ 0 ] = camino( n - BITS, hoja );
+        return nodo;
+    }
+
+    /**
+     * Busca la primera posición en la que este vector y otro tienen valores diferentes, hoja por hoja. Las hojas que comparten los dos vectores no se comparan.
+     * @param otro El otro vector
+     * @return La primera posición con valores diferentes; si uno es prefijo del otro, el tamaño del más corto; si son iguales, -1
+     */
+    int mismatch( VectorEnteros otro )
+    {
+        int comun = Math.min( tamano, otro.tamano );
+        for( int inicio = 0; inicio < comun; inicio += ANCHO )
+        {
+            int[] hoja = hoja( inicio );
+            int[] otraHoja = otro.hoja( inicio );
+            int cantidad = Math.min( ANCHO, comun - inicio );
+            int diferencia = hoja == otraHoja ? -1 : ListaEnteros.mismatch( hoja, cantidad, otraHoja, cantidad );
+            if( diferencia >= 0 )
+            {
+                return inicio + diferencia;
+            }
+        }
+        return tamano == otro.tamano ? -1 : comun;
+    }
+
+    /**
+     * Busca la primera posición en la que este vector y las primeras posiciones de un arreglo tienen valores diferentes, hoja por hoja
+     * @param otro El arreglo
+     * @param tamanoOtro La cantidad de posiciones del arreglo que se comparan
+     * @return La primera posición con valores diferentes; si uno es prefijo del otro, el tamaño del más corto; si son iguales, -1
+     */
+    int mismatch( int[] otro, int tamanoOtro )
+    {
+        int comun = Math.min( tamano, tamanoOtro );
+        for( int inicio = 0; inicio < comun; inicio += ANCHO )
+        {
+            int[] hoja = hoja( inicio );
+            int cantidad = Math.min( ANCHO, comun - inicio );
+            for( int j = 0; j < cantidad; j++ )
+            {
+                if( hoja[ j ] != otro[ inicio + j ] )
+                {
+                    return inicio + j;
+                }
+            }
+        }
+        return tamano == tamanoOtro ? -1 : comun;
+    }
+
+    private void revisarIndice( int indice )
+    {
+        if( indice < 0 || indice >= tamano )
+        {
+            throw new IndexOutOfBoundsException( "Índice: " + indice + ", tamaño: " + tamano );
+        }
+    }
+
+    @Override
+    public boolean equals( Object otro )
+    {
+        if( this == otro )
+        {
+            return true;
+        }
+        if( !( otro instanceof VectorEnteros ) )
+        {
+            return false;
+        }
+        VectorEnteros otroVector = ( VectorEnteros )otro;
+        return tamano == otroVector.tamano && mismatch( otroVector ) == -1;
+    }
+
+    @Override
+    public int hashCode( )
+    {
+        int[] hash = new int[]{ 1 };
+        forEach( v -> hash[ 0 ] = 31 * hash[ 0 ] + v );
+        return hash[ 0 ];
+    }
+
+    @Override
+    public String toString( )
+    {
+        return Arrays.toString( toIntArray( ) );
+    }
+}
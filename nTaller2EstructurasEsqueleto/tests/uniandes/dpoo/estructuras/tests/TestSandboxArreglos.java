@@ -3,6 +3,7 @@ package uniandes.dpoo.estructuras.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -169,6 +170,21 @@ class TestSandboxArreglos
         assertEquals( "mmmm", copia[ 0 ], "La nueva cadena no quedó almacenado al final del arreglo" );
     }
 
+    @Test
+    void testAgregarCadenaDespuesDeNull( )
+    {
+        vacio.agregarCadena( null );
+        vacio.agregarCadena( "a" );
+        sencillo.agregarCadena( null );
+        sencillo.agregarCadena( "zzz" );
+
+        assertEquals( 2, vacio.getCantidadCadenas( ), "La cantidad de cadenas no aumentó correctamente" );
+        String[] copia = vacio.getCopiaCadenas( );
+        assertEquals( null, copia[ 0 ], "El null no quedó almacenado en el arreglo" );
+        assertEquals( "a", copia[ 1 ], "La nueva cadena no quedó almacenada al final del arreglo" );
+        assertEquals( cadenasSencillas.length + 2, sencillo.getCantidadCadenas( ), "La cantidad de cadenas no aumentó correctamente" );
+    }
+
     @Test
     void testEliminarEnteroUnico( )
     {
@@ -565,6 +581,115 @@ class TestSandboxArreglos
         assertEquals( 0, vacio.buscarEntero( -2 ).length, "No encontró la posición correctamente" );
     }
 
+    @Test
+    void testEncontrarEnteroOrdenado( )
+    {
+        sinRepetidos.agregarEntero( 5 );
+        sinRepetidos.organizarEnteros( );
+
+        int[] posiciones5 = sinRepetidos.buscarEntero( 5 );
+        assertEquals( 2, posiciones5.length, "No encontró la posición correctamente: " + Arrays.toString( posiciones5 ) );
+        assertEquals( 5, posiciones5[ 0 ], "No encontró la posición correctamente: " + Arrays.toString( posiciones5 ) );
+        assertEquals( 6, posiciones5[ 1 ], "No encontró la posición correctamente: " + Arrays.toString( posiciones5 ) );
+        assertEquals( 2, sinRepetidos.contarApariciones( 5 ), "No contó correctamente los enteros" );
+        assertEquals( 0, sinRepetidos.buscarEntero( 99 ).length, "No reconocio un valor que no está en el arreglo" );
+        assertEquals( 0, sinRepetidos.contarApariciones( -1 ), "No contó correctamente los enteros" );
+    }
+
+    @Test
+    void testEliminarEnteroOrdenado( )
+    {
+        sinRepetidos.agregarEntero( 5 );
+        sinRepetidos.organizarEnteros( );
+        sinRepetidos.eliminarEntero( 5 );
+
+        assertTrue( sinRepetidos.compararArregloEnteros( new int[]{ 0, 1, 2, 3, 4, 6, 7, 8, 9 } ), "No se eliminaron correctamente los enteros" );
+        sinRepetidos.eliminarEntero( 99 );
+        assertEquals( 9, sinRepetidos.getCantidadEnteros( ), "No debería haberse eliminado ningún entero" );
+    }
+
+    @Test
+    void testInsertarOrdenado( )
+    {
+        sinRepetidos.insertarOrdenado( 4 );
+        sinRepetidos.insertarOrdenado( -1 );
+        sinRepetidos.insertarOrdenado( 20 );
+
+        assertTrue( sinRepetidos.compararArregloEnteros( new int[]{ -1, 0, 1, 2, 3, 4, 4, 5, 6, 7, 8, 9, 20 } ), "No se insertaron correctamente los enteros" );
+
+        sinRepetidos.insertarEntero( 100, 0 );
+        assertEquals( 1, sinRepetidos.buscarEntero( 100 ).length, "No encontró el entero después de una inserción desordenada" );
+        assertEquals( 0, sinRepetidos.buscarEntero( 100 )[ 0 ], "No encontró el entero después de una inserción desordenada" );
+    }
+
+    @Test
+    void testEliminarCadenaOrdenada( )
+    {
+        sencillo.organizarCadenas( );
+        sencillo.eliminarCadena( "c" );
+
+        String[] copia = sencillo.getCopiaCadenas( );
+        assertEquals( cadenasSencillas.length - 2, copia.length, "No se eliminaron correctamente las cadenas" );
+        assertEquals( "d", copia[ 4 ], "No se eliminaron correctamente las cadenas" );
+    }
+
+    @Test
+    void testContiene( )
+    {
+        assertTrue( sinRepetidos.contiene( 7 ), "No encontró un valor que está en el arreglo" );
+        assertFalse( sinRepetidos.contiene( 99 ), "Encontró un valor que no está en el arreglo" );
+        assertTrue( sinRepetidos.contieneTodos( new int[]{ 0, 5, 9 } ), "No encontró valores que están en el arreglo" );
+        assertFalse( sinRepetidos.contieneTodos( new int[]{ 0, 5, 10 } ), "Encontró un valor que no está en el arreglo" );
+        assertFalse( vacio.contiene( 0 ), "Encontró un valor en el arreglo vacío" );
+
+        sinRepetidos.agregarEntero( 99 );
+        assertTrue( sinRepetidos.contiene( 99 ), "No encontró un valor agregado después de la primera consulta" );
+        sinRepetidos.eliminarEntero( 7 );
+        assertFalse( sinRepetidos.contiene( 7 ), "Encontró un valor eliminado después de la primera consulta" );
+        sinRepetidos.eliminarEnteroPorPosicion( 0 );
+        assertFalse( sinRepetidos.contiene( 9 ), "Encontró un valor eliminado después de la primera consulta" );
+    }
+
+    @Test
+    void testContarDistintos( )
+    {
+        assertEquals( 10, sinRepetidos.contarDistintos( ), "No contó correctamente los valores diferentes" );
+        assertEquals( 0, vacio.contarDistintos( ), "No contó correctamente los valores diferentes" );
+
+        sinRepetidos.agregarEntero( 5 );
+        assertEquals( 10, sinRepetidos.contarDistintos( ), "No contó correctamente los valores diferentes" );
+        sinRepetidos.insertarEntero( -100000, 3 );
+        assertEquals( 11, sinRepetidos.contarDistintos( ), "No contó correctamente los valores diferentes" );
+        sinRepetidos.volverPositivos( );
+        assertTrue( sinRepetidos.contiene( 100000 ), "No encontró un valor que se volvió positivo" );
+    }
+
+    @Test
+    void testOperacionesConjuntosOrdenados( )
+    {
+        SandboxArreglos otro = new SandboxArreglos( );
+        otro.reiniciarArregloEnteros( new double[]{ 5, 7, 7, 9, 11, 13 } );
+        sinRepetidos.organizarEnteros( );
+
+        assertTrue( sinRepetidos.interseccion( otro ).compararArregloEnteros( new int[]{ 5, 7, 9 } ), "No calculó correctamente la intersección" );
+        assertTrue( sinRepetidos.union( otro ).compararArregloEnteros( new int[]{ 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 11, 13 } ), "No calculó correctamente la unión" );
+        assertTrue( sinRepetidos.diferencia( otro ).compararArregloEnteros( new int[]{ 0, 1, 2, 3, 4, 6, 8 } ), "No calculó correctamente la diferencia" );
+        assertTrue( otro.diferencia( sinRepetidos ).compararArregloEnteros( new int[]{ 11, 13 } ), "No calculó correctamente la diferencia" );
+        assertEquals( 0, vacio.interseccion( otro ).getCantidadEnteros( ), "La intersección con un arreglo vacío debería estar vacía" );
+    }
+
+    @Test
+    void testOperacionesConjuntosDesordenados( )
+    {
+        SandboxArreglos otro = new SandboxArreglos( );
+        otro.reiniciarArregloEnteros( new double[]{ 13, 7, 5, 11, 7, 9 } );
+
+        assertTrue( sinRepetidos.interseccion( otro ).compararArregloEnteros( new int[]{ 9, 7, 5 } ), "No calculó correctamente la intersección" );
+        assertTrue( sinRepetidos.union( otro ).compararArregloEnteros( new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 13, 11 } ), "No calculó correctamente la unión" );
+        assertTrue( sinRepetidos.diferencia( otro ).compararArregloEnteros( new int[]{ 8, 6, 4, 3, 2, 1, 0 } ), "No calculó correctamente la diferencia" );
+        assertTrue( sinRepetidos.compararArregloEnteros( enterosSinRepetidos ), "Las operaciones no deberían modificar el arreglo" );
+    }
+
     @Test
     void testCalcularRangoEnteros( )
     {
@@ -580,6 +705,53 @@ class TestSandboxArreglos
         assertEquals( 0, rango.length, "El rango retornado debería estar vacío" );
     }
 
+    @Test
+    void testSeleccionar( )
+    {
+        for( int k = 0; k < enterosSinRepetidos.length; k++ )
+        {
+            assertEquals( k, sinRepetidos.seleccionar( k ), "No seleccionó correctamente el k-ésimo menor valor" );
+        }
+        assertTrue( sinRepetidos.compararArregloEnteros( enterosSinRepetidos ), "La selección no debería modificar el arreglo" );
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> vacio.seleccionar( 0 ), "Debería fallar con una posición inválida" );
+    }
+
+    @Test
+    void testTopK( )
+    {
+        sinRepetidos.agregarEntero( 8 );
+
+        int[] mayores = sinRepetidos.topK( 3 );
+        assertEquals( 3, mayores.length, "La cantidad de valores retornados no es la correcta" );
+        assertEquals( 9, mayores[ 0 ], "No retornó correctamente los mayores valores" );
+        assertEquals( 8, mayores[ 1 ], "No retornó correctamente los mayores valores" );
+        assertEquals( 8, mayores[ 2 ], "No retornó correctamente los mayores valores" );
+
+        assertEquals( 11, sinRepetidos.topK( 100 ).length, "Debería retornar todos los valores" );
+        assertEquals( 0, sinRepetidos.topK( 0 ).length, "Debería retornar un arreglo vacío" );
+        assertEquals( 0, vacio.topK( 3 ).length, "Debería retornar un arreglo vacío" );
+    }
+
+    @Test
+    void testPercentil( )
+    {
+        assertEquals( 0, sinRepetidos.percentil( 0 ), "El percentil no es el correcto" );
+        assertEquals( 4, sinRepetidos.percentil( 50 ), "El percentil no es el correcto" );
+        assertEquals( 8, sinRepetidos.percentil( 90 ), "El percentil no es el correcto" );
+        assertEquals( 9, sinRepetidos.percentil( 99 ), "El percentil no es el correcto" );
+        assertEquals( 9, sinRepetidos.percentil( 100 ), "El percentil no es el correcto" );
+
+        int[] percentiles = sinRepetidos.percentiles( 99, 0, 50, 90 );
+        assertEquals( 4, percentiles.length, "La cantidad de percentiles no es la correcta" );
+        assertEquals( 9, percentiles[ 0 ], "El percentil no es el correcto" );
+        assertEquals( 0, percentiles[ 1 ], "El percentil no es el correcto" );
+        assertEquals( 4, percentiles[ 2 ], "El percentil no es el correcto" );
+        assertEquals( 8, percentiles[ 3 ], "El percentil no es el correcto" );
+        assertTrue( sinRepetidos.compararArregloEnteros( enterosSinRepetidos ), "Los percentiles no deberían modificar el arreglo" );
+
+        assertThrows( IllegalArgumentException.class, ( ) -> sinRepetidos.percentil( 101 ), "Debería fallar con un percentil inválido" );
+    }
+
     @Test
     void testCalcularHistograma( )
     {
@@ -610,6 +782,31 @@ class TestSandboxArreglos
         assertEquals( 0, histograma.size( ), "La cantidad de valores en el histograma no es la correcta" );
     }
 
+    @Test
+    void testCorridas( )
+    {
+        SandboxArreglos corridas = new SandboxArreglos( );
+        corridas.reiniciarArregloEnteros( new double[]{ 3, 3, 3, -1, -1, 1, 1, 1, 1, 3, 3 } );
+        corridas.usarCorridas( true );
+
+        assertTrue( corridas.isUsandoCorridas( ), "El modo corridas debería estar activo" );
+        assertEquals( 5, corridas.contarApariciones( 3 ), "No contó correctamente los enteros" );
+        assertEquals( 2, corridas.calcularHistograma( ).get( -1 ), "La cantidad de veces que aparece el valor en el histograma no es la correcta" );
+        assertEquals( -1, corridas.getEntero( 4 ), "No retornó el entero de la posición" );
+
+        corridas.volverPositivos( );
+        assertEquals( 6, corridas.contarApariciones( 1 ), "No se volvieron positivos los enteros" );
+        assertEquals( 1, corridas.getEntero( 3 ), "No se volvieron positivos los enteros" );
+
+        corridas.eliminarEntero( 1 );
+        assertEquals( 5, corridas.getCantidadEnteros( ), "No se eliminaron correctamente los enteros" );
+        assertEquals( 1, corridas.calcularHistograma( ).size( ), "Las corridas vecinas deberían haberse unido" );
+        assertEquals( 5, corridas.buscarEntero( 3 ).length, "No encontró las posiciones correctamente" );
+
+        corridas.usarCorridas( false );
+        assertTrue( corridas.compararArregloEnteros( new int[]{ 3, 3, 3, 3, 3 } ), "El arreglo expandido no es el correcto" );
+    }
+
     @Test
     void testContarEnterosRepetidos( )
     {
@@ -1,19 +1,39 @@
 package uniandes.dpoo.estructuras.tests;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.Almacenamiento;
+import uniandes.dpoo.estructuras.logica.ConsultaEnteros;
+import uniandes.dpoo.estructuras.logica.ContadoresOperaciones;
+import uniandes.dpoo.estructuras.logica.CursorEnteros;
+import uniandes.dpoo.estructuras.logica.EstadisticasEnteros;
+import uniandes.dpoo.estructuras.logica.HistogramaEnteros;
+import uniandes.dpoo.estructuras.logica.ListaEnteros;
+import uniandes.dpoo.estructuras.logica.ListaEnterosArreglo;
+import uniandes.dpoo.estructuras.logica.ListaEnterosEnlazada;
+import uniandes.dpoo.estructuras.logica.ListaEnterosPersistente;
+import uniandes.dpoo.estructuras.logica.ListaEnterosPorBloques;
 import uniandes.dpoo.estructuras.logica.SandboxListas;
+import uniandes.dpoo.estructuras.logica.VectorEnteros;
 
 class TestSandboxListas
 {
@@ -143,6 +163,19 @@ class TestSandboxListas
         assertEquals( 0, copiaArreglo.length, "La cantidad de enteros en el sandbox vacío no es correcta" );
     }
 
+    @Test
+    void testGetCopiaEnterosIndependiente( )
+    {
+        List<Integer> copia = sinRepetidos.getCopiaEnteros( );
+        copia.add( 100 );
+        copia.remove( 0 );
+        copia.add( 0, -1 );
+
+        assertEquals( enterosSinRepetidos.length, sinRepetidos.getCantidadEnteros( ), "Modificar la copia no debería modificar la lista" );
+        assertTrue( sinRepetidos.compararArregloEnteros( enterosSinRepetidos ), "Modificar la copia no debería modificar la lista" );
+        assertEquals( Arrays.asList( -1, 8, 7, 6, 5, 4, 3, 2, 1, 0, 100 ), copia, "La copia no se modificó correctamente" );
+    }
+
     @Test
     void testAgregarEntero( )
     {
@@ -508,6 +541,27 @@ class TestSandboxListas
         assertEquals( 0, vacio.contarApariciones( "z" ), "No contó correctamente las cadenas" );
     }
 
+    @Test
+    void testContarCadenaConIndice( )
+    {
+        sencillo.usarIndiceCadenas( true );
+        sencillo.agregarCadena( "A" );
+
+        assertEquals( 3, sencillo.contarApariciones( "a" ), "No contó correctamente las cadenas" );
+        assertEquals( 3, sencillo.contarApariciones( "A" ), "No contó correctamente las cadenas" );
+        assertEquals( 0, sencillo.contarApariciones( "z" ), "No contó correctamente las cadenas" );
+
+        sencillo.eliminarCadena( "A" );
+        assertEquals( 2, sencillo.contarApariciones( "a" ), "No se actualizó el índice al eliminar" );
+        assertEquals( cadenasSencillas.length, sencillo.getCantidadCadenas( ), "No se eliminaron correctamente las cadenas" );
+        sencillo.eliminarCadena( "z" );
+        assertEquals( cadenasSencillas.length, sencillo.getCantidadCadenas( ), "No debería haberse eliminado ninguna cadena" );
+
+        sencillo.reiniciarArregloCadenas( Arrays.asList( "x", "X", 1 ) );
+        assertEquals( 2, sencillo.contarApariciones( "x" ), "No se actualizó el índice al reiniciar" );
+        assertEquals( 0, sencillo.contarApariciones( "a" ), "No se actualizó el índice al reiniciar" );
+    }
+
     @Test
     void testOrganizarEnteros( )
     {
@@ -572,6 +626,27 @@ class TestSandboxListas
         assertEquals( 0, vacio.contarEnterosRepetidos( ), "No contó correctamente la cantidad de enteros que están repetidos" );
     }
 
+    @Test
+    void testContarEnterosRepetidosNoModificaLista( )
+    {
+        sencillo.contarEnterosRepetidos( );
+        assertEquals( enterosSencillos.length, sencillo.getCantidadEnteros( ), "Contar los repetidos no debería modificar la lista" );
+        assertEquals( 3, sencillo.contarApariciones( 6 ), "Contar los repetidos no debería modificar la lista" );
+    }
+
+    @Test
+    void testDistintos( )
+    {
+        sinRepetidos.agregarEntero( 5 );
+        sinRepetidos.agregarEntero( 9 );
+        sinRepetidos.agregarEntero( 11 );
+
+        List<Integer> distintos = sinRepetidos.distintos( );
+        assertEquals( Arrays.asList( 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 11 ), distintos, "Los valores diferentes no son los esperados" );
+        assertEquals( 13, sinRepetidos.getCantidadEnteros( ), "Calcular los valores diferentes no debería modificar la lista" );
+        assertEquals( 0, vacio.distintos( ).size( ), "La lista vacía no tiene valores diferentes" );
+    }
+
     @Test
     void testCompararArregloEnterosIguales( )
     {
@@ -594,6 +669,25 @@ class TestSandboxListas
         assertFalse( vacio.compararArregloEnteros( enterosSencillos ), "No comparó correctamente los arreglos cuando eran diferentes" );
     }
 
+    @Test
+    void testCompararCon( )
+    {
+        SandboxListas otro = new SandboxListas( );
+        for( int i = 0; i < enterosSinRepetidos.length; i++ )
+        {
+            otro.agregarEntero( enterosSinRepetidos[ i ] );
+        }
+
+        assertTrue( sinRepetidos.compararCon( otro ), "No comparó correctamente las listas cuando eran iguales" );
+        otro.agregarEntero( 99 );
+        assertFalse( sinRepetidos.compararCon( otro ), "No comparó correctamente las listas de diferente tamaño" );
+        otro.eliminarEntero( 99 );
+        otro.insertarEntero( -1, 3 );
+        otro.eliminarEnteroPorPosicion( 4 );
+        assertFalse( sinRepetidos.compararCon( otro ), "No comparó correctamente las listas cuando eran diferentes" );
+        assertTrue( vacio.compararCon( new SandboxListas( ) ), "No comparó correctamente las listas vacías" );
+    }
+
     @Test
     void testGenerarEnterosBasico( )
     {
@@ -659,4 +753,839 @@ class TestSandboxListas
             fail( "Los valores no están bien distribuidos" );
     }
 
+    @Test
+    void testOrganizarEnterosGrande( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, almacenamiento );
+            sandbox.generarEnteros( 20000, Integer.MIN_VALUE / 2, Integer.MAX_VALUE / 2 );
+            int[] esperado = sandbox.getEnterosComoArreglo( );
+            Arrays.sort( esperado );
+            for( int i = 0, j = esperado.length - 1; i < j; i++, j-- )
+            {
+                int temporal = esperado[ i ];
+                esperado[ i ] = esperado[ j ];
+                esperado[ j ] = temporal;
+            }
+
+            sandbox.organizarEnteros( );
+            assertTrue( sandbox.compararArregloEnteros( esperado ), "La lista no quedó organizada de mayor a menor con " + almacenamiento );
+        }
+    }
+
+    @Test
+    void testReiniciarYGenerarConAlmacenamientos( )
+    {
+        double[] valores = new double[3000];
+        int[] esperados = new int[valores.length];
+        for( int i = 0; i < valores.length; i++ )
+        {
+            valores[ i ] = i + 0.75;
+            esperados[ i ] = i;
+        }
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, almacenamiento );
+            sandbox.agregarEntero( 99 );
+            sandbox.reiniciarArregloEnteros( valores );
+            assertTrue( sandbox.compararArregloEnteros( esperados ), "La lista no quedó con los valores truncados con " + almacenamiento );
+            sandbox.insertarEntero( -1, 0 );
+            assertEquals( 3001, sandbox.getCantidadEnteros( ), "La lista no se puede modificar después de reiniciarla con " + almacenamiento );
+
+            sandbox.generarEnteros( 2000, Integer.MIN_VALUE, Integer.MAX_VALUE );
+            assertEquals( 2000, sandbox.getCantidadEnteros( ), "La cantidad de elementos generados no es correcta con " + almacenamiento );
+        }
+    }
+
+    @Test
+    void testAlmacenamientos( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, almacenamiento );
+            for( int i = 0; i < enterosSinRepetidos.length; i++ )
+            {
+                sandbox.agregarEntero( enterosSinRepetidos[ i ] );
+            }
+            sandbox.insertarEntero( -7, 0 );
+            sandbox.insertarEntero( 42, 5 );
+            sandbox.eliminarEnteroPorPosicion( 10 );
+            sandbox.volverPositivos( );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 7, 9, 8, 7, 6, 42, 5, 4, 3, 2, 0 } ), "La lista de enteros no es correcta con " + almacenamiento );
+            assertEquals( 2, sandbox.contarApariciones( 7 ), "La cantidad de apariciones no es correcta con " + almacenamiento );
+
+            sandbox.organizarEnteros( );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 42, 9, 8, 7, 7, 6, 5, 4, 3, 2, 0 } ), "La lista no quedó organizada con " + almacenamiento );
+
+            for( int i = 0; i < cadenasSencillas.length; i++ )
+            {
+                sandbox.agregarCadena( cadenasSencillas[ i ] );
+            }
+            sandbox.eliminarCadena( "c" );
+            sandbox.organizarCadenas( );
+            assertEquals( Arrays.asList( "a", "a", "b", "b", "d", "d", "e" ), sandbox.getCopiaCadenas( ), "La lista de cadenas no es correcta con " + almacenamiento );
+        }
+    }
+
+    @Test
+    void testAlmacenamientoPorBloquesGrande( )
+    {
+        SandboxListas bloques = new SandboxListas( Almacenamiento.POR_BLOQUES, Almacenamiento.POR_BLOQUES );
+        SandboxListas arreglo = new SandboxListas( Almacenamiento.ARREGLO, Almacenamiento.ARREGLO );
+        for( int i = 0; i < 5000; i++ )
+        {
+            bloques.insertarEntero( i, i / 2 );
+            arreglo.insertarEntero( i, i / 2 );
+        }
+        for( int i = 0; i < 2000; i++ )
+        {
+            bloques.eliminarEnteroPorPosicion( ( i * 7 ) % bloques.getCantidadEnteros( ) );
+            arreglo.eliminarEnteroPorPosicion( ( i * 7 ) % arreglo.getCantidadEnteros( ) );
+        }
+        assertTrue( bloques.compararCon( arreglo ), "Las listas por bloques y en arreglo deberían tener los mismos valores" );
+    }
+
+    @Test
+    void testInsertarYEliminarAlInicioPorBloques( )
+    {
+        SandboxListas bloques = new SandboxListas( Almacenamiento.POR_BLOQUES, Almacenamiento.POR_BLOQUES );
+        for( int i = 0; i < 5000; i++ )
+        {
+            bloques.insertarEntero( i, -1 );
+        }
+        for( int i = 0; i < 4000; i++ )
+        {
+            bloques.eliminarEnteroPorPosicion( 0 );
+        }
+        int[] esperado = new int[1000];
+        for( int i = 0; i < esperado.length; i++ )
+        {
+            esperado[ i ] = 999 - i;
+        }
+        assertTrue( bloques.compararArregloEnteros( esperado ), "La lista por bloques no tiene los valores esperados" );
+    }
+
+    @Test
+    void testOrganizarCadenasEnlazadasConNull( )
+    {
+        String[][] casos = new String[][]{ { "b", "a", null, "c" }, { "c", "b", "a", "e", "d", "f", null, "g" } };
+        for( String[] caso : casos )
+        {
+            SandboxListas enlazada = new SandboxListas( Almacenamiento.ARREGLO, Almacenamiento.ENLAZADA );
+            for( String cadena : caso )
+            {
+                enlazada.agregarCadena( cadena );
+            }
+            assertThrows( NullPointerException.class, ( ) -> enlazada.organizarCadenas( ), "Organizar con un null debería fallar" );
+            assertEquals( Arrays.asList( caso ), enlazada.getCopiaCadenas( ), "La lista debería quedar como estaba antes de organizarla" );
+            assertThrows( NullPointerException.class, ( ) -> enlazada.usarCadenasOrdenadas( true ), "Organizar con un null debería fallar" );
+            assertEquals( Arrays.asList( caso ), enlazada.getCopiaCadenas( ), "La lista debería quedar como estaba antes de organizarla" );
+
+            enlazada.eliminarCadena( null );
+            enlazada.organizarCadenas( );
+            enlazada.agregarCadena( "z" );
+            List<String> cadenas = enlazada.getCopiaCadenas( );
+            assertEquals( caso.length, cadenas.size( ), "La cantidad de cadenas no es correcta" );
+            assertEquals( "a", cadenas.get( 0 ), "La lista no quedó organizada" );
+            assertEquals( "z", cadenas.get( cadenas.size( ) - 1 ), "La cadena no quedó al final" );
+        }
+    }
+
+    @Test
+    void testOrganizarCadenasCasiOrdenadas( )
+    {
+        SandboxListas enlazada = new SandboxListas( );
+        for( int i = 0; i < 200; i++ )
+        {
+            enlazada.agregarCadena( String.format( "c%03d", i ) );
+        }
+        enlazada.agregarCadena( "c050" );
+        enlazada.agregarCadena( "a" );
+        enlazada.agregarCadena( "z" );
+        enlazada.agregarCadena( "c100x" );
+        enlazada.organizarCadenas( );
+
+        List<String> cadenas = enlazada.getCopiaCadenas( );
+        assertEquals( 204, cadenas.size( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( "a", cadenas.get( 0 ), "La lista no quedó organizada" );
+        assertEquals( "c050", cadenas.get( 52 ), "La lista no quedó organizada" );
+        assertEquals( "c100x", cadenas.get( 103 ), "La lista no quedó organizada" );
+        assertEquals( "z", cadenas.get( 203 ), "La lista no quedó organizada" );
+        for( int i = 1; i < cadenas.size( ); i++ )
+        {
+            assertTrue( cadenas.get( i - 1 ).compareTo( cadenas.get( i ) ) <= 0, "La lista no quedó organizada en la posición " + i );
+        }
+    }
+
+    @Test
+    void testCadenasOrdenadas( )
+    {
+        sencillo.usarCadenasOrdenadas( true );
+        assertEquals( Arrays.asList( "a", "a", "b", "b", "c", "c", "d", "d", "e" ), sencillo.getCopiaCadenas( ), "Al activar el modo la lista debe quedar organizada" );
+
+        sencillo.agregarCadena( "bb" );
+        sencillo.agregarCadena( "f" );
+        sencillo.agregarCadena( "0" );
+        sencillo.eliminarCadena( "c" );
+        assertEquals( Arrays.asList( "0", "a", "a", "b", "b", "bb", "d", "d", "e", "f" ), sencillo.getCopiaCadenas( ), "Las cadenas no se insertaron en orden" );
+
+        sencillo.usarCadenasOrdenadas( false );
+        sencillo.agregarCadena( "a" );
+        assertEquals( "a", sencillo.getCopiaCadenas( ).get( 10 ), "Sin el modo las cadenas deben agregarse al final" );
+    }
+
+    @Test
+    void testEstadisticasEnteros( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        int[] valores = new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 6, -2, -3, -4, -5, 6, 7, 8, 9 };
+        for( int i = 0; i < valores.length; i++ )
+        {
+            sandbox.agregarEntero( valores[ i ] );
+        }
+        EstadisticasEnteros estadisticas = sandbox.getEstadisticasEnteros( );
+        assertEquals( 19, estadisticas.getCantidad( ), "La cantidad no es correcta" );
+        assertEquals( 67, estadisticas.getSuma( ), "La suma no es correcta" );
+        assertEquals( -5, estadisticas.getMinimo( ), "El mínimo no es correcto" );
+        assertEquals( 9, estadisticas.getMaximo( ), "El máximo no es correcto" );
+        assertEquals( 4, estadisticas.getCantidadNegativos( ), "La cantidad de negativos no es correcta" );
+
+        sandbox.eliminarEntero( 9 );
+        sandbox.eliminarEnteroPorPosicion( 0 );
+        sandbox.insertarEntero( -10, 3 );
+        estadisticas = sandbox.getEstadisticasEnteros( );
+        assertEquals( 17, estadisticas.getCantidad( ), "La cantidad no es correcta después de modificar la lista" );
+        assertEquals( 31, estadisticas.getSuma( ), "La suma no es correcta después de modificar la lista" );
+        assertEquals( -10, estadisticas.getMinimo( ), "El mínimo no es correcto después de modificar la lista" );
+        assertEquals( 8, estadisticas.getMaximo( ), "El máximo no es correcto después de eliminar el anterior máximo" );
+
+        sandbox.volverPositivos( );
+        assertFalse( estadisticas.hayNegativos( ) == sandbox.getEstadisticasEnteros( ).hayNegativos( ), "Las estadísticas retornadas deben ser una copia" );
+        assertEquals( 0, sandbox.getEstadisticasEnteros( ).getCantidadNegativos( ), "No deberían quedar negativos" );
+        assertEquals( 10, sandbox.getEstadisticasEnteros( ).getMaximo( ), "El máximo no es correcto después de volver positivos los valores" );
+    }
+
+    @Test
+    void testEstadisticasEnterosVacia( )
+    {
+        EstadisticasEnteros estadisticas = vacio.getEstadisticasEnteros( );
+        assertEquals( 0, estadisticas.getCantidad( ), "La cantidad no es correcta" );
+        assertEquals( 0, estadisticas.getSuma( ), "La suma no es correcta" );
+        assertTrue( Double.isNaN( estadisticas.getPromedio( ) ), "El promedio de una lista vacía no está definido" );
+        assertThrows( NoSuchElementException.class, ( ) -> estadisticas.getMinimo( ) );
+    }
+
+    @Test
+    void testContadoresOperaciones( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        for( int i = 0; i < 8; i++ )
+        {
+            sandbox.agregarEntero( i );
+        }
+        sandbox.insertarEntero( 100, 0 );
+        sandbox.insertarEntero( 101, 4 );
+        sandbox.insertarEntero( 102, 100 );
+        sandbox.eliminarEnteroPorPosicion( 0 );
+        sandbox.eliminarEnteroPorPosicion( 50 );
+        assertEquals( 101, sandbox.getEntero( 3 ), "El valor de la posición no es correcto" );
+        sandbox.contarApariciones( 5 );
+
+        ContadoresOperaciones contadores = sandbox.getContadoresEnteros( );
+        assertEquals( 1, contadores.getInsercionesInicio( ), "Las inserciones al inicio no son correctas" );
+        assertEquals( 1, contadores.getInsercionesMedio( ), "Las inserciones en el medio no son correctas" );
+        assertEquals( 9, contadores.getInsercionesFinal( ), "Las inserciones al final no son correctas" );
+        assertEquals( 1, contadores.getEliminacionesInicio( ), "Las eliminaciones al inicio no son correctas" );
+        assertEquals( 1, contadores.getLecturasPosicion( ), "Las lecturas no son correctas" );
+        assertEquals( 1, contadores.getRecorridos( ), "Los recorridos no son correctos" );
+        assertEquals( 0, contadores.getMigraciones( ), "Sin el modo adaptativo no debería migrar" );
+    }
+
+    @Test
+    void testContadoresRegiones( )
+    {
+        // En una lista de 8 elementos la primera cuarta parte son las posiciones 0 y 1, y la última las posiciones 6 y 7
+        String[] esperadas = new String[]{ "inicio", "inicio", "medio", "medio", "medio", "medio", "final", "final" };
+        for( int posicion = 0; posicion < 8; posicion++ )
+        {
+            SandboxListas sandbox = new SandboxListas( );
+            for( int i = 0; i < 8; i++ )
+            {
+                sandbox.agregarEntero( i );
+            }
+            sandbox.eliminarEnteroPorPosicion( posicion );
+            ContadoresOperaciones contadores = sandbox.getContadoresEnteros( );
+            String region = contadores.getEliminacionesInicio( ) == 1 ? "inicio" : contadores.getEliminacionesFinal( ) == 1 ? "final" : "medio";
+            assertEquals( esperadas[ posicion ], region, "La región de la posición " + posicion + " no es correcta" );
+        }
+    }
+
+    @Test
+    void testAlmacenamientoAdaptativo( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        List<String> migraciones = new ArrayList<String>( );
+        sandbox.setOyenteMigraciones( ( lista, anterior, nuevo, contadores ) -> migraciones.add( lista + ":" + anterior + "->" + nuevo ) );
+        sandbox.usarAlmacenamientoAdaptativo( true );
+
+        int[] esperado = new int[20000];
+        for( int i = 0; i < 18000; i++ )
+        {
+            sandbox.agregarEntero( i );
+        }
+        assertEquals( Almacenamiento.ARREGLO, sandbox.getAlmacenamientoEnteros( ), "Agregar al final no debería cambiar el almacenamiento" );
+
+        for( int i = 0; i < 2000; i++ )
+        {
+            sandbox.insertarEntero( -i, 0 );
+        }
+        for( int i = 0; i < 2000; i++ )
+        {
+            esperado[ i ] = -( 1999 - i );
+        }
+        for( int i = 0; i < 18000; i++ )
+        {
+            esperado[ 2000 + i ] = i;
+        }
+
+        assertEquals( Almacenamiento.ENLAZADA, sandbox.getAlmacenamientoEnteros( ), "Insertar al inicio debería pasar la lista a una lista enlazada" );
+        assertEquals( Arrays.asList( "enteros:ARREGLO->ENLAZADA" ), migraciones, "No se avisó la migración" );
+        assertTrue( sandbox.compararArregloEnteros( esperado ), "La migración cambió los valores" );
+        assertEquals( -1999, sandbox.getEstadisticasEnteros( ).getMinimo( ), "La migración cambió las estadísticas" );
+    }
+
+    @Test
+    void testComparacionesCuentanParaAdaptar( )
+    {
+        // Con un sandbox gemelo se cuenta cuántas lecturas hacen falta para que la lista vuelva a ser un arreglo
+        SandboxListas gemelo = crearSandboxEnlazado( );
+        int lecturas = 0;
+        while( gemelo.getAlmacenamientoEnteros( ) == Almacenamiento.ENLAZADA )
+        {
+            gemelo.getEntero( gemelo.getCantidadEnteros( ) / 2 );
+            lecturas++;
+        }
+
+        // A cada sandbox le falta una operación para migrar, y la hace una comparación o distintos
+        for( int operacion = 0; operacion < 3; operacion++ )
+        {
+            SandboxListas sandbox = crearSandboxEnlazado( );
+            SandboxListas otro = crearSandboxEnlazado( );
+            for( int i = 1; i < lecturas; i++ )
+            {
+                sandbox.getEntero( sandbox.getCantidadEnteros( ) / 2 );
+            }
+            long recorridos = sandbox.getContadoresEnteros( ).getRecorridos( );
+            if( operacion == 0 )
+            {
+                assertTrue( sandbox.compararArregloEnteros( otro.getEnterosComoArreglo( ) ), "Los enteros deberían ser iguales" );
+            }
+            else if( operacion == 1 )
+            {
+                assertTrue( sandbox.compararCon( otro ), "Los enteros deberían ser iguales" );
+                assertEquals( 1, otro.getContadoresEnteros( ).getRecorridos( ), "La comparación debería contar como un recorrido del otro sandbox" );
+            }
+            else
+            {
+                sandbox.distintos( );
+            }
+            assertEquals( recorridos + 1, sandbox.getContadoresEnteros( ).getRecorridos( ), "La operación " + operacion + " debería contar como un recorrido" );
+            assertEquals( Almacenamiento.ARREGLO, sandbox.getAlmacenamientoEnteros( ), "La operación " + operacion + " debería poder cambiar el almacenamiento" );
+        }
+    }
+
+    /**
+     * Crea un sandbox adaptativo cuya lista de enteros acaba de pasar a una lista enlazada
+     * @return El sandbox
+     */
+    private static SandboxListas crearSandboxEnlazado( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        sandbox.usarAlmacenamientoAdaptativo( true );
+        for( int i = 0; i < 4000; i++ )
+        {
+            sandbox.agregarEntero( i );
+        }
+        while( sandbox.getAlmacenamientoEnteros( ) == Almacenamiento.ARREGLO )
+        {
+            sandbox.insertarEntero( -1, 0 );
+        }
+        return sandbox;
+    }
+
+    @Test
+    void testAlmacenamientoAdaptativoConHisteresis( )
+    {
+        SandboxListas sandbox = new SandboxListas( Almacenamiento.ARREGLO, Almacenamiento.ARREGLO );
+        sandbox.usarAlmacenamientoAdaptativo( true );
+        for( int i = 0; i < 4000; i++ )
+        {
+            sandbox.agregarEntero( i );
+            sandbox.agregarCadena( "c" + i );
+        }
+        // Unas pocas inserciones al inicio entre muchas lecturas no justifican migrar
+        for( int i = 0; i < 3000; i++ )
+        {
+            if( i % 64 == 0 )
+            {
+                sandbox.insertarEntero( i, 0 );
+            }
+            sandbox.getEntero( i );
+            sandbox.getCadena( i );
+        }
+        assertEquals( Almacenamiento.ARREGLO, sandbox.getAlmacenamientoEnteros( ), "No debería cambiar el almacenamiento de los enteros" );
+        assertEquals( Almacenamiento.ARREGLO, sandbox.getAlmacenamientoCadenas( ), "No debería cambiar el almacenamiento de las cadenas" );
+        assertEquals( 0, sandbox.getContadoresEnteros( ).getMigraciones( ), "No debería haber migraciones" );
+    }
+
+    @Test
+    void testForEachEnteroYCopiarEnteros( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        sandbox.reiniciarArregloEnteros( new double[]{ 4, -2, 7, 1 } );
+
+        long[] suma = new long[1];
+        sandbox.forEachEntero( valor -> suma[ 0 ] += valor );
+        assertEquals( 10, suma[ 0 ], "La suma de los valores recorridos no es correcta" );
+
+        int[] destino = new int[]{ 9, 9, 9, 9, 9, 9 };
+        assertEquals( 4, sandbox.copiarEnteros( destino, 1 ), "La cantidad de valores copiados no es correcta" );
+        assertArrayEquals( new int[]{ 9, 4, -2, 7, 1, 9 }, destino, "Los valores no se copiaron en la posición correcta" );
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> sandbox.copiarEnteros( destino, 3 ) );
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> sandbox.copiarEnteros( destino, -1 ) );
+    }
+
+    @Test
+    void testCursorEnteros( )
+    {
+        double[] valores = new double[3000];
+        int[] esperado = new int[valores.length];
+        for( int i = 0; i < valores.length; i++ )
+        {
+            valores[ i ] = i * 7 % 1001;
+            esperado[ i ] = i * 7 % 1001;
+        }
+        CursorEnteros cursor = null;
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, Almacenamiento.ARREGLO );
+            sandbox.reiniciarArregloEnteros( valores );
+            for( int vuelta = 0; vuelta < 2; vuelta++ )
+            {
+                cursor = sandbox.abrirCursorEnteros( cursor );
+                int[] recorridos = new int[valores.length];
+                int cantidad = 0;
+                while( cursor.haySiguiente( ) )
+                {
+                    recorridos[ cantidad++ ] = cursor.siguiente( );
+                }
+                assertEquals( valores.length, cantidad, "El cursor no recorrió todos los valores con " + almacenamiento );
+                assertArrayEquals( esperado, recorridos, "El cursor no recorrió los valores en orden con " + almacenamiento );
+            }
+            assertThrows( NoSuchElementException.class, cursor::siguiente );
+        }
+
+        SandboxListas vacia = new SandboxListas( );
+        assertFalse( vacia.abrirCursorEnteros( cursor ).haySiguiente( ), "Una lista vacía no tiene valores" );
+    }
+
+    @Test
+    void testCursorEnterosConModificacion( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        sandbox.reiniciarArregloEnteros( new double[]{ 1, 2, 3 } );
+        CursorEnteros cursor = sandbox.abrirCursorEnteros( null );
+        cursor.siguiente( );
+        sandbox.agregarEntero( 4 );
+        assertThrows( ConcurrentModificationException.class, cursor::siguiente );
+    }
+
+    @Test
+    void testEliminarCadenaConstruida( )
+    {
+        String d = new StringBuilder( "d" ).toString( );
+        sencillo.eliminarCadena( d );
+        assertEquals( cadenasSencillas.length - 2, sencillo.getCantidadCadenas( ), "Las cadenas se deben comparar con equals" );
+        assertEquals( 0, sencillo.contarApariciones( "d" ), "No se eliminaron todas las apariciones" );
+    }
+
+    @Test
+    void testEliminarCadenas( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            for( int indice = 0; indice < 2; indice++ )
+            {
+                SandboxListas sandbox = new SandboxListas( Almacenamiento.ARREGLO, almacenamiento );
+                sandbox.usarIndiceCadenas( indice == 1 );
+                for( String cadena : new String[]{ "a", "b", "c", "a", "d", "b", "e" } )
+                {
+                    sandbox.agregarCadena( new StringBuilder( cadena ).toString( ) );
+                }
+                int eliminadas = sandbox.eliminarCadenas( Arrays.asList( "a", "b", "zzz" ) );
+
+                assertEquals( 4, eliminadas, "La cantidad de cadenas eliminadas no es correcta con " + almacenamiento );
+                assertEquals( Arrays.asList( "c", "d", "e" ), sandbox.getCopiaCadenas( ), "No quedaron las cadenas correctas con " + almacenamiento );
+                assertEquals( 0, sandbox.contarApariciones( "A" ), "El conteo no es correcto después de eliminar con " + almacenamiento );
+                assertEquals( 0, sandbox.eliminarCadenas( Arrays.asList( "zzz" ) ), "No debería eliminar cadenas que no están" );
+            }
+        }
+    }
+
+    @Test
+    void testEliminarEnteros( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, Almacenamiento.ARREGLO );
+            sandbox.reiniciarArregloEnteros( new double[]{ 5, -3, 8, 5, 1, -3, 9, 2 } );
+            int eliminados = sandbox.eliminarEnteros( 5, -3, 9, 100 );
+
+            assertEquals( 5, eliminados, "La cantidad de enteros eliminados no es correcta con " + almacenamiento );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 8, 1, 2 } ), "No quedaron los enteros correctos con " + almacenamiento );
+            EstadisticasEnteros estadisticas = sandbox.getEstadisticasEnteros( );
+            assertEquals( 11, estadisticas.getSuma( ), "La suma no es correcta después de eliminar con " + almacenamiento );
+            assertEquals( 1, estadisticas.getMinimo( ), "El mínimo no es correcto después de eliminar con " + almacenamiento );
+            assertFalse( estadisticas.hayNegativos( ), "Ya no deberían quedar negativos con " + almacenamiento );
+            assertEquals( 0, sandbox.eliminarEnteros( ), "Sin valores no debería eliminar nada" );
+        }
+    }
+
+    @Test
+    void testOperacionesPorRango( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, Almacenamiento.ARREGLO );
+            sandbox.reiniciarArregloEnteros( new double[]{ 1, 2, 3, 4, 5, 6, 7, 8 } );
+
+            assertArrayEquals( new int[]{ 3, 4, 5 }, sandbox.copiarRango( 2, 5 ), "La copia del rango no es correcta con " + almacenamiento );
+            assertArrayEquals( new int[]{ 7, 8 }, sandbox.copiarRango( 6, 20 ), "La parte del rango fuera de la lista se debe ignorar con " + almacenamiento );
+
+            sandbox.insertarTodos( new int[]{ 10, 20, 30 }, 3 );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 1, 2, 3, 10, 20, 30, 4, 5, 6, 7, 8 } ), "La inserción no es correcta con " + almacenamiento );
+
+            sandbox.organizarRango( 1, 6 );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 1, 30, 20, 10, 3, 2, 4, 5, 6, 7, 8 } ), "El rango no quedó organizado con " + almacenamiento );
+
+            assertEquals( 3, sandbox.eliminarRango( -5, 3 ), "La cantidad de eliminados no es correcta con " + almacenamiento );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 10, 3, 2, 4, 5, 6, 7, 8 } ), "La eliminación no es correcta con " + almacenamiento );
+            assertEquals( 0, sandbox.eliminarRango( 5, 5 ), "Un rango vacío no elimina valores" );
+            assertEquals( 45, sandbox.getEstadisticasEnteros( ).getSuma( ), "Las estadísticas no son correctas con " + almacenamiento );
+            assertEquals( 10, sandbox.getEstadisticasEnteros( ).getMaximo( ), "El máximo no es correcto con " + almacenamiento );
+        }
+    }
+
+    @Test
+    void testEliminarRangoGrande( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, Almacenamiento.ARREGLO );
+            double[] valores = new double[100000];
+            for( int i = 0; i < valores.length; i++ )
+            {
+                valores[ i ] = i;
+            }
+            sandbox.reiniciarArregloEnteros( valores );
+            for( int ronda = 0; ronda < 5; ronda++ )
+            {
+                sandbox.eliminarRango( 0, sandbox.getCantidadEnteros( ) / 10 );
+                sandbox.insertarTodos( new int[]{ -1, -2 }, sandbox.getCantidadEnteros( ) );
+            }
+            int[] enteros = sandbox.getEnterosComoArreglo( );
+            assertEquals( 59059, enteros.length, "La cantidad de enteros no es correcta con " + almacenamiento );
+            assertEquals( sandbox.getEstadisticasEnteros( ).getCantidad( ), enteros.length, "Las estadísticas no son correctas con " + almacenamiento );
+            assertEquals( -2, enteros[ enteros.length - 1 ], "El último valor no es correcto con " + almacenamiento );
+        }
+    }
+
+    @Test
+    void testSubListaVaciaClear( )
+    {
+        ListaEnteros[] listas = new ListaEnteros[]{ new ListaEnterosArreglo( ), new ListaEnterosEnlazada( ), new ListaEnterosPorBloques( 4 ),
+                new ListaEnterosPersistente( ) };
+        for( ListaEnteros lista : listas )
+        {
+            for( int i = 0; i < 5; i++ )
+            {
+                lista.addInt( i );
+            }
+            lista.subList( 2, 2 ).clear( );
+            lista.subList( 0, 0 ).clear( );
+            lista.subList( 5, 5 ).clear( );
+            assertEquals( Arrays.asList( 0, 1, 2, 3, 4 ), new ArrayList<Integer>( lista ), "Un rango vacío no debe eliminar elementos en " + lista.getClass( ).getSimpleName( ) );
+            lista.subList( 1, 3 ).clear( );
+            assertEquals( Arrays.asList( 0, 3, 4 ), new ArrayList<Integer>( lista ), "El rango no se eliminó bien en " + lista.getClass( ).getSimpleName( ) );
+        }
+    }
+
+    @Test
+    void testMismatchEntreAlmacenamientos( )
+    {
+        for( int a = 0; a < 4; a++ )
+        {
+            for( int b = 0; b < 4; b++ )
+            {
+                ListaEnteros lista = crearLista( a, 100 );
+                ListaEnteros otra = crearLista( b, 100 );
+                String nombres = lista.getClass( ).getSimpleName( ) + " y " + otra.getClass( ).getSimpleName( );
+                assertEquals( -1, lista.mismatch( otra ), "Las listas deberían ser iguales: " + nombres );
+                assertEquals( -1, lista.mismatch( otra.toIntArray( ) ), "La lista y el arreglo deberían ser iguales: " + nombres );
+                otra.setInt( 37, -1 );
+                assertEquals( 37, lista.mismatch( otra ), "La diferencia no está en la posición correcta: " + nombres );
+                assertEquals( 37, otra.mismatch( lista ), "La diferencia no está en la posición correcta: " + nombres );
+                assertEquals( 37, lista.mismatch( otra.toIntArray( ) ), "La diferencia no está en la posición correcta: " + nombres );
+                assertEquals( 60, lista.mismatch( crearLista( b, 60 ) ), "Un prefijo debería diferir en su tamaño: " + nombres );
+                assertEquals( 60, crearLista( b, 60 ).mismatch( lista ), "Un prefijo debería diferir en su tamaño: " + nombres );
+            }
+        }
+    }
+
+    /**
+     * Crea una lista con los valores de 0 a cantidad - 1
+     * @param almacenamiento 0 para un arreglo, 1 para una lista enlazada, 2 para una lista por bloques y 3 para una lista persistente
+     * @param cantidad La cantidad de valores
+     * @return La lista
+     */
+    private static ListaEnteros crearLista( int almacenamiento, int cantidad )
+    {
+        ListaEnteros lista = almacenamiento == 0 ? new ListaEnterosArreglo( )
+                : almacenamiento == 1 ? new ListaEnterosEnlazada( ) : almacenamiento == 2 ? new ListaEnterosPorBloques( 4 ) : new ListaEnterosPersistente( );
+        for( int i = 0; i < cantidad; i++ )
+        {
+            lista.addInt( i );
+        }
+        return lista;
+    }
+
+    @Test
+    void testOrganizarRangoInvertido( )
+    {
+        ListaEnteros[] listas = new ListaEnteros[]{ new ListaEnterosArreglo( ), new ListaEnterosEnlazada( ), new ListaEnterosPorBloques( 4 ),
+                new ListaEnterosPersistente( ) };
+        for( ListaEnteros lista : listas )
+        {
+            for( int i = 0; i < 5; i++ )
+            {
+                lista.addInt( i );
+            }
+            assertThrows( IndexOutOfBoundsException.class, ( ) -> lista.sortIntDescending( 2, 1 ),
+                    "Debería fallar con un rango invertido en " + lista.getClass( ).getSimpleName( ) );
+            assertThrows( IndexOutOfBoundsException.class, ( ) -> lista.sortIntDescending( 3, 6 ),
+                    "Debería fallar con un rango fuera de la lista en " + lista.getClass( ).getSimpleName( ) );
+        }
+    }
+
+    @Test
+    void testConsultaEnteros( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        sandbox.reiniciarArregloEnteros( new double[]{ 4, -7, 2, -4, 9, 2, -1, 6, 7 } );
+
+        ConsultaEnteros positivos = sandbox.consultaEnteros( ).transformar( Math::abs );
+        assertArrayEquals( new int[]{ 9, 7, 6, 4 }, positivos.filtrar( valor -> valor > 3 ).distintos( ).organizarDescendente( ).limitar( 4 ).aArreglo( ),
+                "El resultado de la consulta no es correcto" );
+        assertEquals( 3, positivos.filtrar( valor -> valor % 2 == 0 ).distintos( ).contar( ), "La cantidad de valores no es correcta" );
+        assertArrayEquals( new int[]{ 4, -7 }, sandbox.consultaEnteros( ).limitar( 2 ).aArreglo( ), "El límite no es correcto" );
+        assertTrue( sandbox.compararArregloEnteros( new int[]{ 4, -7, 2, -4, 9, 2, -1, 6, 7 } ), "La consulta no debe modificar la lista" );
+
+        HistogramaEnteros histograma = positivos.histograma( );
+        assertEquals( 6, histograma.getCantidadValores( ), "La cantidad de valores diferentes no es correcta" );
+        assertEquals( 1, histograma.getValor( 0 ), "Los valores deben estar organizados" );
+        assertEquals( 2, histograma.getFrecuenciaDe( 4 ), "La frecuencia no es correcta" );
+        assertEquals( 2, histograma.getFrecuenciaDe( 7 ), "La frecuencia no es correcta" );
+        assertEquals( 0, histograma.getFrecuenciaDe( 3 ), "Un valor que no aparece tiene frecuencia 0" );
+
+        sandbox.agregarEntero( -9 );
+        assertEquals( 2, positivos.filtrar( valor -> valor == 9 ).contar( ), "La consulta debe reflejar la lista al pedir el resultado" );
+    }
+
+    @Test
+    void testConsultaEnterosParalela( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, Almacenamiento.ARREGLO );
+            double[] valores = new double[100000];
+            for( int i = 0; i < valores.length; i++ )
+            {
+                valores[ i ] = ( i * 7919 ) % 1000 - 500;
+            }
+            sandbox.reiniciarArregloEnteros( valores );
+            ConsultaEnteros secuencial = sandbox.consultaEnteros( ).transformar( valor -> valor * 3 ).filtrar( valor -> valor % 2 == 0 );
+            ConsultaEnteros paralela = secuencial.paralela( );
+
+            assertEquals( secuencial.contar( ), paralela.contar( ), "La cantidad no es la misma en paralelo con " + almacenamiento );
+            assertArrayEquals( secuencial.aArreglo( ), paralela.aArreglo( ), "Los valores no son los mismos en paralelo con " + almacenamiento );
+            assertArrayEquals( secuencial.distintos( ).limitar( 50 ).aArreglo( ), paralela.distintos( ).limitar( 50 ).aArreglo( ),
+                    "Las etapas con estado no dan lo mismo en paralelo con " + almacenamiento );
+        }
+    }
+
+    @Test
+    void testOrganizarCadenasSinMayusculas( )
+    {
+        List<Object> cadenas = new ArrayList<Object>( Arrays.asList( "pera", "Banano", "manzana", "banano", "Pera", "ÁRBOL", "árbol", "Zeta", "abc", "ABD" ) );
+        List<String> esperado = new ArrayList<String>( );
+        for( Object cadena : cadenas )
+        {
+            esperado.add( ( String )cadena );
+        }
+        esperado.sort( String.CASE_INSENSITIVE_ORDER );
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            for( boolean indice : new boolean[]{ false, true } )
+            {
+                SandboxListas sandbox = new SandboxListas( Almacenamiento.ARREGLO, almacenamiento );
+                sandbox.usarIndiceCadenas( indice );
+                sandbox.reiniciarArregloCadenas( cadenas );
+                assertEquals( esperado, sandbox.getCopiaCadenasSinMayusculas( ), "La copia no quedó organizada con " + almacenamiento );
+                assertEquals( "pera", sandbox.getCadena( 0 ), "La copia no debe modificar la lista" );
+
+                sandbox.organizarCadenasSinMayusculas( );
+                assertEquals( esperado, sandbox.getCopiaCadenas( ), "La lista no quedó organizada con " + almacenamiento );
+                assertEquals( 2, sandbox.contarApariciones( "BANANO" ), "El conteo no es correcto después de organizar con " + almacenamiento );
+            }
+        }
+
+        SandboxListas ordenadas = new SandboxListas( );
+        ordenadas.usarCadenasOrdenadas( true );
+        ordenadas.agregarCadena( "b" );
+        ordenadas.agregarCadena( "A" );
+        ordenadas.organizarCadenasSinMayusculas( );
+        ordenadas.agregarCadena( "C" );
+        assertEquals( Arrays.asList( "A", "b", "C" ), ordenadas.getCopiaCadenas( ), "Organizar sin mayúsculas debe desactivar las cadenas ordenadas" );
+    }
+
+    @Test
+    void testVersionesEnteros( )
+    {
+        for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+        {
+            SandboxListas sandbox = new SandboxListas( almacenamiento, Almacenamiento.ARREGLO );
+            sandbox.reiniciarArregloEnteros( new double[]{ 5, 3, 8 } );
+            VectorEnteros inicial = sandbox.getVersionEnteros( );
+
+            sandbox.agregarEntero( -2 );
+            sandbox.insertarEntero( 10, 0 );
+            VectorEnteros intermedia = sandbox.getVersionEnteros( );
+            sandbox.eliminarEnteroPorPosicion( 2 );
+            sandbox.volverPositivos( );
+
+            assertArrayEquals( new int[]{ 5, 3, 8 }, inicial.toIntArray( ), "La versión no debe cambiar al modificar la lista con " + almacenamiento );
+            assertArrayEquals( new int[]{ 10, 5, 3, 8, -2 }, intermedia.toIntArray( ), "La versión no debe cambiar al modificar la lista con " + almacenamiento );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 10, 5, 8, 2 } ), "La lista no es correcta con " + almacenamiento );
+
+            sandbox.restaurarVersionEnteros( intermedia );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 10, 5, 3, 8, -2 } ), "La lista no volvió a la versión con " + almacenamiento );
+            assertEquals( -2, sandbox.getEstadisticasEnteros( ).getMinimo( ), "Las estadísticas no corresponden a la versión con " + almacenamiento );
+            sandbox.restaurarVersionEnteros( inicial );
+            assertTrue( sandbox.compararArregloEnteros( new int[]{ 5, 3, 8 } ), "La lista no volvió a la versión inicial con " + almacenamiento );
+        }
+        assertEquals( Almacenamiento.ARREGLO, new SandboxListas( Almacenamiento.PERSISTENTE, Almacenamiento.PERSISTENTE ).getAlmacenamientoCadenas( ),
+                "Las cadenas no tienen almacenamiento persistente" );
+    }
+
+    @Test
+    void testVersionesEnterosGrande( )
+    {
+        SandboxListas sandbox = new SandboxListas( Almacenamiento.PERSISTENTE, Almacenamiento.ARREGLO );
+        List<VectorEnteros> versiones = new ArrayList<VectorEnteros>( );
+        for( int i = 0; i < 5000; i++ )
+        {
+            sandbox.agregarEntero( i );
+            versiones.add( sandbox.getVersionEnteros( ) );
+        }
+        assertTrue( sandbox.getVersionEnteros( ) == sandbox.getVersionEnteros( ), "Con el almacenamiento persistente la versión no se debe copiar" );
+        for( int i = 0; i < versiones.size( ); i += 37 )
+        {
+            VectorEnteros version = versiones.get( i );
+            assertEquals( i + 1, version.getTamano( ), "El tamaño de la versión no es correcto" );
+            assertEquals( i, version.getValor( i ), "El último valor de la versión no es correcto" );
+            assertEquals( i / 2, version.getValor( i / 2 ), "Los valores de la versión no son correctos" );
+        }
+
+        VectorEnteros vector = versiones.get( 4999 );
+        VectorEnteros cambiado = vector.conValor( 1234, -1 ).insertar( 40, 7 ).eliminar( 0, 33 ).quitarUltimo( );
+        assertEquals( 1234, vector.getValor( 1234 ), "El vector original no debe cambiar" );
+        assertEquals( 5000 + 1 - 33 - 1, cambiado.getTamano( ), "El tamaño del vector cambiado no es correcto" );
+        assertEquals( 7, cambiado.getValor( 40 - 33 ), "El valor insertado no está en su posición" );
+        assertEquals( -1, cambiado.getValor( 1234 + 1 - 33 ), "El valor cambiado no está en su posición" );
+        assertEquals( VectorEnteros.de( cambiado.toIntArray( ) ), cambiado, "Dos vectores con los mismos valores deben ser iguales" );
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> vector.getValor( 5000 ), "Debería fallar con una posición inválida" );
+        assertThrows( IllegalStateException.class, ( ) -> VectorEnteros.vacio( ).quitarUltimo( ), "Debería fallar con un vector vacío" );
+    }
+
+    @Test
+    void testGuardarYCargar( ) throws IOException
+    {
+        Path archivo = Files.createTempFile( "listas", ".bin" );
+        try
+        {
+            for( Almacenamiento almacenamiento : Almacenamiento.values( ) )
+            {
+                SandboxListas sandbox = new SandboxListas( almacenamiento, almacenamiento );
+                int[] enteros = new int[5000];
+                for( int i = 0; i < enteros.length; i++ )
+                {
+                    enteros[ i ] = i % 7 == 0 ? Integer.MIN_VALUE + i : i * 31 - 1000;
+                    sandbox.agregarEntero( enteros[ i ] );
+                }
+                List<String> cadenas = Arrays.asList( "hola", "", null, "ñandú", "🦙 llama", "HOLA" );
+                for( String cadena : cadenas )
+                {
+                    sandbox.agregarCadena( cadena );
+                }
+                sandbox.guardar( archivo );
+
+                SandboxListas cargado = new SandboxListas( almacenamiento, almacenamiento );
+                cargado.agregarEntero( 42 );
+                cargado.agregarCadena( "otra" );
+                cargado.usarIndiceCadenas( true );
+                cargado.cargar( archivo );
+                assertTrue( cargado.compararArregloEnteros( enteros ), "Los enteros cargados no son los guardados con " + almacenamiento );
+                assertEquals( cadenas, cargado.getCopiaCadenas( ), "Las cadenas cargadas no son las guardadas con " + almacenamiento );
+                assertEquals( 2, cargado.contarApariciones( "Hola" ), "El índice no se reconstruyó al cargar con " + almacenamiento );
+                assertEquals( Integer.MIN_VALUE, cargado.getEstadisticasEnteros( ).getMinimo( ), "Las estadísticas no se recalcularon con " + almacenamiento );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
+    @Test
+    void testCargarArchivoDanado( ) throws IOException
+    {
+        Path archivo = Files.createTempFile( "listas", ".bin" );
+        try
+        {
+            SandboxListas sandbox = new SandboxListas( );
+            for( int i = 0; i < 1000; i++ )
+            {
+                sandbox.agregarEntero( i );
+            }
+            sandbox.agregarCadena( "a" );
+            sandbox.guardar( archivo );
+
+            byte[] bytes = Files.readAllBytes( archivo );
+            bytes[ bytes.length / 2 ]++;
+            Files.write( archivo, bytes );
+            SandboxListas otro = new SandboxListas( );
+            otro.agregarEntero( 7 );
+            assertThrows( IOException.class, ( ) -> otro.cargar( archivo ), "Debería detectar que el archivo está dañado" );
+            assertTrue( otro.compararArregloEnteros( new int[]{ 7 } ), "Si el archivo está dañado el sandbox no debe cambiar" );
+
+            Files.write( archivo, Arrays.copyOf( bytes, 10 ) );
+            assertThrows( IOException.class, ( ) -> otro.cargar( archivo ), "Debería detectar que el archivo está incompleto" );
+        }
+        finally
+        {
+            Files.deleteIfExists( archivo );
+        }
+    }
+
 }
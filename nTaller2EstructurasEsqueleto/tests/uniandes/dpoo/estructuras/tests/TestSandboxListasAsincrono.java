@@ -0,0 +1,155 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.Almacenamiento;
+import uniandes.dpoo.estructuras.logica.SandboxListas;
+import uniandes.dpoo.estructuras.logica.SandboxListasAsincrono;
+
+class TestSandboxListasAsincrono
+{
+    private SandboxListasAsincrono tuberia;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        tuberia = new SandboxListasAsincrono( new SandboxListas( ), 64 );
+    }
+
+    @AfterEach
+    void reset( )
+    {
+        tuberia.close( );
+    }
+
+    @Test
+    void testOperacionesEnOrden( ) throws Exception
+    {
+        for( int i = 0; i < 10; i++ )
+        {
+            tuberia.agregarEntero( i );
+        }
+        tuberia.eliminarEntero( 3 );
+        tuberia.insertarEntero( 42, 0 );
+        tuberia.eliminarEnteroPorPosicion( 5 );
+        CompletableFuture<Void> ultimo = tuberia.agregarEntero( 100 );
+        CompletableFuture<int[]> enteros = tuberia.consultar( SandboxListas::getEnterosComoArreglo );
+
+        assertArrayEquals( new int[]{ 42, 0, 1, 2, 4, 6, 7, 8, 9, 100 }, enteros.get( ), "Las operaciones no se aplicaron en orden" );
+        assertTrue( ultimo.isDone( ), "La operación ya debería estar completa" );
+    }
+
+    @Test
+    void testVariosHilosConBufferPequeno( ) throws Exception
+    {
+        int hilos = 6;
+        int porHilo = 3000;
+        Thread[] productores = new Thread[hilos];
+        for( int h = 0; h < hilos; h++ )
+        {
+            productores[ h ] = new Thread( ( ) -> {
+                for( int i = 0; i < porHilo; i++ )
+                {
+                    tuberia.agregarEntero( i );
+                }
+            } );
+            productores[ h ].start( );
+        }
+        for( Thread productor : productores )
+        {
+            productor.join( );
+        }
+
+        assertEquals( hilos * porHilo, tuberia.consultar( SandboxListas::getCantidadEnteros ).get( ), "No se aplicaron todos los agregados" );
+        assertEquals( hilos, tuberia.consultar( s -> s.contarApariciones( 17 ) ).get( ), "La cantidad de apariciones no es correcta" );
+    }
+
+    @Test
+    void testConsultaConError( )
+    {
+        CompletableFuture<Integer> consulta = tuberia.consultar( s -> s.getEstadisticasEnteros( ).getMinimo( ) );
+        assertThrows( ExecutionException.class, ( ) -> consulta.get( ) );
+    }
+
+    @Test
+    void testConsultaConErrorGrave( ) throws Exception
+    {
+        CompletableFuture<Object> consulta = tuberia.consultar( s -> {
+            throw new AssertionError( );
+        } );
+        CompletableFuture<Void> agregado = tuberia.agregarEntero( 1 );
+        agregado.get( 2, TimeUnit.SECONDS );
+        assertTrue( consulta.isCompletedExceptionally( ), "La consulta debería haber fallado" );
+        assertEquals( 1, tuberia.consultar( SandboxListas::getCantidadEnteros ).get( 2, TimeUnit.SECONDS ), "El escritor debería seguir aplicando operaciones" );
+    }
+
+    @Test
+    void testOyenteConError( ) throws Exception
+    {
+        // Con un sandbox gemelo se cuenta cuántas lecturas hacen falta para que la lista vuelva a ser un arreglo
+        SandboxListas gemelo = crearSandboxEnlazado( );
+        int lecturas = 0;
+        while( gemelo.getAlmacenamientoEnteros( ) == Almacenamiento.ENLAZADA )
+        {
+            gemelo.getEntero( gemelo.getCantidadEnteros( ) / 2 );
+            lecturas++;
+        }
+
+        // Al sandbox le falta una operación para migrar, y la hace un agregado de la tubería
+        SandboxListas sandbox = crearSandboxEnlazado( );
+        for( int i = 1; i < lecturas; i++ )
+        {
+            sandbox.getEntero( sandbox.getCantidadEnteros( ) / 2 );
+        }
+        sandbox.setOyenteMigraciones( ( lista, anterior, nuevo, contadores ) -> {
+            throw new IllegalStateException( "Error en el oyente" );
+        } );
+        tuberia.close( );
+        tuberia = new SandboxListasAsincrono( sandbox, 64 );
+
+        CompletableFuture<Void> agregado = tuberia.agregarEntero( 7 );
+        ExecutionException error = assertThrows( ExecutionException.class, ( ) -> agregado.get( 2, TimeUnit.SECONDS ), "El agregado debería fallar" );
+        assertTrue( error.getCause( ) instanceof IllegalStateException, "El agregado debería fallar con el error del oyente" );
+        tuberia.agregarEntero( 8 ).get( 2, TimeUnit.SECONDS );
+        assertEquals( Almacenamiento.ARREGLO, tuberia.consultar( SandboxListas::getAlmacenamientoEnteros ).get( 2, TimeUnit.SECONDS ), "La lista debería haber migrado" );
+    }
+
+    /**
+     * Crea un sandbox adaptativo cuya lista de enteros acaba de pasar a una lista enlazada
+     * @return El sandbox
+     */
+    private SandboxListas crearSandboxEnlazado( )
+    {
+        SandboxListas sandbox = new SandboxListas( );
+        sandbox.usarAlmacenamientoAdaptativo( true );
+        for( int i = 0; i < 4000; i++ )
+        {
+            sandbox.agregarEntero( i );
+        }
+        while( sandbox.getAlmacenamientoEnteros( ) == Almacenamiento.ARREGLO )
+        {
+            sandbox.insertarEntero( -1, 0 );
+        }
+        return sandbox;
+    }
+
+    @Test
+    void testCerrar( ) throws Exception
+    {
+        CompletableFuture<Void> agregado = tuberia.agregarEntero( 1 );
+        tuberia.close( );
+        assertTrue( agregado.isDone( ), "Al cerrar deben aplicarse las operaciones pendientes" );
+        assertThrows( IllegalStateException.class, ( ) -> tuberia.agregarEntero( 2 ) );
+    }
+}
@@ -0,0 +1,102 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.SandboxListasConcurrente;
+
+class TestSandboxListasConcurrente
+{
+    private static final int HILOS = 8;
+    private static final int POR_HILO = 5000;
+
+    private SandboxListasConcurrente sandbox;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        sandbox = new SandboxListasConcurrente( );
+    }
+
+    /**
+     * Ejecuta varios hilos que agregan enteros y cadenas al mismo tiempo. El hilo h agrega los enteros h * POR_HILO, h * POR_HILO + 1, ...
+     */
+    private void agregarDesdeVariosHilos( ) throws InterruptedException
+    {
+        Thread[] hilos = new Thread[HILOS];
+        for( int h = 0; h < HILOS; h++ )
+        {
+            int primero = h * POR_HILO;
+            hilos[ h ] = new Thread( ( ) -> {
+                for( int i = 0; i < POR_HILO; i++ )
+                {
+                    sandbox.agregarEntero( primero + i );
+                    if( i % 10 == 0 )
+                    {
+                        sandbox.agregarCadena( "h" + primero );
+                    }
+                }
+            } );
+            hilos[ h ].start( );
+        }
+        for( Thread hilo : hilos )
+        {
+            hilo.join( );
+        }
+    }
+
+    @Test
+    void testAgregarDesdeVariosHilos( ) throws InterruptedException
+    {
+        agregarDesdeVariosHilos( );
+
+        assertEquals( HILOS * POR_HILO, sandbox.getCantidadEnteros( ), "No quedaron todos los enteros agregados" );
+        assertEquals( HILOS * POR_HILO / 10, sandbox.getCantidadCadenas( ), "No quedaron todas las cadenas agregadas" );
+        assertEquals( POR_HILO / 10, sandbox.contarApariciones( "H0" ), "La cantidad de apariciones de la cadena no es correcta" );
+        assertEquals( 0, sandbox.contarEnterosRepetidos( ), "No debería haber enteros repetidos" );
+    }
+
+    @Test
+    void testOrdenPorHilo( ) throws InterruptedException
+    {
+        agregarDesdeVariosHilos( );
+
+        int[] siguientes = new int[HILOS];
+        for( int valor : sandbox.getEnterosComoArreglo( ) )
+        {
+            int hilo = valor / POR_HILO;
+            assertEquals( siguientes[ hilo ], valor % POR_HILO, "Los valores de un mismo hilo no quedaron en orden" );
+            siguientes[ hilo ]++;
+        }
+    }
+
+    @Test
+    void testConsultasMientrasSeAgrega( ) throws InterruptedException
+    {
+        Thread escritor = new Thread( ( ) -> {
+            for( int i = 0; i < 20000; i++ )
+            {
+                sandbox.agregarEntero( i );
+            }
+        } );
+        escritor.start( );
+        int anterior = 0;
+        while( escritor.isAlive( ) )
+        {
+            List<Integer> copia = sandbox.getCopiaEnteros( );
+            assertTrue( copia.size( ) >= anterior, "La lista no puede perder valores" );
+            for( int i = 0; i < copia.size( ); i++ )
+            {
+                assertEquals( i, copia.get( i ), "La copia no es consistente" );
+            }
+            anterior = copia.size( );
+        }
+        escritor.join( );
+        assertEquals( 20000, sandbox.getCantidadEnteros( ), "No quedaron todos los enteros agregados" );
+    }
+}